@@ -0,0 +1,69 @@
+package com.eventplatform.gateway.controller;
+
+import com.eventplatform.gateway.dto.WaitingRoomTicketResponse;
+import com.eventplatform.gateway.service.JwtVerifier;
+import com.eventplatform.gateway.service.WaitingRoomService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/v1/waiting-room")
+@RequiredArgsConstructor
+public class WaitingRoomController {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final WaitingRoomService waitingRoomService;
+    private final JwtVerifier jwtVerifier;
+
+    @Value("${jwt.dev-mode:false}")
+    private boolean devMode;
+
+    @PostMapping("/{eventId}/tickets")
+    public Mono<WaitingRoomTicketResponse> join(@PathVariable Long eventId) {
+        return waitingRoomService.join(eventId);
+    }
+
+    @GetMapping("/{eventId}/tickets/{ticketId}")
+    public Mono<WaitingRoomTicketResponse> status(@PathVariable Long eventId, @PathVariable String ticketId) {
+        return waitingRoomService.status(eventId, ticketId);
+    }
+
+    @PutMapping("/{eventId}")
+    public Mono<ResponseEntity<Void>> open(@PathVariable Long eventId,
+                                           @RequestParam(required = false) Integer admissionsPerSecond,
+                                           @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        if (!isAdmin(authorization)) {
+            return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).build());
+        }
+        return waitingRoomService.openRoom(eventId, admissionsPerSecond)
+                .thenReturn(ResponseEntity.noContent().build());
+    }
+
+    @DeleteMapping("/{eventId}")
+    public Mono<ResponseEntity<Void>> close(@PathVariable Long eventId,
+                                            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        if (!isAdmin(authorization)) {
+            return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).build());
+        }
+        return waitingRoomService.closeRoom(eventId)
+                .thenReturn(ResponseEntity.noContent().build());
+    }
+
+    // Controller routes bypass gateway global filters, so admin calls verify the token here
+    private boolean isAdmin(String authorization) {
+        if (devMode) {
+            return true;
+        }
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return false;
+        }
+        JwtVerifier.VerifiedToken verified = jwtVerifier.verify(authorization.substring(BEARER_PREFIX.length()));
+        return verified != null && verified.hasRole("ROLE_ADMIN");
+    }
+}
@@ -0,0 +1,22 @@
+package com.eventplatform.gateway.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class WaitingRoomTicketResponse {
+    private Long eventId;
+    private String ticketId;
+    private String status; // WAITING, ADMITTED, UNKNOWN
+    private Long position;
+    private Long etaSeconds;
+    private String admissionToken;
+    private Long admissionExpiresInSeconds;
+}
@@ -0,0 +1,46 @@
+package com.eventplatform.gateway.filter;
+
+import com.eventplatform.common.dto.ErrorResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Writes an {@link ErrorResponse} body for requests rejected inside gateway filters.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ErrorResponseWriter {
+
+    private final ObjectMapper objectMapper;
+
+    public Mono<Void> write(ServerWebExchange exchange, HttpStatus status, String message) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        ErrorResponse body = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(String.valueOf(status.value()))
+                .error(status.getReasonPhrase())
+                .message(message)
+                .path(exchange.getRequest().getURI().getPath())
+                .build();
+        try {
+            byte[] bytes = objectMapper.writeValueAsBytes(body);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(bytes)));
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to write error response: {}", e.getMessage());
+            return response.setComplete();
+        }
+    }
+}
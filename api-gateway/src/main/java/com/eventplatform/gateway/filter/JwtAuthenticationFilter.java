@@ -1,30 +1,29 @@
 package com.eventplatform.gateway.filter;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
-import lombok.extern.slf4j.Slf4j;
+import com.eventplatform.gateway.service.JwtVerifier;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
-import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
 import java.util.List;
 
-@Slf4j
 @Component
+@RequiredArgsConstructor
 public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
 
-    @Value("${jwt.secret:your-256-bit-secret-key-for-jwt-signing-must-be-at-least-32-characters}")
-    private String jwtSecret;
+    public static final String USER_ID_HEADER = "X-User-Id";
+    public static final String USER_ROLES_HEADER = "X-User-Roles";
+
+    private static final String BEARER_PREFIX = "Bearer ";
 
     private static final List<String> PUBLIC_ENDPOINTS = List.of(
             "/v1/auth/register",
@@ -33,27 +32,71 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
             "/actuator"
     );
 
+    // Browsing events needs no account; changes to events still do
+    private static final String PUBLIC_READ_PATH = "/v1/events";
+
+    private final JwtVerifier jwtVerifier;
+    private final ErrorResponseWriter errorResponseWriter;
+
+    // Local development only: skips verification and injects a fixed identity
+    @Value("${jwt.dev-mode:false}")
+    private boolean devMode;
+
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
         ServerHttpRequest request = exchange.getRequest();
         String path = request.getURI().getPath();
-        
-        // TEMPORARY: Allow all requests during development
-        log.info("DEV MODE: Allowing all requests without auth - path: {}", path);
-        
-        // Add mock user for testing (optional)
-        ServerHttpRequest modifiedRequest = request.mutate()
-                .header("X-User-Id", "dev-user-123")
-                .header("X-User-Roles", "ROLE_USER")
+
+        if (devMode) {
+            return chain.filter(withIdentity(exchange, "dev-user-123", "ROLE_USER"));
+        }
+
+        if (isPublic(path) || isPublicRead(request.getMethod(), path)) {
+            // Never trust identity headers supplied by the client
+            ServerHttpRequest stripped = request.mutate()
+                    .headers(headers -> {
+                        headers.remove(USER_ID_HEADER);
+                        headers.remove(USER_ROLES_HEADER);
+                    })
+                    .build();
+            return chain.filter(exchange.mutate().request(stripped).build());
+        }
+
+        String authorization = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return errorResponseWriter.write(exchange, HttpStatus.UNAUTHORIZED, "Missing bearer token");
+        }
+
+        JwtVerifier.VerifiedToken verified = jwtVerifier.verify(authorization.substring(BEARER_PREFIX.length()));
+        if (verified == null) {
+            return errorResponseWriter.write(exchange, HttpStatus.UNAUTHORIZED, "Invalid or expired token");
+        }
+
+        return chain.filter(withIdentity(exchange, verified.userId(), verified.roles()));
+    }
+
+    private ServerWebExchange withIdentity(ServerWebExchange exchange, String userId, String roles) {
+        ServerHttpRequest modifiedRequest = exchange.getRequest().mutate()
+                .headers(headers -> {
+                    headers.set(USER_ID_HEADER, userId);
+                    headers.set(USER_ROLES_HEADER, roles);
+                })
                 .build();
-        
-        return chain.filter(exchange.mutate().request(modifiedRequest).build());
+        return exchange.mutate().request(modifiedRequest).build();
     }
 
-    private Mono<Void> onError(ServerWebExchange exchange, String message, HttpStatus status) {
-        ServerHttpResponse response = exchange.getResponse();
-        response.setStatusCode(status);
-        return response.setComplete();
+    private boolean isPublic(String path) {
+        for (String endpoint : PUBLIC_ENDPOINTS) {
+            if (path.startsWith(endpoint)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isPublicRead(HttpMethod method, String path) {
+        return method == HttpMethod.GET
+                && (path.equals(PUBLIC_READ_PATH) || path.startsWith(PUBLIC_READ_PATH + "/"));
     }
 
     @Override
@@ -61,4 +104,3 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
         return -100;
     }
 }
-
@@ -0,0 +1,63 @@
+package com.eventplatform.gateway.filter;
+
+import com.eventplatform.gateway.service.TokenBucketRateLimiter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Applies per-route token buckets keyed by authenticated user, falling back to client IP.
+ * Runs after {@link JwtAuthenticationFilter} so {@code X-User-Id} is populated.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    private final TokenBucketRateLimiter rateLimiter;
+    private final ErrorResponseWriter errorResponseWriter;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null) {
+            return chain.filter(exchange);
+        }
+
+        return rateLimiter.tryAcquire(route.getId(), clientKey(exchange.getRequest()))
+                .flatMap(decision -> {
+                    if (decision.allowed()) {
+                        return chain.filter(exchange);
+                    }
+                    long retryAfterSeconds = Math.max(1, (decision.retryAfterMs() + 999) / 1000);
+                    exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+                    return errorResponseWriter.write(exchange, HttpStatus.TOO_MANY_REQUESTS,
+                            "Rate limit exceeded for " + route.getId());
+                });
+    }
+
+    private String clientKey(ServerHttpRequest request) {
+        String userId = request.getHeaders().getFirst(JwtAuthenticationFilter.USER_ID_HEADER);
+        if (userId != null && !userId.isBlank()) {
+            return "user:" + userId;
+        }
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        return "ip:" + (remoteAddress != null && remoteAddress.getAddress() != null
+                ? remoteAddress.getAddress().getHostAddress() : "unknown");
+    }
+
+    @Override
+    public int getOrder() {
+        return -75;
+    }
+}
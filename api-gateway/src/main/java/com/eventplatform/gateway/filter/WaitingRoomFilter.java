@@ -0,0 +1,134 @@
+package com.eventplatform.gateway.filter;
+
+import com.eventplatform.gateway.service.WaitingRoomService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Lets bookings for an event with an open waiting room through only with a valid admission token.
+ * The booking body is read to find its events, so bookings for other events pass untouched.
+ * A token is consumed by the request that presents it, and the event it was issued for is forwarded
+ * as {@code X-Admitted-Event-Id} so reservation-service can refuse a booking for another event.
+ * The header is never taken from the client.
+ */
+@Component
+public class WaitingRoomFilter implements GlobalFilter, Ordered {
+
+    public static final String ADMISSION_TOKEN_HEADER = "X-Admission-Token";
+    public static final String ADMITTED_EVENT_HEADER = "X-Admitted-Event-Id";
+
+    private final WaitingRoomService waitingRoomService;
+    private final ErrorResponseWriter errorResponseWriter;
+    private final ObjectMapper objectMapper;
+    private final List<String> guardedPaths;
+
+    public WaitingRoomFilter(WaitingRoomService waitingRoomService, ErrorResponseWriter errorResponseWriter,
+            ObjectMapper objectMapper,
+            @Value("${waiting-room.guarded-paths:/v1/reservations,/v1/reservations/batch}") List<String> guardedPaths) {
+        this.waitingRoomService = waitingRoomService;
+        this.errorResponseWriter = errorResponseWriter;
+        this.objectMapper = objectMapper;
+        this.guardedPaths = guardedPaths;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest().mutate()
+                .headers(headers -> headers.remove(ADMITTED_EVENT_HEADER))
+                .build();
+        if (!waitingRoomService.hasActiveRooms()
+                || request.getMethod() != HttpMethod.POST
+                || !guardedPaths.contains(request.getURI().getPath())) {
+            return chain.filter(exchange.mutate().request(request).build());
+        }
+
+        // The body is cached so it can be read here and still be forwarded
+        ServerWebExchange stripped = exchange.mutate().request(request).build();
+        return ServerWebExchangeUtils.cacheRequestBody(stripped, cached -> {
+            Set<Long> queued = queuedEventIds(stripped.getAttribute(ServerWebExchangeUtils.CACHED_REQUEST_BODY_ATTR));
+            if (queued.isEmpty()) {
+                return chain.filter(stripped.mutate().request(cached).build()).thenReturn(true);
+            }
+            return admit(stripped, cached, queued, chain).thenReturn(true);
+        }).then();
+    }
+
+    private Mono<Void> admit(ServerWebExchange exchange, ServerHttpRequest request, Set<Long> queued,
+            GatewayFilterChain chain) {
+        String token = request.getHeaders().getFirst(ADMISSION_TOKEN_HEADER);
+        if (token == null || token.isBlank()) {
+            return errorResponseWriter.write(exchange, HttpStatus.TOO_MANY_REQUESTS,
+                    "Waiting room is active for events " + queued
+                            + "; join via POST /v1/waiting-room/{eventId}/tickets");
+        }
+
+        return waitingRoomService.consumeAdmission(token)
+                .flatMap(eventId -> chain.filter(exchange.mutate()
+                        .request(request.mutate()
+                                .header(ADMITTED_EVENT_HEADER, eventId.toString())
+                                .build())
+                        .build())
+                        .thenReturn(true))
+                .switchIfEmpty(Mono.defer(() -> errorResponseWriter.write(exchange, HttpStatus.FORBIDDEN,
+                        "Admission token is invalid, expired or already used").thenReturn(false)))
+                .then();
+    }
+
+    /**
+     * Events of a single booking ({@code eventId}) or a batch ({@code items[].eventId}) that have an
+     * open room. A body that is not JSON is passed on for reservation-service to reject.
+     */
+    private Set<Long> queuedEventIds(DataBuffer body) {
+        if (body == null) {
+            return Set.of();
+        }
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(body.toString(body.readPosition(), body.readableByteCount(),
+                    StandardCharsets.UTF_8));
+        } catch (JsonProcessingException e) {
+            return Set.of();
+        }
+        Set<Long> queued = new TreeSet<>();
+        addIfQueued(queued, root.path("eventId"));
+        root.path("items").forEach(item -> addIfQueued(queued, item.path("eventId")));
+        return queued;
+    }
+
+    private void addIfQueued(Set<Long> queued, JsonNode eventId) {
+        if (!eventId.isValueNode() || eventId.isNull()) {
+            return;
+        }
+        try {
+            Long id = eventId.isNumber() ? eventId.asLong() : Long.valueOf(eventId.asText().trim());
+            if (waitingRoomService.hasActiveRoom(id)) {
+                queued.add(id);
+            }
+        } catch (NumberFormatException e) {
+            // Not an id; reservation-service rejects the booking
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return -50;
+    }
+}
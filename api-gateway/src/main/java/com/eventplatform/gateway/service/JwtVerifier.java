@@ -0,0 +1,104 @@
+package com.eventplatform.gateway.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Date;
+import java.util.stream.Collectors;
+
+/**
+ * Verifies access tokens with a key and parser built once at startup.
+ * Recently verified tokens are kept in a fixed-size, direct-mapped cache indexed by a hash of
+ * the signature segment, so a repeat token costs one hash, one array read and one string compare.
+ * Entries never outlive the token's own expiry.
+ */
+@Slf4j
+@Service
+public class JwtVerifier {
+
+    private final long cacheMaxTtlSeconds;
+    private final JwtParser parser;
+    private final VerifiedToken[] cache;
+    private final int cacheMask;
+
+    public record VerifiedToken(String token, String userId, String roles, long expiresAtMillis, long cachedUntilMillis) {
+
+        public boolean hasRole(String role) {
+            for (String granted : roles.split(",")) {
+                if (granted.equals(role)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    public JwtVerifier(@Value("${jwt.secret}") String jwtSecret,
+            @Value("${jwt.cache.size:16384}") int cacheSize,
+            @Value("${jwt.cache.max-ttl-seconds:300}") long cacheMaxTtlSeconds) {
+        this.cacheMaxTtlSeconds = cacheMaxTtlSeconds;
+        this.parser = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8)))
+                .build();
+        int size = Integer.highestOneBit(Math.max(1, cacheSize - 1)) << 1;
+        this.cache = new VerifiedToken[size];
+        this.cacheMask = size - 1;
+    }
+
+    /**
+     * Returns the verified identity for the token, or {@code null} if it is invalid or expired.
+     */
+    public VerifiedToken verify(String token) {
+        long now = System.currentTimeMillis();
+        int slot = signatureHash(token) & cacheMask;
+        VerifiedToken cached = cache[slot];
+        if (cached != null && cached.cachedUntilMillis() > now && cached.token().equals(token)) {
+            return cached;
+        }
+
+        VerifiedToken verified = parse(token, now);
+        if (verified != null) {
+            // Entries are immutable, so a racing overwrite only costs a later re-verification
+            cache[slot] = verified;
+        }
+        return verified;
+    }
+
+    private VerifiedToken parse(String token, long now) {
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            Date expiration = claims.getExpiration();
+            long expiresAt = expiration != null ? expiration.getTime() : Long.MAX_VALUE;
+            long cachedUntil = Math.min(expiresAt, now + cacheMaxTtlSeconds * 1000);
+            return new VerifiedToken(token, claims.getSubject(), rolesOf(claims), expiresAt, cachedUntil);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected token: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static String rolesOf(Claims claims) {
+        Object roles = claims.get("roles");
+        if (roles instanceof Collection<?> collection) {
+            return collection.stream().map(Object::toString).collect(Collectors.joining(","));
+        }
+        return roles != null ? roles.toString() : "";
+    }
+
+    // Hashes the signature segment in place, without allocating a substring
+    private static int signatureHash(String token) {
+        int hash = 0;
+        for (int i = token.lastIndexOf('.') + 1; i < token.length(); i++) {
+            hash = 31 * hash + token.charAt(i);
+        }
+        return hash ^ (hash >>> 16);
+    }
+}
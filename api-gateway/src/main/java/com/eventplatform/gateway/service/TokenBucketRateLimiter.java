@@ -0,0 +1,157 @@
+package com.eventplatform.gateway.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cluster-wide token buckets stored in Redis and updated atomically by a Lua script.
+ * Each node leases a slice of a bucket's tokens at a time and serves requests from the
+ * lease locally, so traffic well under the limit touches Redis roughly once per lease.
+ * Denials are cached locally until the bucket refills. Leases expire quickly, so unused
+ * leased tokens only ever make the effective limit stricter, never looser.
+ */
+@Slf4j
+@Service
+public class TokenBucketRateLimiter {
+
+    private static final String KEY_PREFIX = "rate-limit:";
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final RedisScript<List<Long>> TOKEN_BUCKET_SCRIPT =
+            (RedisScript) RedisScript.of(new ClassPathResource("scripts/token-bucket.lua"), List.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final int defaultPermitsPerSecond;
+    private final int burstSeconds;
+    private final double localLeaseFraction;
+    private final long localLeaseMs;
+    private final int maxLocalEntries;
+    private final boolean failOpen;
+
+    private final Map<String, Integer> routeLimits = new HashMap<>();
+    private final ConcurrentHashMap<String, LocalLease> leases = new ConcurrentHashMap<>();
+
+    public record Decision(boolean allowed, long retryAfterMs) {
+        static final Decision ALLOWED = new Decision(true, 0);
+    }
+
+    public TokenBucketRateLimiter(ReactiveStringRedisTemplate redisTemplate,
+            @Value("${rate-limit.default-permits-per-second:100}") int defaultPermitsPerSecond,
+            @Value("${rate-limit.burst-seconds:1}") int burstSeconds,
+            @Value("${rate-limit.route-limits:}") List<String> routeLimitEntries,
+            @Value("${rate-limit.local-lease-fraction:0.1}") double localLeaseFraction,
+            @Value("${rate-limit.local-lease-ms:250}") long localLeaseMs,
+            @Value("${rate-limit.max-local-entries:100000}") int maxLocalEntries,
+            @Value("${rate-limit.fail-open:true}") boolean failOpen) {
+        this.redisTemplate = redisTemplate;
+        this.defaultPermitsPerSecond = defaultPermitsPerSecond;
+        this.burstSeconds = burstSeconds;
+        this.localLeaseFraction = localLeaseFraction;
+        this.localLeaseMs = localLeaseMs;
+        this.maxLocalEntries = maxLocalEntries;
+        this.failOpen = failOpen;
+        // Entries look like "reservation-service=10" (permits per second)
+        for (String entry : routeLimitEntries) {
+            String[] parts = entry.split("=");
+            if (parts.length != 2) {
+                throw new IllegalStateException("Invalid rate-limit.route-limits entry: " + entry);
+            }
+            routeLimits.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        log.info("Rate limits: default {}/s, routes {}", defaultPermitsPerSecond, routeLimits);
+    }
+
+    public Mono<Decision> tryAcquire(String routeId, String clientKey) {
+        String key = KEY_PREFIX + routeId + ":" + clientKey;
+        long now = System.nanoTime();
+
+        LocalLease lease = leases.get(key);
+        if (lease != null && lease.expiresAt - now > 0) {
+            if (lease.deniedUntil - now > 0) {
+                return Mono.just(new Decision(false, TimeUnit.NANOSECONDS.toMillis(lease.deniedUntil - now)));
+            }
+            if (lease.tryTake()) {
+                return Mono.just(Decision.ALLOWED);
+            }
+        }
+
+        int permitsPerSecond = routeLimits.getOrDefault(routeId, defaultPermitsPerSecond);
+        int capacity = permitsPerSecond * Math.max(1, burstSeconds);
+        int leaseSize = Math.max(1, (int) (capacity * localLeaseFraction));
+
+        return redisTemplate.execute(TOKEN_BUCKET_SCRIPT, List.of(key),
+                        List.of(Integer.toString(capacity), Integer.toString(permitsPerSecond),
+                                Integer.toString(leaseSize)))
+                .next()
+                .map(result -> onRedisResult(key, result.get(0), result.get(1)))
+                .onErrorResume(e -> {
+                    log.debug("Rate limiter unavailable for {}: {}", key, e.getMessage());
+                    return Mono.just(failOpen ? Decision.ALLOWED : new Decision(false, 1000));
+                });
+    }
+
+    private Decision onRedisResult(String key, long granted, long retryAfterMs) {
+        long now = System.nanoTime();
+        evictIfFull(now);
+        if (granted > 0) {
+            // Keep one token for this request; the rest serve later requests locally
+            int remaining = (int) granted - 1;
+            leases.compute(key, (k, old) -> {
+                if (old != null && old.expiresAt - now > 0 && old.deniedUntil - now <= 0) {
+                    old.tokens.addAndGet(remaining);
+                    return old;
+                }
+                return new LocalLease(remaining, now + TimeUnit.MILLISECONDS.toNanos(localLeaseMs), now);
+            });
+            return Decision.ALLOWED;
+        }
+        long deniedUntil = now + TimeUnit.MILLISECONDS.toNanos(retryAfterMs);
+        leases.put(key, new LocalLease(0, deniedUntil, deniedUntil));
+        return new Decision(false, retryAfterMs);
+    }
+
+    private void evictIfFull(long now) {
+        if (leases.size() < maxLocalEntries) {
+            return;
+        }
+        leases.values().removeIf(lease -> lease.expiresAt - now <= 0);
+        if (leases.size() >= maxLocalEntries) {
+            leases.clear();
+        }
+    }
+
+    private static final class LocalLease {
+        private final AtomicInteger tokens;
+        private final long expiresAt;
+        private final long deniedUntil;
+
+        LocalLease(int tokens, long expiresAt, long deniedUntil) {
+            this.tokens = new AtomicInteger(tokens);
+            this.expiresAt = expiresAt;
+            this.deniedUntil = deniedUntil;
+        }
+
+        boolean tryTake() {
+            int current;
+            do {
+                current = tokens.get();
+                if (current <= 0) {
+                    return false;
+                }
+            } while (!tokens.compareAndSet(current, current - 1));
+            return true;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.eventplatform.gateway.service;
+
+import com.eventplatform.gateway.dto.WaitingRoomTicketResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Redis-backed virtual waiting room for high-demand on-sales.
+ * Buyers join a FIFO queue per event and are admitted at a fixed rate; an admitted
+ * ticket id doubles as the admission token checked by {@code WaitingRoomFilter}.
+ * The admission tick is guarded in Redis so the rate holds across gateway nodes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WaitingRoomService {
+
+    public static final String STATUS_OPEN = "OPEN";
+    public static final String STATUS_WAITING = "WAITING";
+    public static final String STATUS_ADMITTED = "ADMITTED";
+    public static final String STATUS_UNKNOWN = "UNKNOWN";
+
+    private static final String ROOMS_KEY = "waiting-room:rooms";
+    private static final String ADMITTED_PREFIX = "waiting-room:admitted:";
+
+    private static final RedisScript<Long> ADMIT_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/waiting-room-admit.lua"), Long.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+
+    @Value("${waiting-room.enabled:true}")
+    private boolean enabled;
+
+    @Value("${waiting-room.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${waiting-room.default-admissions-per-second:50}")
+    private int defaultAdmissionsPerSecond;
+
+    @Value("${waiting-room.admission-ttl-seconds:300}")
+    private long admissionTtlSeconds;
+
+    // Local view of open rooms (eventId -> admissions/second), refreshed every tick so the
+    // filter does not pay a Redis round trip on guarded routes when no room is open.
+    private volatile Map<Long, Integer> activeRooms = Map.of();
+
+    private Disposable ticker;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            log.info("Waiting room disabled");
+            return;
+        }
+        ticker = Flux.interval(Duration.ofMillis(tickMs))
+                .onBackpressureDrop()
+                .concatMap(tick -> admitTick()
+                        .onErrorResume(e -> {
+                            log.warn("Waiting room tick failed: {}", e.getMessage());
+                            return Mono.empty();
+                        }), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (ticker != null) {
+            ticker.dispose();
+        }
+    }
+
+    public boolean hasActiveRooms() {
+        return !activeRooms.isEmpty();
+    }
+
+    public boolean hasActiveRoom(Long eventId) {
+        return activeRooms.containsKey(eventId);
+    }
+
+    public Mono<Void> openRoom(Long eventId, Integer admissionsPerSecond) {
+        int rate = admissionsPerSecond != null && admissionsPerSecond > 0
+                ? admissionsPerSecond : defaultAdmissionsPerSecond;
+        log.info("Opening waiting room for event {} at {} admissions/s", eventId, rate);
+        return redisTemplate.opsForHash().put(ROOMS_KEY, eventId.toString(), Integer.toString(rate))
+                .then(refreshRooms());
+    }
+
+    public Mono<Void> closeRoom(Long eventId) {
+        log.info("Closing waiting room for event {}", eventId);
+        return redisTemplate.opsForHash().remove(ROOMS_KEY, eventId.toString())
+                .then(redisTemplate.delete(queueKey(eventId), sequenceKey(eventId)))
+                .then(refreshRooms());
+    }
+
+    public Mono<WaitingRoomTicketResponse> join(Long eventId) {
+        Integer rate = activeRooms.get(eventId);
+        if (rate == null) {
+            return Mono.just(open(eventId));
+        }
+        String ticketId = UUID.randomUUID().toString();
+        return redisTemplate.opsForValue().increment(sequenceKey(eventId))
+                .flatMap(seq -> redisTemplate.opsForZSet().add(queueKey(eventId), ticketId, seq))
+                .then(redisTemplate.opsForZSet().rank(queueKey(eventId), ticketId))
+                .map(rank -> waiting(eventId, ticketId, rank, rate));
+    }
+
+    public Mono<WaitingRoomTicketResponse> status(Long eventId, String ticketId) {
+        Integer rate = activeRooms.get(eventId);
+        if (rate == null) {
+            return Mono.just(open(eventId));
+        }
+        Mono<WaitingRoomTicketResponse> admitted = redisTemplate.getExpire(ADMITTED_PREFIX + ticketId)
+                .filter(ttl -> !ttl.isNegative() && !ttl.isZero())
+                .map(ttl -> WaitingRoomTicketResponse.builder()
+                        .eventId(eventId)
+                        .ticketId(ticketId)
+                        .status(STATUS_ADMITTED)
+                        .admissionToken(ticketId)
+                        .admissionExpiresInSeconds(ttl.getSeconds())
+                        .build());
+        Mono<WaitingRoomTicketResponse> waiting = redisTemplate.opsForZSet().rank(queueKey(eventId), ticketId)
+                .map(rank -> waiting(eventId, ticketId, rank, rate));
+        return admitted
+                .switchIfEmpty(waiting)
+                .defaultIfEmpty(WaitingRoomTicketResponse.builder()
+                        .eventId(eventId)
+                        .ticketId(ticketId)
+                        .status(STATUS_UNKNOWN)
+                        .build());
+    }
+
+    /**
+     * Takes an admission token (GETDEL, so one request across all gateway nodes gets it) and
+     * returns the event it was issued for, or empty if it is unknown, expired or already used.
+     */
+    public Mono<Long> consumeAdmission(String admissionToken) {
+        return redisTemplate.opsForValue().getAndDelete(ADMITTED_PREFIX + admissionToken)
+                .map(Long::valueOf);
+    }
+
+    private Mono<Void> admitTick() {
+        return refreshRooms()
+                .thenMany(Flux.fromIterable(activeRooms.entrySet()))
+                .concatMap(room -> admit(room.getKey(), room.getValue()))
+                .then();
+    }
+
+    private Mono<Long> admit(Long eventId, int admissionsPerSecond) {
+        long perTick = Math.max(1, (long) Math.ceil(admissionsPerSecond * tickMs / 1000.0));
+        // Guard expires slightly before the next tick so timer jitter does not skip an interval
+        long guardTtlMs = Math.max(1, tickMs * 9 / 10);
+        return redisTemplate.execute(ADMIT_SCRIPT,
+                        List.of(queueKey(eventId), tickKey(eventId)),
+                        List.of(Long.toString(perTick),
+                                Long.toString(admissionTtlSeconds),
+                                eventId.toString(),
+                                ADMITTED_PREFIX,
+                                Long.toString(guardTtlMs)))
+                .next()
+                .doOnNext(admitted -> {
+                    if (admitted > 0) {
+                        log.debug("Admitted {} tickets for event {}", admitted, eventId);
+                    }
+                });
+    }
+
+    private Mono<Void> refreshRooms() {
+        return redisTemplate.<String, String>opsForHash().entries(ROOMS_KEY)
+                .collectMap(e -> Long.valueOf(e.getKey()), e -> Integer.valueOf(e.getValue()))
+                .doOnNext(rooms -> activeRooms = Map.copyOf(rooms))
+                .then();
+    }
+
+    private WaitingRoomTicketResponse waiting(Long eventId, String ticketId, long rank, int admissionsPerSecond) {
+        long position = rank + 1;
+        return WaitingRoomTicketResponse.builder()
+                .eventId(eventId)
+                .ticketId(ticketId)
+                .status(STATUS_WAITING)
+                .position(position)
+                .etaSeconds((position + admissionsPerSecond - 1) / admissionsPerSecond)
+                .build();
+    }
+
+    private WaitingRoomTicketResponse open(Long eventId) {
+        return WaitingRoomTicketResponse.builder()
+                .eventId(eventId)
+                .status(STATUS_OPEN)
+                .build();
+    }
+
+    private static String queueKey(Long eventId) {
+        return "waiting-room:" + eventId + ":queue";
+    }
+
+    private static String sequenceKey(Long eventId) {
+        return "waiting-room:" + eventId + ":seq";
+    }
+
+    private static String tickKey(Long eventId) {
+        return "waiting-room:" + eventId + ":tick";
+    }
+}
@@ -0,0 +1,27 @@
+-- Token bucket refilled continuously; grants up to ARGV[3] tokens in one call.
+-- KEYS[1] bucket hash (tokens, ts)
+-- ARGV[1] capacity, ARGV[2] refill tokens per second, ARGV[3] tokens requested
+-- Returns {granted, retryAfterMs}
+local capacity = tonumber(ARGV[1])
+local rate = tonumber(ARGV[2])
+local requested = tonumber(ARGV[3])
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+local tokens = tonumber(bucket[1]) or capacity
+local ts = tonumber(bucket[2]) or now
+
+tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate / 1000)
+local granted = math.min(requested, math.floor(tokens))
+tokens = tokens - granted
+
+redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))
+redis.call('PEXPIRE', KEYS[1], math.ceil(capacity * 1000 / rate) + 1000)
+
+local retryAfter = 0
+if granted == 0 then
+    retryAfter = math.ceil((1 - tokens) * 1000 / rate)
+end
+return {granted, retryAfter}
@@ -0,0 +1,13 @@
+-- Admits up to ARGV[1] tickets from the head of a waiting-room queue.
+-- KEYS[1] queue (sorted set, score = join sequence)
+-- KEYS[2] per-second tick guard, so only one gateway node admits per interval
+-- ARGV[1] admissions per tick, ARGV[2] admission TTL seconds,
+-- ARGV[3] event id, ARGV[4] admitted-token key prefix, ARGV[5] tick guard TTL ms
+if not redis.call('SET', KEYS[2], '1', 'NX', 'PX', ARGV[5]) then
+    return 0
+end
+local popped = redis.call('ZPOPMIN', KEYS[1], ARGV[1])
+for i = 1, #popped, 2 do
+    redis.call('SET', ARGV[4] .. popped[i], ARGV[3], 'EX', ARGV[2])
+end
+return #popped / 2
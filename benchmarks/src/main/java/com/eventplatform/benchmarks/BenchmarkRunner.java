@@ -0,0 +1,52 @@
+package com.eventplatform.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Entry point of benchmarks.jar. Accepts the usual JMH command line, but writes JSON results
+ * to {@code target/jmh-result.json} unless {@code -rf}/{@code -rff} say otherwise, so every run
+ * leaves a file that {@code compare} can diff against a run from another commit:
+ * <pre>
+ *   java -jar benchmarks/target/benchmarks.jar Gateway -rff gateway-head.json
+ *   java -jar benchmarks/target/benchmarks.jar compare gateway-main.json gateway-head.json 10
+ * </pre>
+ */
+public final class BenchmarkRunner {
+
+    static final String DEFAULT_RESULT_FILE = "target/jmh-result.json";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && "compare".equals(args[0])) {
+            System.exit(ResultComparison.run(Arrays.copyOfRange(args, 1, args.length)));
+        }
+
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListWithParams()
+                || commandLine.shouldListProfilers() || commandLine.shouldListResultFormats()) {
+            // Listing and help output are handled by the stock JMH entry point
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            Files.createDirectories(Path.of(DEFAULT_RESULT_FILE).getParent());
+            options.result(DEFAULT_RESULT_FILE);
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,84 @@
+package com.eventplatform.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files benchmark by benchmark (name, mode and parameters) and
+ * reports every score that got worse by more than the threshold. Throughput is better when
+ * higher, every time-based mode when lower. The exit status is 1 when anything regressed, so
+ * the comparison can gate a CI step.
+ */
+final class ResultComparison {
+
+    private static final double DEFAULT_THRESHOLD_PERCENT = 10.0;
+
+    private ResultComparison() {
+    }
+
+    static int run(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: compare <baseline.json> <candidate.json> [threshold-percent]");
+            return 2;
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+        Map<String, Score> baseline = read(new File(args[0]));
+        Map<String, Score> candidate = read(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %9s  %s%n", "Benchmark", "Baseline", "Candidate", "Change", "Unit");
+        for (Map.Entry<String, Score> entry : candidate.entrySet()) {
+            Score before = baseline.get(entry.getKey());
+            Score after = entry.getValue();
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s  %s%n", entry.getKey(), "-", after.value(), "new", after.unit());
+                continue;
+            }
+            double change = (after.value() - before.value()) / before.value() * 100;
+            double worsening = after.higherIsBetter() ? -change : change;
+            boolean regressed = worsening > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%  %s%s%n", entry.getKey(), before.value(), after.value(),
+                    change, after.unit(), regressed ? "  REGRESSION" : "");
+        }
+        System.out.printf("%d of %d benchmarks regressed by more than %.1f%%%n", regressions, candidate.size(), threshold);
+        return regressions > 0 ? 1 : 0;
+    }
+
+    private static Map<String, Score> read(File file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            String mode = run.path("mode").asText();
+            JsonNode metric = run.path("primaryMetric");
+            scores.put(key(run, mode), new Score(metric.path("score").asDouble(),
+                    metric.path("scoreUnit").asText(), "thrpt".equals(mode)));
+        }
+        return scores;
+    }
+
+    private static String key(JsonNode run, String mode) {
+        StringBuilder key = new StringBuilder(run.path("benchmark").asText().replace("com.eventplatform.benchmarks.", ""))
+                .append(" [").append(mode).append(']');
+        Map<String, String> params = new TreeMap<>();
+        for (Iterator<Map.Entry<String, JsonNode>> it = run.path("params").fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> param = it.next();
+            params.put(param.getKey(), param.getValue().asText());
+        }
+        if (!params.isEmpty()) {
+            key.append(' ').append(params);
+        }
+        return key.toString();
+    }
+
+    private record Score(double value, String unit, boolean higherIsBetter) {
+    }
+}
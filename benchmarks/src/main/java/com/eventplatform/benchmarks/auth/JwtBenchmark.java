@@ -0,0 +1,76 @@
+package com.eventplatform.benchmarks.auth;
+
+import com.eventplatform.benchmarks.support.Tokens;
+import com.eventplatform.gateway.service.JwtVerifier;
+import com.eventplatform.user.service.JwtService;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification: {@link JwtService} in user-service and the gateway's
+ * {@link JwtVerifier}, both with a cache hit and with every token seen for the first time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final int DISTINCT_TOKENS = 4096;
+
+    private JwtService jwtService;
+    private JwtVerifier cachingVerifier;
+    private JwtVerifier uncachedVerifier;
+    private String token;
+    private String[] tokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        jwtService = Tokens.jwtService();
+        cachingVerifier = Tokens.verifier(16384);
+        // A one-slot cache that the rotating tokens below keep overwriting
+        uncachedVerifier = Tokens.verifier(1);
+
+        token = jwtService.generateToken(42L, "user42@example.com", Set.of("ROLE_USER"));
+        tokens = new String[DISTINCT_TOKENS];
+        for (int i = 0; i < DISTINCT_TOKENS; i++) {
+            tokens[i] = jwtService.generateToken((long) i, "user" + i + "@example.com", Set.of("ROLE_USER"));
+        }
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtService.generateToken(42L, "user42@example.com", Set.of("ROLE_USER"));
+    }
+
+    @Benchmark
+    public Claims parse() {
+        return jwtService.validateToken(token);
+    }
+
+    @Benchmark
+    public JwtVerifier.VerifiedToken gatewayVerifyCached() {
+        return cachingVerifier.verify(token);
+    }
+
+    @Benchmark
+    public JwtVerifier.VerifiedToken gatewayVerifyUncached() {
+        next = (next + 1) & (DISTINCT_TOKENS - 1);
+        return uncachedVerifier.verify(tokens[next]);
+    }
+}
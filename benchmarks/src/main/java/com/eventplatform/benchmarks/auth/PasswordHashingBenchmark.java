@@ -0,0 +1,70 @@
+package com.eventplatform.benchmarks.auth;
+
+import com.eventplatform.user.config.PasswordHashingConfig;
+import com.eventplatform.user.config.SecurityConfig;
+import com.eventplatform.user.service.PasswordHashingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login hash checks per second through {@link PasswordHashingService} against the size of the
+ * hashing pool, with more concurrent callers than pool threads. Throughput should grow with the
+ * pool until it reaches the physical cores; past that only latency grows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+public class PasswordHashingBenchmark {
+
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Param({"1", "2", "4", "8"})
+    private int poolThreads;
+
+    @Param({"bcrypt"})
+    private String algorithm;
+
+    private ThreadPoolTaskExecutor executor;
+    private PasswordHashingService hashingService;
+    private String storedHash;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PasswordEncoder encoder = new SecurityConfig().passwordEncoder(algorithm, 10, 310_000);
+        // Queue deep enough for every caller, so no request is turned away with a 503
+        executor = new PasswordHashingConfig().passwordHashingExecutor(poolThreads, 1024);
+        executor.initialize();
+        hashingService = new PasswordHashingService(encoder, executor);
+        storedHash = encoder.encode(PASSWORD);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public Boolean login() {
+        return hashingService.matches(PASSWORD, storedHash).join();
+    }
+}
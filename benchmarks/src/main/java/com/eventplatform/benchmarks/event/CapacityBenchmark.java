@@ -0,0 +1,111 @@
+package com.eventplatform.benchmarks.event;
+
+import com.eventplatform.benchmarks.support.FakeTransactionManager;
+import com.eventplatform.benchmarks.support.Stubs;
+import com.eventplatform.event.entity.EventCapacity;
+import com.eventplatform.event.repository.EventCapacityRepository;
+import com.eventplatform.event.service.CapacityLedger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Reserve-then-release of one ticket on a single hot event, with all threads on the same event.
+ * {@code rowLocked} serializes {@link EventCapacity#reserveCapacity}/{@link EventCapacity#releaseCapacity}
+ * and a commit per change, the way the row-lock path does; {@code ledger} goes through
+ * {@link CapacityLedger}, where changes queued behind a flush share its commit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class CapacityBenchmark {
+
+    private static final long EVENT_ID = 1L;
+    private static final int TOTAL_CAPACITY = 1_000_000;
+
+    // Simulated cost of one database commit
+    @Param({"0", "500"})
+    private long commitMicros;
+
+    private EventCapacity rowLocked;
+    private CapacityLedger ledger;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        rowLocked = EventCapacity.builder()
+                .eventId(EVENT_ID)
+                .totalCapacity(TOTAL_CAPACITY)
+                .reservedCapacity(0)
+                .availableCapacity(TOTAL_CAPACITY)
+                .build();
+
+        EventCapacityRepository repository = Stubs.stub(EventCapacityRepository.class, Map.of(
+                "findById", args -> Optional.of(EventCapacity.builder()
+                        .eventId((Long) args[0])
+                        .totalCapacity(TOTAL_CAPACITY)
+                        .reservedCapacity(0)
+                        .availableCapacity(TOTAL_CAPACITY)
+                        .build()),
+                "applyReservedDelta", args -> 1));
+        ledger = new CapacityLedger(repository, new TransactionTemplate(new FakeTransactionManager(commitMicros)),
+                true, 1000, 10_000L);
+        ledger.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ledger.stop();
+    }
+
+    @Benchmark
+    public boolean rowLocked() {
+        boolean reserved;
+        synchronized (rowLocked) {
+            reserved = rowLocked.reserveCapacity(1);
+            commit();
+        }
+        if (reserved) {
+            synchronized (rowLocked) {
+                rowLocked.releaseCapacity(1);
+                commit();
+            }
+        }
+        return reserved;
+    }
+
+    @Benchmark
+    public boolean ledger() {
+        boolean reserved = ledger.reserve(EVENT_ID, 1);
+        if (reserved) {
+            ledger.release(EVENT_ID, 1);
+        }
+        return reserved;
+    }
+
+    private void commit() {
+        if (commitMicros > 0) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(commitMicros));
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.eventplatform.benchmarks.gateway;
+
+import com.eventplatform.benchmarks.support.Stubs;
+import com.eventplatform.benchmarks.support.Tokens;
+import com.eventplatform.gateway.filter.ErrorResponseWriter;
+import com.eventplatform.gateway.filter.JwtAuthenticationFilter;
+import com.eventplatform.gateway.filter.RateLimitFilter;
+import com.eventplatform.gateway.filter.WaitingRoomFilter;
+import com.eventplatform.gateway.service.JwtVerifier;
+import com.eventplatform.gateway.service.TokenBucketRateLimiter;
+import com.eventplatform.gateway.service.WaitingRoomService;
+import com.eventplatform.user.service.JwtService;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of the gateway's global filters on a booking request, each on its own and
+ * chained in their configured order. Redis is replaced by an in-memory stand-in, so the numbers
+ * are filter CPU and allocation only; {@code baseline} is the cost of building the exchange.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GatewayFilterBenchmark {
+
+    private static final String PATH = "/v1/reservations";
+    private static final String BODY = "{\"userId\":42,\"eventId\":1,\"quantity\":2}";
+    private static final String ROUTE_ID = "reservation-service";
+    private static final GatewayFilterChain END = exchange -> Mono.empty();
+
+    // "allowed": the bucket always has tokens; "denied": it is always empty
+    @Param({"allowed", "denied"})
+    private String bucket;
+
+    private String authorization;
+    private Route route;
+    private GatewayFilterChain jwtOnly;
+    private GatewayFilterChain rateLimitOnly;
+    private GatewayFilterChain waitingRoomOnly;
+    private GatewayFilterChain fullChain;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = Tokens.jwtService();
+        authorization = "Bearer " + jwtService.generateToken(42L, "user42@example.com", Set.of("ROLE_USER"));
+        JwtVerifier verifier = Tokens.verifier(16384);
+
+        ErrorResponseWriter errorResponseWriter = new ErrorResponseWriter(JsonMapper.builder().findAndAddModules().build());
+
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(
+                new InMemoryBucketTemplate("allowed".equals(bucket)), 100, 1, List.of(ROUTE_ID + "=100"),
+                0.1, 250L, 100_000, true);
+
+        // The booked event has an open room; admission tokens are always valid
+        WaitingRoomService waitingRoomService = new WaitingRoomService(null) {
+            private final Mono<Long> admitted = Mono.just(1L);
+
+            @Override
+            public boolean hasActiveRooms() {
+                return true;
+            }
+
+            @Override
+            public boolean hasActiveRoom(Long eventId) {
+                return true;
+            }
+
+            @Override
+            public Mono<Long> consumeAdmission(String admissionToken) {
+                return admitted;
+            }
+        };
+        WaitingRoomFilter waitingRoomFilter = new WaitingRoomFilter(waitingRoomService, errorResponseWriter,
+                JsonMapper.builder().findAndAddModules().build(), List.of(PATH, PATH + "/batch"));
+
+        GlobalFilter jwtFilter = new JwtAuthenticationFilter(verifier, errorResponseWriter);
+        GlobalFilter rateLimitFilter = new RateLimitFilter(rateLimiter, errorResponseWriter);
+
+        route = Route.async()
+                .id(ROUTE_ID)
+                .uri(URI.create("http://localhost:8083"))
+                .predicate(exchange -> true)
+                .build();
+        jwtOnly = chainOf(jwtFilter);
+        rateLimitOnly = chainOf(rateLimitFilter);
+        waitingRoomOnly = chainOf(waitingRoomFilter);
+        fullChain = chainOf(jwtFilter, rateLimitFilter, waitingRoomFilter);
+    }
+
+    @Benchmark
+    public HttpStatusCode baseline() {
+        return run(END);
+    }
+
+    @Benchmark
+    public HttpStatusCode jwt() {
+        return run(jwtOnly);
+    }
+
+    @Benchmark
+    public HttpStatusCode rateLimit() {
+        return run(rateLimitOnly);
+    }
+
+    @Benchmark
+    public HttpStatusCode waitingRoom() {
+        return run(waitingRoomOnly);
+    }
+
+    @Benchmark
+    public HttpStatusCode fullChain() {
+        return run(fullChain);
+    }
+
+    private HttpStatusCode run(GatewayFilterChain chain) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post(PATH)
+                .header(HttpHeaders.AUTHORIZATION, authorization)
+                .header(WaitingRoomFilter.ADMISSION_TOKEN_HEADER, "ticket-1")
+                .remoteAddress(new InetSocketAddress("10.0.0.1", 52000))
+                .body(BODY));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        chain.filter(exchange).block();
+        return exchange.getResponse().getStatusCode();
+    }
+
+    private static GatewayFilterChain chainOf(GlobalFilter... filters) {
+        GatewayFilterChain chain = END;
+        for (int i = filters.length - 1; i >= 0; i--) {
+            GlobalFilter filter = filters[i];
+            GatewayFilterChain next = chain;
+            chain = exchange -> filter.filter(exchange, next);
+        }
+        return chain;
+    }
+
+    /**
+     * Answers the token bucket script in memory: either grants the requested lease or denies
+     * with a one second retry, without a connection.
+     */
+    private static final class InMemoryBucketTemplate extends ReactiveStringRedisTemplate {
+
+        private final boolean allow;
+
+        InMemoryBucketTemplate(boolean allow) {
+            super(Stubs.stub(ReactiveRedisConnectionFactory.class, Map.of()));
+            this.allow = allow;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> Flux<T> execute(RedisScript<T> script, List<String> keys, List<?> args) {
+            long requested = Long.parseLong(args.get(2).toString());
+            List<Long> result = allow ? List.of(requested, 0L) : List.of(0L, 1000L);
+            return Flux.just((T) result);
+        }
+    }
+}
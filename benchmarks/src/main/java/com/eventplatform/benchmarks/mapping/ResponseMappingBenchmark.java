@@ -0,0 +1,154 @@
+package com.eventplatform.benchmarks.mapping;
+
+import com.eventplatform.benchmarks.support.Stubs;
+import com.eventplatform.event.dto.EventResponse;
+import com.eventplatform.event.entity.Event;
+import com.eventplatform.event.entity.EventCapacity;
+import com.eventplatform.event.repository.EventCapacityRepository;
+import com.eventplatform.event.service.EventService;
+import com.eventplatform.reservation.dto.ReservationResponse;
+import com.eventplatform.reservation.entity.Reservation;
+import com.eventplatform.reservation.repository.ReservationItemRepository;
+import com.eventplatform.reservation.repository.ReservationItemRow;
+import com.eventplatform.reservation.service.ReservationService;
+import com.eventplatform.user.dto.UserResponse;
+import com.eventplatform.user.entity.User;
+import com.eventplatform.user.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping as done per request by the services. {@code eventSearchPage} covers what
+ * {@link EventService#searchEvents} does in memory once the page query returns: one capacity
+ * lookup for the page, the mapping and the page wrapper; {@code reservations} likewise includes the
+ * one items lookup for the page. Repositories are in-memory stand-ins, so database time is excluded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseMappingBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private EventService eventService;
+    private ReservationService reservationService;
+    private UserService userService;
+
+    private List<Event> events;
+    private List<Reservation> reservations;
+    private List<User> users;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        events = new ArrayList<>(pageSize);
+        reservations = new ArrayList<>(pageSize);
+        users = new ArrayList<>(pageSize);
+        Map<Long, EventCapacity> capacities = new HashMap<>();
+        List<ReservationItemRow> itemRows = new ArrayList<>(pageSize);
+
+        for (long id = 1; id <= pageSize; id++) {
+            events.add(Event.builder()
+                    .id(id)
+                    .title("Concert " + id)
+                    .description("An evening with the orchestra, programme number " + id)
+                    .eventType("CONCERT")
+                    .venue("Main Hall")
+                    .address("1 Music Street")
+                    .city("Berlin")
+                    .state("BE")
+                    .country("DE")
+                    .postalCode("10115")
+                    .startDate(now.plusDays(id))
+                    .endDate(now.plusDays(id).plusHours(3))
+                    .capacity(5000)
+                    .price(new BigDecimal("49.90"))
+                    .organizerId(7L)
+                    .status("PUBLISHED")
+                    .build());
+            capacities.put(id, EventCapacity.builder()
+                    .eventId(id)
+                    .totalCapacity(5000)
+                    .reservedCapacity(1200)
+                    .availableCapacity(3800)
+                    .build());
+
+            Reservation reservation = Reservation.builder()
+                    .id(id)
+                    .reservationId("res-" + id)
+                    .userId(42L)
+                    .eventId(id)
+                    .quantity(2)
+                    .totalPrice(new BigDecimal("99.80"))
+                    .status("CONFIRMED")
+                    .idempotencyKey("key-" + id)
+                    .holdId("hold-" + id)
+                    .expiresAt(now.plusMinutes(15))
+                    .build();
+            reservations.add(reservation);
+            itemRows.add(new ReservationItemRow(id, id, "STANDARD", 2, new BigDecimal("49.90"), now));
+
+            users.add(User.builder()
+                    .id(id)
+                    .email("user" + id + "@example.com")
+                    .passwordHash("{bcrypt}$2a$10$abcdefghijklmnopqrstuv")
+                    .firstName("First" + id)
+                    .lastName("Last" + id)
+                    .build());
+        }
+
+        EventCapacityRepository capacityRepository = Stubs.stub(EventCapacityRepository.class, Map.of(
+                "findAllById", args -> {
+                    List<EventCapacity> found = new ArrayList<>();
+                    for (Object id : (Iterable<?>) args[0]) {
+                        found.add(capacities.get((Long) id));
+                    }
+                    return found;
+                }));
+        ReservationItemRepository itemRepository = Stubs.stub(ReservationItemRepository.class, Map.of(
+                "findRowsByReservationIds", args -> itemRows));
+        eventService = new EventService(null, capacityRepository, null, null, null, null);
+        reservationService = new ReservationService(null, itemRepository, null, null, null, null, null, null, null);
+        userService = new UserService(null, null, null, null);
+    }
+
+    @Benchmark
+    public Page<EventResponse> eventSearchPage() {
+        PageRequest pageable = PageRequest.of(0, pageSize);
+        return new PageImpl<>(eventService.mapToResponses(events), pageable, 1_000_000L);
+    }
+
+    @Benchmark
+    public List<ReservationResponse> reservations() {
+        return reservationService.mapToResponses(reservations);
+    }
+
+    @Benchmark
+    public List<UserResponse> users() {
+        return userService.mapToResponses(users);
+    }
+}
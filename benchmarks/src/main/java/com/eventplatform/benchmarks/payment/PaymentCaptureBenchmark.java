@@ -0,0 +1,73 @@
+package com.eventplatform.benchmarks.payment;
+
+import com.eventplatform.payment.config.PaymentExecutorConfig;
+import com.eventplatform.payment.provider.ProviderCaptureRequest;
+import com.eventplatform.payment.provider.ProviderResult;
+import com.eventplatform.payment.provider.SimulatedPaymentProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Provider captures through {@link SimulatedPaymentProvider}, called directly and handed to the
+ * capture executor the way {@code PaymentService} does. Latency is scaled down to milliseconds so
+ * a run stays short; sample mode reports the percentiles, so the simulator's configured tail can
+ * be checked against what callers actually see once the pool is saturated.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(64)
+public class PaymentCaptureBenchmark {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static final ProviderCaptureRequest REQUEST = new ProviderCaptureRequest(
+            "pay_benchmark", "pi_benchmark", new BigDecimal("49.90"), "EUR", "card");
+
+    private SimulatedPaymentProvider provider;
+    private ThreadPoolTaskExecutor captureExecutor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 5% declines, no errors, timeouts or webhooks; latency in milliseconds
+        provider = new SimulatedPaymentProvider(event -> { }, 42L, 0.05, 0, 0, 0, 0, 1, 2, 5, 10, 20);
+        captureExecutor = new PaymentExecutorConfig().paymentCaptureExecutor(16, 64, 1000, new StandardEnvironment());
+        captureExecutor.initialize();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        captureExecutor.shutdown();
+        provider.stop();
+    }
+
+    @Benchmark
+    public ProviderResult direct() {
+        return provider.capture(REQUEST, TIMEOUT);
+    }
+
+    @Benchmark
+    public ProviderResult onCaptureExecutor() {
+        return CompletableFuture.supplyAsync(() -> provider.capture(REQUEST, TIMEOUT), captureExecutor).join();
+    }
+}
@@ -0,0 +1,89 @@
+package com.eventplatform.benchmarks.reservation;
+
+import com.eventplatform.reservation.client.EventServiceClient;
+import com.eventplatform.reservation.client.ResilientEventServiceClient;
+import com.eventplatform.reservation.client.StubEventServiceClient;
+import com.eventplatform.reservation.config.CacheConfig;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hold-then-release round trips from reservation-service to an in-process Event Service stub,
+ * straight to the stub and through {@link ResilientEventServiceClient} (bulkhead, circuit breaker,
+ * availability cache eviction), using the bulkhead and breaker settings from reservation-service.yml.
+ * The difference is the client layer's own overhead per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class EventClientBenchmark {
+
+    // Stub response latency; 0 isolates the client layer
+    @Param({"0", "1"})
+    private long latencyMs;
+
+    private EventServiceClient stub;
+    private ResilientEventServiceClient resilient;
+    private EventServiceClient.CapacityHoldRequest request;
+
+    @Setup
+    public void setUp() {
+        stub = new StubEventServiceClient(Integer.MAX_VALUE, new BigDecimal("29.99"), latencyMs);
+
+        BulkheadRegistry bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(50)
+                .maxWaitDuration(Duration.ofMillis(10))
+                .build());
+        CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(50)
+                .minimumNumberOfCalls(20)
+                .failureRateThreshold(50)
+                .slowCallDurationThreshold(Duration.ofSeconds(1))
+                .slowCallRateThreshold(80)
+                .build());
+        resilient = new ResilientEventServiceClient(Optional.of(stub), bulkheads, circuitBreakers,
+                new CacheConfig().cacheManager(10_000, Duration.ofMinutes(1), 10_000, Duration.ofSeconds(1),
+                        new StandardEnvironment(), Optional.empty()));
+
+        request = new EventServiceClient.CapacityHoldRequest(
+                List.of(new EventServiceClient.CapacityItem(1L, 2)), 900, List.of("PUBLISHED"));
+    }
+
+    @Benchmark
+    public EventServiceClient.CapacityHoldResponse direct() {
+        EventServiceClient.CapacityHoldsResponse held = stub.placeHolds(request);
+        return stub.releaseHold(held.holds().get(0).holdId());
+    }
+
+    @Benchmark
+    public EventServiceClient.CapacityHoldResponse resilient() {
+        EventServiceClient.CapacityHoldsResponse held = resilient.placeHolds(request);
+        return resilient.releaseHold(held.holds().get(0).holdId());
+    }
+}
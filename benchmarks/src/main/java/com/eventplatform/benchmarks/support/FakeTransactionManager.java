@@ -0,0 +1,38 @@
+package com.eventplatform.benchmarks.support;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Transaction manager without a database. Each commit parks for a fixed time, standing in
+ * for the round trip and fsync a real commit costs, so batching effects stay visible.
+ */
+public class FakeTransactionManager implements PlatformTransactionManager {
+
+    private final long commitNanos;
+
+    public FakeTransactionManager(long commitMicros) {
+        this.commitNanos = TimeUnit.MICROSECONDS.toNanos(commitMicros);
+    }
+
+    @Override
+    public TransactionStatus getTransaction(TransactionDefinition definition) {
+        return new SimpleTransactionStatus();
+    }
+
+    @Override
+    public void commit(TransactionStatus status) {
+        if (commitNanos > 0) {
+            LockSupport.parkNanos(commitNanos);
+        }
+    }
+
+    @Override
+    public void rollback(TransactionStatus status) {
+    }
+}
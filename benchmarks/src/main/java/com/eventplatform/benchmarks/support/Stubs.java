@@ -0,0 +1,35 @@
+package com.eventplatform.benchmarks.support;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Interface stand-ins for repositories and connection factories, so benchmarks can exercise
+ * Spring beans without starting a context.
+ */
+public final class Stubs {
+
+    private Stubs() {
+    }
+
+    /**
+     * Stand-in answering the named methods; any other call fails loudly so a benchmark never
+     * silently measures an unexpected path.
+     */
+    public static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (self, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            return switch (method.getName()) {
+                case "toString" -> type.getSimpleName() + " stub";
+                case "hashCode" -> System.identityHashCode(self);
+                case "equals" -> self == args[0];
+                default -> throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+            };
+        });
+        return type.cast(proxy);
+    }
+}
@@ -0,0 +1,25 @@
+package com.eventplatform.benchmarks.support;
+
+import com.eventplatform.gateway.service.JwtVerifier;
+import com.eventplatform.user.service.JwtService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issuer and gateway verifier sharing one secret.
+ */
+public final class Tokens {
+
+    public static final String SECRET = "benchmark-secret-key-that-is-at-least-256-bits-long-for-hs256";
+
+    private Tokens() {
+    }
+
+    public static JwtService jwtService() {
+        return new JwtService(SECRET, TimeUnit.HOURS.toMillis(1));
+    }
+
+    public static JwtVerifier verifier(int cacheSize) {
+        return new JwtVerifier(SECRET, cacheSize, 300L);
+    }
+}
@@ -0,0 +1,41 @@
+package com.eventplatform.common.diagnostics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+
+import java.util.List;
+
+/**
+ * Per-request SQL statement counting for every servlet service that uses Hibernate. Requests
+ * matching {@code diagnostics.sql-count.excluded-paths} are not counted; by default those are the
+ * NDJSON exports, which read in chunks by design.
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass(name = {"org.hibernate.resource.jdbc.spi.StatementInspector",
+        "io.micrometer.core.instrument.MeterRegistry"})
+@ConditionalOnProperty(prefix = "diagnostics.sql-count", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatementCountAutoConfiguration {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatementCountFilter> sqlStatementCountFilter(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${diagnostics.sql-count.warn-threshold:10}") int warnThreshold,
+            @Value("${diagnostics.sql-count.excluded-paths:/*/export}") List<String> excludedPaths) {
+        return new FilterRegistrationBean<>(new SqlStatementCountFilter(meterRegistry, warnThreshold, excludedPaths));
+    }
+}
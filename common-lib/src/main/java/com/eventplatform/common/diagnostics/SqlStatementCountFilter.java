@@ -0,0 +1,72 @@
+package com.eventplatform.common.diagnostics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Records the number of SQL statements each request issued as the
+ * {@code http.server.requests.queries} summary (tagged by method and route), and logs a
+ * warning when a request exceeds the threshold so N+1 regressions surface.
+ */
+@Slf4j
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    static final String METRIC_NAME = "http.server.requests.queries";
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final int warnThreshold;
+    private final List<String> excludedPaths;
+
+    public SqlStatementCountFilter(ObjectProvider<MeterRegistry> meterRegistry, int warnThreshold,
+            List<String> excludedPaths) {
+        this.meterRegistry = meterRegistry;
+        this.warnThreshold = warnThreshold;
+        this.excludedPaths = excludedPaths;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return excludedPaths.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int statements = SqlStatementCounter.stop();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry != null) {
+                DistributionSummary.builder(METRIC_NAME)
+                        .description("SQL statements issued per request")
+                        .tag("method", request.getMethod())
+                        .tag("uri", uri)
+                        .register(registry)
+                        .record(statements);
+            }
+            if (statements > warnThreshold) {
+                log.warn("{} {} issued {} SQL statements (threshold {})", request.getMethod(), uri, statements,
+                        warnThreshold);
+            }
+        }
+    }
+}
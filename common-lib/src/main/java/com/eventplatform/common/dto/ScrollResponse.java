@@ -0,0 +1,38 @@
+package com.eventplatform.common.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing.
+ */
+@Data
+@Builder
+public class ScrollResponse<T> {
+
+    private List<T> content;
+    private Integer size;
+    private Boolean hasNext;
+
+    // Pass back as "cursor" to fetch the next page; null on the last page
+    private String nextCursor;
+
+    /**
+     * Builds a page from up to {@code size + 1} rows: the extra row only signals that another
+     * page exists, so no count query is needed. The cursor is taken from the last row returned.
+     */
+    public static <E, T> ScrollResponse<T> of(List<E> rows, int size, Function<List<E>, List<T>> mapper,
+            Function<E, String> cursorOf) {
+        boolean hasNext = rows.size() > size;
+        List<E> page = hasNext ? rows.subList(0, size) : rows;
+        return ScrollResponse.<T>builder()
+                .content(mapper.apply(page))
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? cursorOf.apply(page.get(size - 1)) : null)
+                .build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.eventplatform.common.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+
+/**
+ * Import into a service that owns an idempotency_keys table to get an {@link IdempotencyService}.
+ */
+@Configuration
+public class IdempotencyConfig {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public IdempotencyStore idempotencyStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        return new JdbcIdempotencyStore(jdbcTemplate, transactionManager);
+    }
+
+    @Bean
+    public IdempotencyService idempotencyService(IdempotencyStore idempotencyStore, ObjectMapper objectMapper,
+            @Value("${idempotency.ttl:24h}") Duration ttl,
+            @Value("${idempotency.lock-timeout:30s}") Duration lockTimeout,
+            @Value("${idempotency.wait-timeout:10s}") Duration waitTimeout) {
+        return new IdempotencyService(idempotencyStore, objectMapper, ttl, lockTimeout, waitTimeout);
+    }
+}
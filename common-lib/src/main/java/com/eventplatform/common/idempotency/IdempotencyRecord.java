@@ -0,0 +1,17 @@
+package com.eventplatform.common.idempotency;
+
+/**
+ * Stored state of an idempotency key. {@code response} is the serialized result once the
+ * first execution completed, null while it is still in progress.
+ */
+public record IdempotencyRecord(String scope, String key, Status status, String response) {
+
+    public enum Status {
+        IN_PROGRESS,
+        COMPLETED
+    }
+
+    public boolean isCompleted() {
+        return status == Status.COMPLETED;
+    }
+}
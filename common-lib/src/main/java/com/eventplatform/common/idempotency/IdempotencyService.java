@@ -0,0 +1,173 @@
+package com.eventplatform.common.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs a request at most once per idempotency key and replays its response to retries.
+ *
+ * <ul>
+ *   <li>The key is claimed in the {@link IdempotencyStore} before any work starts, so of two
+ *   concurrent requests with one key exactly one executes.</li>
+ *   <li>Duplicates arriving at the same instance while the first is running wait on its
+ *   result in memory; duplicates on other instances poll the store until it completes.</li>
+ *   <li>The serialized response is kept for the configured TTL and then purged.</li>
+ * </ul>
+ * A failed execution gives the key up again, so a retry after an error runs anew.
+ *
+ * Call it outside the transaction doing the work: the response must be recorded only once
+ * that transaction has committed.
+ */
+@Slf4j
+public class IdempotencyService {
+
+    private static final long MAX_POLL_INTERVAL_MS = 500;
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration lockTimeout;
+    private final Duration waitTimeout;
+
+    private final ConcurrentMap<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(IdempotencyStore store, ObjectMapper objectMapper, Duration ttl,
+            Duration lockTimeout, Duration waitTimeout) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.lockTimeout = lockTimeout;
+        this.waitTimeout = waitTimeout;
+    }
+
+    public <T> T execute(String scope, String key, Class<T> responseType, Supplier<T> action) {
+        return execute(scope, key, objectMapper.constructType(responseType), action);
+    }
+
+    public <T> T execute(String scope, String key, TypeReference<T> responseType, Supplier<T> action) {
+        return execute(scope, key, objectMapper.constructType(responseType), action);
+    }
+
+    private <T> T execute(String scope, String key, JavaType responseType, Supplier<T> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+
+        String localKey = scope + ":" + key;
+        CompletableFuture<String> mine = new CompletableFuture<>();
+        CompletableFuture<String> running = inFlight.putIfAbsent(localKey, mine);
+        if (running != null) {
+            log.info("Idempotency key {} already in flight, waiting for its result", key);
+            return deserialize(await(running, key), responseType);
+        }
+
+        try {
+            return claimOrReplay(scope, key, responseType, action, mine);
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(localKey, mine);
+        }
+    }
+
+    private <T> T claimOrReplay(String scope, String key, JavaType responseType, Supplier<T> action,
+            CompletableFuture<String> result) {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        long pollIntervalMs = 20;
+
+        while (true) {
+            if (store.claim(scope, key, lockTimeout, ttl)) {
+                T response;
+                try {
+                    response = action.get();
+                } catch (RuntimeException e) {
+                    store.release(scope, key);
+                    throw e;
+                }
+                String serialized = serialize(response);
+                store.complete(scope, key, serialized, ttl);
+                result.complete(serialized);
+                return response;
+            }
+
+            Optional<IdempotencyRecord> record = store.find(scope, key);
+            if (record.isPresent() && record.get().isCompleted()) {
+                log.info("Idempotency key {} already completed, replaying stored response", key);
+                result.complete(record.get().response());
+                return deserialize(record.get().response(), responseType);
+            }
+
+            // In progress on another instance (or just released, in which case the next claim wins)
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("A request with idempotency key " + key + " is still in progress");
+            }
+            sleep(pollIntervalMs);
+            pollIntervalMs = Math.min(pollIntervalMs * 2, MAX_POLL_INTERVAL_MS);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        int purged = store.purgeExpired();
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private String await(CompletableFuture<String> running, String key) {
+        try {
+            return running.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for idempotency key " + key, e);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("A request with idempotency key " + key + " is still in progress");
+        } catch (ExecutionException e) {
+            // The duplicate fails the same way the original did
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Request with idempotency key " + key + " failed", e.getCause());
+        }
+    }
+
+    private String serialize(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize idempotent response", e);
+        }
+    }
+
+    private <T> T deserialize(String response, JavaType responseType) {
+        try {
+            return objectMapper.readValue(response, responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read stored idempotent response", e);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for idempotency key", e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.eventplatform.common.idempotency;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Durable, shared record of idempotency keys. Every method commits on its own,
+ * independently of any transaction the caller may have open.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Atomically claims the key for execution. Succeeds if the key is unknown, or if a
+     * previous claim is still in progress but older than {@code lockTimeout} (its owner
+     * is presumed dead).
+     *
+     * @return true if the caller now owns the key and must execute the request
+     */
+    boolean claim(String scope, String key, Duration lockTimeout, Duration ttl);
+
+    void complete(String scope, String key, String response, Duration ttl);
+
+    // Gives up a claim after a failed execution so a retry can run again
+    void release(String scope, String key);
+
+    Optional<IdempotencyRecord> find(String scope, String key);
+
+    int purgeExpired();
+}
@@ -0,0 +1,73 @@
+package com.eventplatform.common.idempotency;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * {@link IdempotencyStore} on the service's own database, table idempotency_keys. The claim
+ * is a single INSERT ... ON CONFLICT, so concurrent claims of one key are decided by the
+ * primary key rather than by a read followed by a write.
+ */
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public JdbcIdempotencyStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public boolean claim(String scope, String key, Duration lockTimeout, Duration ttl) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer claimed = transactionTemplate.execute(status -> jdbcTemplate.update(
+                "INSERT INTO idempotency_keys (scope, idempotency_key, status, locked_until, expires_at, created_at) " +
+                "VALUES (?, ?, 'IN_PROGRESS', ?, ?, ?) " +
+                "ON CONFLICT (scope, idempotency_key) DO UPDATE SET locked_until = EXCLUDED.locked_until, " +
+                "expires_at = EXCLUDED.expires_at, created_at = EXCLUDED.created_at " +
+                "WHERE idempotency_keys.status = 'IN_PROGRESS' AND idempotency_keys.locked_until < EXCLUDED.created_at",
+                scope, key, Timestamp.valueOf(now.plus(lockTimeout)), Timestamp.valueOf(now.plus(ttl)),
+                Timestamp.valueOf(now)));
+        return claimed != null && claimed == 1;
+    }
+
+    @Override
+    public void complete(String scope, String key, String response, Duration ttl) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(
+                "UPDATE idempotency_keys SET status = 'COMPLETED', response = ?, expires_at = ? " +
+                "WHERE scope = ? AND idempotency_key = ?",
+                response, Timestamp.valueOf(LocalDateTime.now().plus(ttl)), scope, key));
+    }
+
+    @Override
+    public void release(String scope, String key) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(
+                "DELETE FROM idempotency_keys WHERE scope = ? AND idempotency_key = ? AND status = 'IN_PROGRESS'",
+                scope, key));
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> find(String scope, String key) {
+        return jdbcTemplate.query(
+                "SELECT status, response FROM idempotency_keys WHERE scope = ? AND idempotency_key = ?",
+                (rs, rowNum) -> new IdempotencyRecord(scope, key,
+                        IdempotencyRecord.Status.valueOf(rs.getString("status")), rs.getString("response")),
+                scope, key).stream().findFirst();
+    }
+
+    @Override
+    public int purgeExpired() {
+        Integer purged = transactionTemplate.execute(status -> jdbcTemplate.update(
+                "DELETE FROM idempotency_keys WHERE expires_at < ?", Timestamp.valueOf(LocalDateTime.now())));
+        return purged != null ? purged : 0;
+    }
+}
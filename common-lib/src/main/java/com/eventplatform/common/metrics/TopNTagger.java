@@ -0,0 +1,87 @@
+package com.eventplatform.common.metrics;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Maps ids (e.g. event ids) to a metric tag value with bounded cardinality: only the
+ * top-N ids by recent traffic keep their own value, everything else is tagged {@code other}.
+ * The top set is recomputed at most once per interval on the calling thread, and counts
+ * are halved each time so the set follows what is hot now. Ids that drop out of the top set
+ * are handed to a listener so callers can remove the meters tagged with them.
+ */
+public class TopNTagger {
+
+    public static final String OTHER = "other";
+
+    private final int topN;
+    private final int maxTracked;
+    private final long intervalNanos;
+    private final Consumer<Long> onDemoted;
+
+    private final ConcurrentHashMap<Long, LongAdder> counts = new ConcurrentHashMap<>();
+    private final AtomicLong nextRecompute;
+    private volatile Set<Long> top = Set.of();
+
+    /**
+     * @param onDemoted called with each id that left the top set when it is recomputed
+     */
+    public TopNTagger(int topN, long intervalMillis, Consumer<Long> onDemoted) {
+        this.topN = topN;
+        this.maxTracked = Math.max(64, topN * 10);
+        this.intervalNanos = intervalMillis * 1_000_000L;
+        this.onDemoted = onDemoted;
+        this.nextRecompute = new AtomicLong(System.nanoTime() + intervalNanos);
+    }
+
+    public String tag(Long id) {
+        if (id == null) {
+            return OTHER;
+        }
+        LongAdder count = counts.get(id);
+        if (count == null && counts.size() < maxTracked) {
+            count = counts.computeIfAbsent(id, k -> new LongAdder());
+        }
+        if (count != null) {
+            count.increment();
+        }
+        maybeRecompute();
+        return top.contains(id) ? id.toString() : OTHER;
+    }
+
+    private void maybeRecompute() {
+        long now = System.nanoTime();
+        long due = nextRecompute.get();
+        if (now - due < 0 || !nextRecompute.compareAndSet(due, now + intervalNanos)) {
+            return;
+        }
+        Map<Long, Long> snapshot = counts.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().sumThenReset()));
+        Set<Long> previous = top;
+        Set<Long> current = snapshot.entrySet().stream()
+                .filter(e -> e.getValue() > 0)
+                .sorted(Map.Entry.<Long, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(topN)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toUnmodifiableSet());
+        top = current;
+        previous.stream().filter(id -> !current.contains(id)).forEach(onDemoted);
+        // Decay: carry half of each count forward, drop ids that went quiet to make room for new ones
+        snapshot.forEach((id, value) -> {
+            if (value / 2 == 0) {
+                counts.remove(id);
+            } else {
+                LongAdder count = counts.get(id);
+                if (count != null) {
+                    count.add(value / 2);
+                }
+            }
+        });
+    }
+}
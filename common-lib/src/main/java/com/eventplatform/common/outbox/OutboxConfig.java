@@ -0,0 +1,58 @@
+package com.eventplatform.common.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+/**
+ * Import into a service that owns an outbox_events table and produces to {@code outbox.topic.name}
+ * to get an {@link OutboxPublisher}. The relay and the topic exist only with feature.kafka-events on.
+ */
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    public OutboxEventRepository outboxEventRepository(JdbcTemplate jdbcTemplate) {
+        return new OutboxEventRepository(jdbcTemplate);
+    }
+
+    @Bean
+    public OutboxPublisher outboxPublisher(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper,
+            @Value("${outbox.topic.name}") String topic,
+            @Value("${feature.kafka-events:false}") boolean enabled) {
+        return new OutboxPublisher(outboxEventRepository, objectMapper, topic, enabled);
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "feature.kafka-events", havingValue = "true")
+    static class RelayConfig {
+
+        @Bean
+        public OutboxRelay outboxRelay(OutboxEventRepository outboxEventRepository,
+                KafkaTemplate<String, String> kafkaTemplate, TransactionTemplate transactionTemplate,
+                @Value("${outbox.relay.batch-size:200}") int batchSize,
+                @Value("${outbox.relay.send-timeout-ms:10000}") long sendTimeoutMs,
+                @Value("${outbox.retention-hours:24}") long retentionHours) {
+            return new OutboxRelay(outboxEventRepository, kafkaTemplate, transactionTemplate, batchSize,
+                    Duration.ofMillis(sendTimeoutMs), Duration.ofHours(retentionHours));
+        }
+
+        // Created on startup if missing
+        @Bean
+        public NewTopic outboxTopic(@Value("${outbox.topic.name}") String topic,
+                @Value("${outbox.topic.partitions:6}") int partitions) {
+            return TopicBuilder.name(topic)
+                    .partitions(partitions)
+                    .build();
+        }
+    }
+}
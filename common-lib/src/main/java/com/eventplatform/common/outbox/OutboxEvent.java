@@ -0,0 +1,8 @@
+package com.eventplatform.common.outbox;
+
+/**
+ * An unpublished row of outbox_events, as the relay sends it: the payload is the full
+ * message envelope, keyed by aggregate id.
+ */
+public record OutboxEvent(Long id, String topic, String aggregateId, String payload) {
+}
@@ -0,0 +1,48 @@
+package com.eventplatform.common.outbox;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Table outbox_events on the service's own database. Writes join the caller's transaction.
+ */
+public class OutboxEventRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OutboxEventRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insert(String eventId, String eventType, String aggregateId, String topic, String payload,
+            LocalDateTime createdAt) {
+        jdbcTemplate.update(
+                "INSERT INTO outbox_events (event_id, event_type, aggregate_id, topic, payload, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?)",
+                eventId, eventType, aggregateId, topic, payload, Timestamp.valueOf(createdAt));
+    }
+
+    // Oldest unpublished events first, so events of one aggregate keep their order
+    public List<OutboxEvent> findUnpublishedForUpdate(int limit) {
+        return jdbcTemplate.query(
+                "SELECT id, topic, aggregate_id, payload FROM outbox_events WHERE published_at IS NULL " +
+                "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED",
+                (rs, rowNum) -> new OutboxEvent(rs.getLong("id"), rs.getString("topic"),
+                        rs.getString("aggregate_id"), rs.getString("payload")),
+                limit);
+    }
+
+    public void markPublished(List<OutboxEvent> events, LocalDateTime publishedAt) {
+        jdbcTemplate.batchUpdate("UPDATE outbox_events SET published_at = ? WHERE id = ?",
+                events.stream()
+                        .map(event -> new Object[] {Timestamp.valueOf(publishedAt), event.id()})
+                        .toList());
+    }
+
+    public int deletePublishedBefore(LocalDateTime cutoff) {
+        return jdbcTemplate.update("DELETE FROM outbox_events WHERE published_at < ?", Timestamp.valueOf(cutoff));
+    }
+}
@@ -0,0 +1,57 @@
+package com.eventplatform.common.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Records domain events on the service's topic ({@code outbox.topic.name}) for {@link OutboxRelay}.
+ * With events switched off nothing is recorded, since no relay would ever publish or purge it.
+ */
+public class OutboxPublisher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final String topic;
+    private final boolean enabled;
+
+    public OutboxPublisher(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper, String topic,
+            boolean enabled) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.topic = topic;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Records an event in the caller's transaction; it is only published if that transaction commits.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(String eventType, String aggregateId, Object payload) {
+        if (!enabled) {
+            return;
+        }
+        String eventId = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<String, Object> envelope = new LinkedHashMap<>();
+        envelope.put("eventId", eventId);
+        envelope.put("eventType", eventType);
+        envelope.put("aggregateId", aggregateId);
+        envelope.put("occurredAt", now);
+        envelope.put("payload", payload);
+
+        try {
+            outboxEventRepository.insert(eventId, eventType, aggregateId, topic,
+                    objectMapper.writeValueAsString(envelope), now);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + eventType + " event for " + aggregateId, e);
+        }
+    }
+}
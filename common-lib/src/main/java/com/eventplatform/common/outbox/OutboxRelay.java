@@ -0,0 +1,83 @@
+package com.eventplatform.common.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes outbox events to Kafka in batches. A batch is marked published only after the
+ * broker acknowledged every message in it; on any failure the transaction rolls back and
+ * the batch is sent again on the next run, so delivery is at-least-once and consumers
+ * must tolerate duplicates.
+ */
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration sendTimeout;
+    private final Duration retention;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, KafkaTemplate<String, String> kafkaTemplate,
+            TransactionTemplate transactionTemplate, int batchSize, Duration sendTimeout, Duration retention) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.sendTimeout = sendTimeout;
+        this.retention = retention;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:500}")
+    public void relay() {
+        int published;
+        do {
+            published = transactionTemplate.execute(status -> publishBatch());
+        } while (published == batchSize);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.purge-interval-ms:3600000}")
+    public void purge() {
+        Integer purged = transactionTemplate.execute(status ->
+                outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minus(retention)));
+        if (purged != null && purged > 0) {
+            log.info("Purged {} published outbox events", purged);
+        }
+    }
+
+    private int publishBatch() {
+        List<OutboxEvent> events = outboxEventRepository.findUnpublishedForUpdate(batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        // Keyed by aggregate so all events of one aggregate land on the same partition, in order
+        CompletableFuture<?>[] sends = events.stream()
+                .map(event -> kafkaTemplate.send(event.topic(), event.aggregateId(), event.payload()))
+                .toArray(CompletableFuture[]::new);
+
+        try {
+            CompletableFuture.allOf(sends).get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while publishing outbox events", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Failed to publish " + events.size() + " outbox events", e);
+        }
+
+        outboxEventRepository.markPublished(events, LocalDateTime.now());
+        log.debug("Published {} outbox events", events.size());
+        return events.size();
+    }
+}
@@ -0,0 +1,120 @@
+package com.eventplatform.common.tracing;
+
+import com.eventplatform.common.util.CorrelationIdUtil;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Puts the inbound {@code X-Correlation-Id} (or a new one) in MDC and on the response, and
+ * collects a {@link RequestTrace} for the request. Async requests are finished when the
+ * async context completes, and their async dispatch rejoins the same trace.
+ */
+@Slf4j
+public class CorrelationFilter extends OncePerRequestFilter {
+
+    private static final String TRACE_ATTRIBUTE = CorrelationFilter.class.getName() + ".trace";
+
+    private final List<TraceListener> listeners;
+    private final int maxSpans;
+
+    public CorrelationFilter(List<TraceListener> listeners, int maxSpans) {
+        this.listeners = listeners;
+        this.maxSpans = maxSpans;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestTrace trace = (RequestTrace) request.getAttribute(TRACE_ATTRIBUTE);
+        boolean asyncDispatch = trace != null;
+        if (trace == null) {
+            String correlationId = request.getHeader(CorrelationIdUtil.CORRELATION_ID_HEADER);
+            if (correlationId == null || correlationId.isBlank()) {
+                correlationId = UUID.randomUUID().toString();
+            }
+            trace = new RequestTrace(correlationId, request.getMethod(), request.getRequestURI(), maxSpans);
+            request.setAttribute(TRACE_ATTRIBUTE, trace);
+            response.setHeader(CorrelationIdUtil.CORRELATION_ID_HEADER, correlationId);
+        }
+
+        CorrelationIdUtil.setCorrelationId(trace.getCorrelationId());
+        RequestTraces.Binding previous = RequestTraces.bind(trace);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestTraces.restore(previous);
+            CorrelationIdUtil.clearCorrelationId();
+            if (request.isAsyncStarted()) {
+                if (!asyncDispatch) {
+                    request.getAsyncContext().addListener(new CompletionListener(trace, request, response));
+                }
+            } else {
+                complete(trace, request, response);
+            }
+        }
+    }
+
+    private void complete(RequestTrace trace, HttpServletRequest request, HttpServletResponse response) {
+        if (!trace.finish()) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        trace.setRoute(pattern != null ? pattern.toString() : "UNKNOWN");
+        trace.setStatus(response.getStatus());
+        for (TraceListener listener : listeners) {
+            try {
+                listener.onComplete(trace);
+            } catch (RuntimeException e) {
+                log.debug("Trace listener failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private final class CompletionListener implements AsyncListener {
+        private final RequestTrace trace;
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+
+        CompletionListener(RequestTrace trace, HttpServletRequest request, HttpServletResponse response) {
+            this.trace = trace;
+            this.request = request;
+            this.response = response;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            complete(trace, request, response);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            complete(trace, request, response);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            complete(trace, request, response);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
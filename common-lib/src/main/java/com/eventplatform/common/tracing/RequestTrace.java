@@ -0,0 +1,87 @@
+package com.eventplatform.common.tracing;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Timings collected for one inbound request. Async tasks started by the request add to
+ * the same trace, so stage totals are kept in atomics and spans in a bounded list.
+ */
+public class RequestTrace {
+
+    public record Span(String name, Stage stage, long offsetNanos, long durationNanos) {
+    }
+
+    @Getter
+    private final String correlationId;
+    @Getter
+    private final String method;
+    @Getter
+    private final String path;
+    @Getter
+    private final long startEpochMillis = System.currentTimeMillis();
+    private final long startNanos = System.nanoTime();
+    private final int maxSpans;
+
+    @Getter
+    @Setter
+    private volatile String route;
+    @Getter
+    @Setter
+    private volatile int status;
+    @Getter
+    private volatile long durationNanos = -1;
+
+    private final AtomicLongArray stageNanos = new AtomicLongArray(Stage.values().length);
+    private final List<Span> spans = new ArrayList<>();
+    private final AtomicInteger droppedSpans = new AtomicInteger();
+
+    public RequestTrace(String correlationId, String method, String path, int maxSpans) {
+        this.correlationId = correlationId;
+        this.method = method;
+        this.path = path;
+        this.maxSpans = maxSpans;
+    }
+
+    public void record(Stage stage, String name, long startNanos, long endNanos) {
+        long duration = endNanos - startNanos;
+        stageNanos.addAndGet(stage.ordinal(), duration);
+        synchronized (spans) {
+            if (spans.size() < maxSpans) {
+                spans.add(new Span(name, stage, startNanos - this.startNanos, duration));
+                return;
+            }
+        }
+        droppedSpans.incrementAndGet();
+    }
+
+    public int droppedSpans() {
+        return droppedSpans.get();
+    }
+
+    public long stageNanos(Stage stage) {
+        return stageNanos.get(stage.ordinal());
+    }
+
+    public List<Span> spans() {
+        synchronized (spans) {
+            return List.copyOf(spans);
+        }
+    }
+
+    /**
+     * Marks the request finished; returns false if it was already finished.
+     */
+    public synchronized boolean finish() {
+        if (durationNanos >= 0) {
+            return false;
+        }
+        durationNanos = System.nanoTime() - startNanos;
+        return true;
+    }
+}
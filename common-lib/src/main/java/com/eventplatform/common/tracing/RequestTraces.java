@@ -0,0 +1,86 @@
+package com.eventplatform.common.tracing;
+
+import java.util.function.Supplier;
+
+/**
+ * Thread-bound access to the current {@link RequestTrace}. Instrumentation calls
+ * {@link #enterStage()} / {@link #exitStage} around timed work; both are no-ops on
+ * threads that are not serving a traced request.
+ */
+public final class RequestTraces {
+
+    private static final ThreadLocal<Binding> CURRENT = new ThreadLocal<>();
+
+    private RequestTraces() {
+    }
+
+    static final class Binding {
+        final RequestTrace trace;
+        int activeStages;
+
+        Binding(RequestTrace trace) {
+            this.trace = trace;
+        }
+    }
+
+    public static RequestTrace current() {
+        Binding binding = CURRENT.get();
+        return binding != null ? binding.trace : null;
+    }
+
+    /**
+     * Binds the trace to this thread and returns the previous binding for {@link #restore}.
+     */
+    static Binding bind(RequestTrace trace) {
+        Binding previous = CURRENT.get();
+        if (trace == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(new Binding(trace));
+        }
+        return previous;
+    }
+
+    static void restore(Binding previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Returns true if the caller should record the stage, i.e. a trace is bound and no
+     * enclosing stage is already being timed on this thread.
+     */
+    public static boolean enterStage() {
+        Binding binding = CURRENT.get();
+        if (binding == null) {
+            return false;
+        }
+        return binding.activeStages++ == 0;
+    }
+
+    public static void exitStage(Stage stage, String name, long startNanos, boolean recording) {
+        Binding binding = CURRENT.get();
+        if (binding == null) {
+            return;
+        }
+        if (binding.activeStages > 0) {
+            binding.activeStages--;
+        }
+        if (recording) {
+            binding.trace.record(stage, name, startNanos, System.nanoTime());
+        }
+    }
+
+    public static <T> T time(Stage stage, String name, Supplier<T> work) {
+        boolean recording = enterStage();
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            exitStage(stage, name, start, recording);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.eventplatform.common.tracing;
+
+/**
+ * Where a request spent its time. Time inside a stage is attributed to the outermost
+ * stage only, so a locking query counts as lock wait and not also as DB time.
+ */
+public enum Stage {
+    DB("db"),
+    LOCK_WAIT("lock_wait"),
+    REMOTE_CALL("remote_call"),
+    SERIALIZATION("serialization");
+
+    private final String tag;
+
+    Stage(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+}
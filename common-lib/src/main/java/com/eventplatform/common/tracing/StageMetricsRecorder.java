@@ -0,0 +1,49 @@
+package com.eventplatform.common.tracing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes each request's stage breakdown as {@code request.stage} timers tagged with
+ * method, route and stage. Time not covered by a stage is reported as {@code other}.
+ */
+public class StageMetricsRecorder implements TraceListener {
+
+    private static final String METRIC_NAME = "request.stage";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public StageMetricsRecorder(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void onComplete(RequestTrace trace) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return;
+        }
+        long covered = 0;
+        for (Stage stage : Stage.values()) {
+            long nanos = trace.stageNanos(stage);
+            if (nanos > 0) {
+                timer(registry, trace, stage.tag()).record(nanos, TimeUnit.NANOSECONDS);
+                covered += nanos;
+            }
+        }
+        // Async work can overlap the request thread, so covered time may exceed wall time
+        timer(registry, trace, "other").record(Math.max(0, trace.getDurationNanos() - covered), TimeUnit.NANOSECONDS);
+    }
+
+    private static Timer timer(MeterRegistry registry, RequestTrace trace, String stage) {
+        return Timer.builder(METRIC_NAME)
+                .description("Time spent per request stage")
+                .tag("method", trace.getMethod())
+                .tag("route", trace.getRoute())
+                .tag("stage", stage)
+                .register(registry);
+    }
+}
@@ -0,0 +1,42 @@
+package com.eventplatform.common.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Jackson converter that times request and response body (de)serialization as {@link Stage#SERIALIZATION}.
+ */
+public class TimingJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public TimingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        boolean recording = RequestTraces.enterStage();
+        long start = System.nanoTime();
+        try {
+            return super.read(type, contextClass, inputMessage);
+        } finally {
+            RequestTraces.exitStage(Stage.SERIALIZATION, "json.read", start, recording);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+        boolean recording = RequestTraces.enterStage();
+        long start = System.nanoTime();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            RequestTraces.exitStage(Stage.SERIALIZATION, "json.write", start, recording);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.eventplatform.common.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Exports finished traces as NDJSON, either appended to a local file or POSTed in batches
+ * to a collector. Export runs on one background thread behind a bounded queue; when the
+ * queue is full traces are dropped rather than slowing requests down.
+ */
+@Slf4j
+public class TraceExporter implements TraceListener, DisposableBean {
+
+    private static final int MAX_BATCH = 500;
+
+    private final ObjectMapper objectMapper;
+    private final String service;
+    private final long minDurationNanos;
+    private final Path file;
+    private final URI collectorUri;
+    private final BlockingQueue<RequestTrace> queue;
+    private final AtomicLong dropped = new AtomicLong();
+    private final HttpClient httpClient;
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    public TraceExporter(ObjectMapper objectMapper, String service, Duration minDuration,
+                         String file, String collectorUrl, int queueCapacity) {
+        this.objectMapper = objectMapper;
+        this.service = service;
+        this.minDurationNanos = minDuration.toNanos();
+        this.collectorUri = collectorUrl == null || collectorUrl.isBlank() ? null : URI.create(collectorUrl);
+        this.file = collectorUri == null ? Path.of(file) : null;
+        this.httpClient = collectorUri != null
+                ? HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build()
+                : null;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.worker = new Thread(this::drain, "trace-exporter");
+        this.worker.setDaemon(true);
+        this.worker.start();
+        log.info("Exporting request traces to {}", collectorUri != null ? collectorUri : this.file.toAbsolutePath());
+    }
+
+    @Override
+    public void onComplete(RequestTrace trace) {
+        if (trace.getDurationNanos() < minDurationNanos) {
+            return;
+        }
+        if (!queue.offer(trace) && dropped.incrementAndGet() % 1000 == 1) {
+            log.warn("Trace export queue full, {} traces dropped so far", dropped.get());
+        }
+    }
+
+    private void drain() {
+        List<RequestTrace> batch = new ArrayList<>(MAX_BATCH);
+        while (running || !queue.isEmpty()) {
+            try {
+                RequestTrace first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.warn("Failed to export {} traces: {}", batch.size(), e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<RequestTrace> batch) throws IOException, InterruptedException {
+        StringBuilder ndjson = new StringBuilder();
+        for (RequestTrace trace : batch) {
+            ndjson.append(objectMapper.writeValueAsString(toDocument(trace))).append('\n');
+        }
+        byte[] bytes = ndjson.toString().getBytes(StandardCharsets.UTF_8);
+
+        if (collectorUri != null) {
+            HttpRequest request = HttpRequest.newBuilder(collectorUri)
+                    .timeout(Duration.ofSeconds(5))
+                    .header("Content-Type", "application/x-ndjson")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(bytes))
+                    .build();
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 300) {
+                log.warn("Trace collector returned {}", response.statusCode());
+            }
+            return;
+        }
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (OutputStream out = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            out.write(bytes);
+        }
+    }
+
+    private Map<String, Object> toDocument(RequestTrace trace) {
+        Map<String, Object> stages = new LinkedHashMap<>();
+        for (Stage stage : Stage.values()) {
+            stages.put(stage.tag(), toMillis(trace.stageNanos(stage)));
+        }
+        List<Map<String, Object>> spans = new ArrayList<>();
+        for (RequestTrace.Span span : trace.spans()) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("name", span.name());
+            item.put("stage", span.stage().tag());
+            item.put("offsetMs", toMillis(span.offsetNanos()));
+            item.put("durationMs", toMillis(span.durationNanos()));
+            spans.add(item);
+        }
+
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("service", service);
+        document.put("correlationId", trace.getCorrelationId());
+        document.put("method", trace.getMethod());
+        document.put("path", trace.getPath());
+        document.put("route", trace.getRoute());
+        document.put("status", trace.getStatus());
+        document.put("start", Instant.ofEpochMilli(trace.getStartEpochMillis()).toString());
+        document.put("durationMs", toMillis(trace.getDurationNanos()));
+        document.put("stagesMs", stages);
+        document.put("spans", spans);
+        if (trace.droppedSpans() > 0) {
+            document.put("droppedSpans", trace.droppedSpans());
+        }
+        return document;
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+    }
+}
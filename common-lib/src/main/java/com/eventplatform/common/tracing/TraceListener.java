@@ -0,0 +1,9 @@
+package com.eventplatform.common.tracing;
+
+/**
+ * Notified once per finished request with its collected trace.
+ */
+public interface TraceListener {
+
+    void onComplete(RequestTrace trace);
+}
@@ -0,0 +1,129 @@
+package com.eventplatform.common.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Correlation id propagation and per-request stage timing for every service that depends on
+ * common-lib. Each hook is only active when the service has the matching library:
+ * servlet filter and Jackson timing for MVC apps, Feign header and timing for Feign clients,
+ * a session listener for Hibernate, and MDC/trace hand-off for {@link ThreadPoolTaskExecutor}s and
+ * {@link SimpleAsyncTaskExecutor}s (Spring Boot's executors when virtual threads are on).
+ */
+@AutoConfiguration
+@ConditionalOnProperty(prefix = "tracing", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TracingAutoConfiguration {
+
+    @Bean
+    public static BeanPostProcessor tracingExecutorPostProcessor() {
+        TracingTaskDecorator decorator = new TracingTaskDecorator();
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                // Runs before initialize(), which is when the decorator is picked up
+                if (bean instanceof ThreadPoolTaskExecutor executor) {
+                    executor.setTaskDecorator(decorator);
+                } else if (bean instanceof SimpleAsyncTaskExecutor executor) {
+                    executor.setTaskDecorator(decorator);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class ServletTracingConfiguration {
+
+        @Bean
+        public FilterRegistrationBean<CorrelationFilter> correlationFilter(ObjectProvider<TraceListener> listeners,
+                @Value("${tracing.max-spans:128}") int maxSpans) {
+            FilterRegistrationBean<CorrelationFilter> registration = new FilterRegistrationBean<>(
+                    new CorrelationFilter(listeners.orderedStream().toList(), maxSpans));
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+            registration.setAsyncSupported(true);
+            return registration;
+        }
+
+        @Bean
+        public WebMvcConfigurer serializationTimingConfigurer() {
+            return new WebMvcConfigurer() {
+                @Override
+                public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+                    for (int i = 0; i < converters.size(); i++) {
+                        if (converters.get(i).getClass() == MappingJackson2HttpMessageConverter.class) {
+                            MappingJackson2HttpMessageConverter jackson = (MappingJackson2HttpMessageConverter) converters.get(i);
+                            TimingJackson2HttpMessageConverter timing = new TimingJackson2HttpMessageConverter(jackson.getObjectMapper());
+                            timing.setSupportedMediaTypes(jackson.getSupportedMediaTypes());
+                            converters.set(i, timing);
+                        }
+                    }
+                }
+            };
+        }
+
+        @Bean
+        @ConditionalOnProperty(prefix = "tracing.export", name = "enabled", havingValue = "true")
+        public TraceExporter traceExporter(ObjectMapper objectMapper,
+                @Value("${spring.application.name:application}") String service,
+                @Value("${tracing.export.min-duration:0ms}") Duration minDuration,
+                @Value("${tracing.export.file:traces/${spring.application.name:application}.ndjson}") String file,
+                @Value("${tracing.export.collector-url:}") String collectorUrl,
+                @Value("${tracing.export.queue-capacity:10000}") int queueCapacity) {
+            return new TraceExporter(objectMapper, service, minDuration, file, collectorUrl, queueCapacity);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    static class StageMetricsConfiguration {
+
+        @Bean
+        public StageMetricsRecorder stageMetricsRecorder(ObjectProvider<MeterRegistry> meterRegistry) {
+            return new StageMetricsRecorder(meterRegistry);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "feign.Capability")
+    static class FeignTracingConfiguration {
+
+        // Registered as both a Capability (timing) and a RequestInterceptor (correlation header)
+        @Bean
+        public TracingFeignCapability tracingFeignCapability() {
+            return new TracingFeignCapability();
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "org.hibernate.BaseSessionEventListener")
+    static class HibernateTracingConfiguration {
+
+        @Bean
+        public HibernatePropertiesCustomizer tracingSessionEventsCustomizer() {
+            return properties -> properties.put("hibernate.session.events.auto",
+                    TracingSessionEventListener.class.getName());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.eventplatform.common.tracing;
+
+import com.eventplatform.common.util.CorrelationIdUtil;
+import feign.Capability;
+import feign.Client;
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+
+/**
+ * Times every Feign call as {@link Stage#REMOTE_CALL} and forwards the correlation id.
+ */
+public class TracingFeignCapability implements Capability, RequestInterceptor {
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> {
+            boolean recording = RequestTraces.enterStage();
+            long start = System.nanoTime();
+            try {
+                return client.execute(request, options);
+            } finally {
+                RequestTraces.exitStage(Stage.REMOTE_CALL, request.httpMethod() + " " + request.url(), start, recording);
+            }
+        };
+    }
+
+    @Override
+    public void apply(RequestTemplate template) {
+        String correlationId = CorrelationIdUtil.getCorrelationId();
+        if (correlationId != null) {
+            template.header(CorrelationIdUtil.CORRELATION_ID_HEADER, correlationId);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.eventplatform.common.tracing;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Times JDBC work per Hibernate session as {@link Stage#DB}. Registered through
+ * {@code hibernate.session.events.auto}, so Hibernate creates one per session.
+ */
+public class TracingSessionEventListener extends BaseSessionEventListener {
+
+    private long connectionStart;
+    private boolean connectionRecording;
+    private long statementStart;
+    private boolean statementRecording;
+    private long batchStart;
+    private boolean batchRecording;
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        connectionRecording = RequestTraces.enterStage();
+        connectionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        RequestTraces.exitStage(Stage.DB, "jdbc.connection", connectionStart, connectionRecording);
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementRecording = RequestTraces.enterStage();
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestTraces.exitStage(Stage.DB, "jdbc.execute", statementStart, statementRecording);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchRecording = RequestTraces.enterStage();
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestTraces.exitStage(Stage.DB, "jdbc.batch", batchStart, batchRecording);
+    }
+}
@@ -0,0 +1,38 @@
+package com.eventplatform.common.tracing;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.Map;
+
+/**
+ * Carries the caller's MDC (correlation id) and request trace into executor threads.
+ */
+public class TracingTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        RequestTrace trace = RequestTraces.current();
+        if (mdc == null && trace == null) {
+            return runnable;
+        }
+        return () -> {
+            Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+            RequestTraces.Binding previousTrace = RequestTraces.bind(trace);
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            }
+            try {
+                runnable.run();
+            } finally {
+                RequestTraces.restore(previousTrace);
+                if (previousMdc != null) {
+                    MDC.setContextMap(previousMdc);
+                } else {
+                    MDC.clear();
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package com.eventplatform.common.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Newline-delimited JSON for streaming exports: one object per line, written as it is produced.
+ */
+public class NdjsonUtil {
+
+    public static final String MEDIA_TYPE = "application/x-ndjson";
+
+    public static <T> Consumer<T> lineWriter(ObjectMapper objectMapper, OutputStream out) {
+        return value -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(value));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+}
@@ -0,0 +1,48 @@
+package com.eventplatform.event.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Read-through caches for event reads. Event details live longer and are evicted only when
+ * the event itself changes; availability changes with each reservation, so it is cached
+ * separately with a much shorter TTL to bound staleness across instances. Both record stats, which actuator publishes as
+ * cache.gets / cache.evictions metrics.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String EVENTS = "events";
+    public static final String EVENT_AVAILABILITY = "event-availability";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${cache.events.max-size:10000}") long eventsMaxSize,
+            @Value("${cache.events.ttl:5m}") Duration eventsTtl,
+            @Value("${cache.availability.max-size:10000}") long availabilityMaxSize,
+            @Value("${cache.availability.ttl:2s}") Duration availabilityTtl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(EVENTS, Caffeine.newBuilder()
+                .maximumSize(eventsMaxSize)
+                .expireAfterWrite(eventsTtl)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(EVENT_AVAILABILITY, Caffeine.newBuilder()
+                .maximumSize(availabilityMaxSize)
+                .expireAfterWrite(availabilityTtl)
+                .recordStats()
+                .build());
+
+        // Evictions are applied after commit so a concurrent read cannot re-cache pre-commit state
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
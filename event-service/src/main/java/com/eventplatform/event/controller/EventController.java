@@ -1,9 +1,14 @@
 package com.eventplatform.event.controller;
 
+import com.eventplatform.common.dto.ScrollResponse;
+import com.eventplatform.event.dto.CapacityHoldRequest;
+import com.eventplatform.event.dto.CapacityHoldResponse;
+import com.eventplatform.event.dto.CapacityHoldsResponse;
 import com.eventplatform.event.dto.CreateEventRequest;
 import com.eventplatform.event.dto.EventResponse;
 import com.eventplatform.event.dto.EventSearchRequest;
 import com.eventplatform.event.dto.UpdateEventRequest;
+import com.eventplatform.event.service.CapacityHoldService;
 import com.eventplatform.event.service.EventService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +29,7 @@ import java.util.List;
 public class EventController {
 
     private final EventService eventService;
+    private final CapacityHoldService capacityHoldService;
 
     @GetMapping("/ping")
     public ResponseEntity<String> ping() {
@@ -138,6 +144,37 @@ public class EventController {
         return ResponseEntity.ok(response);
     }
 
+    // Keyset-paginated search for deep pages; follow nextCursor instead of incrementing page
+    @GetMapping("/scroll")
+    public ResponseEntity<ScrollResponse<EventResponse>> scrollEvents(
+            @RequestParam(required = false) String searchTerm,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String eventType,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "startDate") String sortBy,
+            @RequestParam(defaultValue = "ASC") String sortDirection) {
+
+        EventSearchRequest request = new EventSearchRequest();
+        request.setSearchTerm(searchTerm);
+        request.setCity(city);
+        request.setEventType(eventType);
+        request.setStatus(status);
+        request.setStartDate(startDate);
+        request.setEndDate(endDate);
+        request.setCursor(cursor);
+        request.setSize(size);
+        request.setSortBy(sortBy);
+        request.setSortDirection(sortDirection);
+
+        log.info("Scroll events request with filters: {}", request);
+        ScrollResponse<EventResponse> response = eventService.scrollEvents(request);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{eventId}/availability")
     public ResponseEntity<EventAvailabilityResponse> getEventAvailability(@PathVariable Long eventId) {
         log.info("Get event availability request for ID: {}", eventId);
@@ -173,6 +210,29 @@ public class EventController {
         return ResponseEntity.ok().build();
     }
 
+    // Capacity taken for a limited time; returned automatically unless confirmed before it expires
+    @PostMapping("/holds")
+    public ResponseEntity<CapacityHoldsResponse> placeHolds(@Valid @RequestBody CapacityHoldRequest request) {
+        log.info("Place capacity holds request for {} items", request.getItems().size());
+        CapacityHoldsResponse response = capacityHoldService.placeHolds(request.quantitiesByEvent(),
+                request.getTtlSeconds(), request.getRequiredStatuses());
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/holds/{holdId}/confirm")
+    public ResponseEntity<CapacityHoldResponse> confirmHold(@PathVariable String holdId) {
+        log.info("Confirm capacity hold request for: {}", holdId);
+        CapacityHoldResponse response = capacityHoldService.confirmHold(holdId);
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping("/holds/{holdId}")
+    public ResponseEntity<CapacityHoldResponse> releaseHold(@PathVariable String holdId) {
+        log.info("Release capacity hold request for: {}", holdId);
+        CapacityHoldResponse response = capacityHoldService.releaseHold(holdId);
+        return ResponseEntity.ok(response);
+    }
+
     // Helper response classes
     @lombok.Data
     @lombok.Builder
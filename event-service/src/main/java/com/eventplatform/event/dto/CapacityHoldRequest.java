@@ -0,0 +1,47 @@
+package com.eventplatform.event.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Data
+public class CapacityHoldRequest {
+
+    @NotEmpty(message = "At least one item is required")
+    private List<@Valid Item> items;
+
+    // Falls back to capacity.holds.default-ttl when absent; capped at capacity.holds.max-ttl
+    @Min(value = 1, message = "Hold TTL must be at least 1 second")
+    private Integer ttlSeconds;
+
+    // Conditional reserve: nothing is held unless every event is in one of these statuses
+    private List<String> requiredStatuses;
+
+    // Duplicate event ids are summed; ordered by id so rows are always locked in the same order
+    public Map<Long, Integer> quantitiesByEvent() {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        items.forEach(item -> quantities.merge(item.getEventId(), item.getQuantity(), Integer::sum));
+        return quantities;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+
+        @NotNull(message = "Event ID is required")
+        private Long eventId;
+
+        @NotNull(message = "Quantity is required")
+        @Min(value = 1, message = "Quantity must be at least 1")
+        private Integer quantity;
+    }
+}
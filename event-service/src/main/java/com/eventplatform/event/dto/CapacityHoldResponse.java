@@ -0,0 +1,23 @@
+package com.eventplatform.event.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class CapacityHoldResponse {
+
+    private String holdId;
+    private Long eventId;
+    private Integer quantity;
+    private String status;
+    private LocalDateTime expiresAt;
+
+    // Event state at the time the hold was placed, so the caller needs no separate event lookup
+    private BigDecimal unitPrice;
+    private String eventStatus;
+    private Integer remainingCapacity;
+}
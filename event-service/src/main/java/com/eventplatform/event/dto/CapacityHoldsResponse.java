@@ -0,0 +1,16 @@
+package com.eventplatform.event.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class CapacityHoldsResponse {
+
+    private Boolean success;
+    private Long failedEventId;
+    private String message;
+    private List<CapacityHoldResponse> holds;
+}
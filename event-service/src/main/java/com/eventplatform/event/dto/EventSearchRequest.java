@@ -17,6 +17,9 @@ public class EventSearchRequest {
     private Integer size = 20;
     private String sortBy = "startDate";
     private String sortDirection = "ASC";
+
+    // Opaque keyset position returned by the previous scroll page
+    private String cursor;
 }
 
 
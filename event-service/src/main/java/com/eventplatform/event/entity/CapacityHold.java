@@ -0,0 +1,64 @@
+package com.eventplatform.event.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Capacity taken for a limited time. A hold is either confirmed before it expires, released
+ * early, or returned to the event in bulk by the expiry sweep once expires_at has passed.
+ */
+@Entity
+@Table(name = "capacity_holds", indexes = {
+        @Index(name = "idx_capacity_holds_status_expires_at", columnList = "status, expires_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CapacityHold {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "hold_id", nullable = false, unique = true)
+    private String holdId;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private Status status = Status.HELD;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "created_at")
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    public enum Status {
+        HELD,
+        CONFIRMED,
+        RELEASED,
+        EXPIRED
+    }
+
+    public boolean isHeld() {
+        return status == Status.HELD;
+    }
+
+    public void expire() {
+        this.status = Status.EXPIRED;
+    }
+}
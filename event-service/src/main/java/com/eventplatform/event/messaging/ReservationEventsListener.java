@@ -0,0 +1,48 @@
+package com.eventplatform.event.messaging;
+
+import com.eventplatform.event.exception.GlobalExceptionHandler.ResourceNotFoundException;
+import com.eventplatform.event.service.CapacityHoldService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Returns the capacity hold of a cancelled reservation, whether it was still held or already
+ * confirmed. Releasing a hold twice is a no-op, so redelivered events cannot return capacity twice.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "feature.kafka-events", havingValue = "true")
+public class ReservationEventsListener {
+
+    public static final String RESERVATION_EVENTS_TOPIC = "reservation-events";
+
+    private final CapacityHoldService capacityHoldService;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(topics = RESERVATION_EVENTS_TOPIC, groupId = "event-service")
+    public void onReservationEvent(String message) throws JsonProcessingException {
+        JsonNode envelope = objectMapper.readTree(message);
+        if (!"ReservationCancelled".equals(envelope.path("eventType").asText())) {
+            return;
+        }
+
+        JsonNode payload = envelope.path("payload");
+        String holdId = payload.path("holdId").asText(null);
+        if (holdId == null) {
+            return;
+        }
+
+        try {
+            capacityHoldService.releaseHold(holdId);
+        } catch (ResourceNotFoundException e) {
+            log.warn("Reservation {} was cancelled with unknown hold {}", payload.path("reservationId").asText(), holdId);
+        }
+    }
+}
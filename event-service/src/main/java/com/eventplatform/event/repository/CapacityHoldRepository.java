@@ -0,0 +1,35 @@
+package com.eventplatform.event.repository;
+
+import com.eventplatform.event.entity.CapacityHold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CapacityHoldRepository extends JpaRepository<CapacityHold, Long> {
+
+    Optional<CapacityHold> findByHoldId(String holdId);
+
+    // Oldest expired holds first, served by (status, expires_at); SKIP LOCKED lets instances sweep in parallel
+    @Query(value = "SELECT * FROM capacity_holds WHERE status = 'HELD' AND expires_at <= :now " +
+                   "ORDER BY expires_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<CapacityHold> findExpiredForUpdate(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // Only a live hold can be confirmed; the row count tells the caller whether it was
+    @Modifying
+    @Query("UPDATE CapacityHold h SET h.status = CONFIRMED " +
+           "WHERE h.holdId = :holdId AND h.status = HELD AND h.expiresAt > :now")
+    int confirm(@Param("holdId") String holdId, @Param("now") LocalDateTime now);
+
+    // A confirmed hold is released when its reservation is cancelled; the status check keeps it one-shot
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE CapacityHold h SET h.status = RELEASED " +
+           "WHERE h.holdId = :holdId AND h.status IN (HELD, CONFIRMED)")
+    int release(@Param("holdId") String holdId);
+}
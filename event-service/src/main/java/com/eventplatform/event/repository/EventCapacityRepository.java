@@ -4,6 +4,7 @@ import com.eventplatform.event.entity.EventCapacity;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -24,9 +25,23 @@ public interface EventCapacityRepository extends JpaRepository<EventCapacity, Lo
     // Get available capacity for an event
     @Query("SELECT ec.availableCapacity FROM EventCapacity ec WHERE ec.eventId = :eventId")
     Integer getAvailableCapacity(@Param("eventId") Long eventId);
-}
-
-
-
-
 
+    // Apply a batched reserved delta from the capacity ledger
+    @Modifying
+    @Query("UPDATE EventCapacity ec SET ec.reservedCapacity = ec.reservedCapacity + :delta, " +
+           "ec.availableCapacity = ec.totalCapacity - ec.reservedCapacity - :delta WHERE ec.eventId = :eventId")
+    int applyReservedDelta(@Param("eventId") Long eventId, @Param("delta") int delta);
+
+    // Change total capacity without overwriting reserved capacity written concurrently
+    @Modifying
+    @Query("UPDATE EventCapacity ec SET ec.totalCapacity = :totalCapacity, " +
+           "ec.availableCapacity = :totalCapacity - ec.reservedCapacity " +
+           "WHERE ec.eventId = :eventId AND ec.reservedCapacity <= :totalCapacity")
+    int updateTotalCapacity(@Param("eventId") Long eventId, @Param("totalCapacity") int totalCapacity);
+
+    // Repair rows whose available capacity drifted from total - reserved
+    @Modifying
+    @Query("UPDATE EventCapacity ec SET ec.availableCapacity = ec.totalCapacity - ec.reservedCapacity " +
+           "WHERE ec.availableCapacity IS NULL OR ec.availableCapacity <> ec.totalCapacity - ec.reservedCapacity")
+    int reconcileAvailableCapacity();
+}
@@ -4,6 +4,7 @@ import com.eventplatform.event.entity.Event;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -12,7 +13,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface EventRepository extends JpaRepository<Event, Long> {
+public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event> {
 
        // Find events by organizer
        List<Event> findByOrganizerId(Long organizerId);
@@ -67,4 +68,32 @@ public interface EventRepository extends JpaRepository<Event, Long> {
                      @Param("startDate") LocalDateTime startDate,
                      @Param("endDate") LocalDateTime endDate,
                      Pageable pageable);
+
+       // Ranked full-text search (requires the V3 search_vector column and pg_trgm).
+       // Matches by tsquery (with prefix terms) or, for typos, by trigram word similarity on the title.
+       @Query(value = "SELECT e.* FROM events e " +
+                      "WHERE e.status = :status " +
+                      "AND (e.search_vector @@ to_tsquery('simple', :tsQuery) OR :term <% e.title) " +
+                      "AND (CAST(:city AS text) IS NULL OR LOWER(e.city) = LOWER(CAST(:city AS text))) " +
+                      "AND (CAST(:eventType AS text) IS NULL OR LOWER(e.event_type) = LOWER(CAST(:eventType AS text))) " +
+                      "AND (CAST(:startDate AS timestamp) IS NULL OR e.start_date >= CAST(:startDate AS timestamp)) " +
+                      "AND (CAST(:endDate AS timestamp) IS NULL OR e.end_date IS NULL OR e.end_date <= CAST(:endDate AS timestamp)) " +
+                      "ORDER BY ts_rank_cd(e.search_vector, to_tsquery('simple', :tsQuery)) DESC, " +
+                      "word_similarity(:term, e.title) DESC, e.id ASC",
+              countQuery = "SELECT COUNT(*) FROM events e " +
+                      "WHERE e.status = :status " +
+                      "AND (e.search_vector @@ to_tsquery('simple', :tsQuery) OR :term <% e.title) " +
+                      "AND (CAST(:city AS text) IS NULL OR LOWER(e.city) = LOWER(CAST(:city AS text))) " +
+                      "AND (CAST(:eventType AS text) IS NULL OR LOWER(e.event_type) = LOWER(CAST(:eventType AS text))) " +
+                      "AND (CAST(:startDate AS timestamp) IS NULL OR e.start_date >= CAST(:startDate AS timestamp)) " +
+                      "AND (CAST(:endDate AS timestamp) IS NULL OR e.end_date IS NULL OR e.end_date <= CAST(:endDate AS timestamp))",
+              nativeQuery = true)
+       Page<Event> fullTextSearch(@Param("tsQuery") String tsQuery,
+                     @Param("term") String term,
+                     @Param("status") String status,
+                     @Param("city") String city,
+                     @Param("eventType") String eventType,
+                     @Param("startDate") LocalDateTime startDate,
+                     @Param("endDate") LocalDateTime endDate,
+                     Pageable pageable);
 }
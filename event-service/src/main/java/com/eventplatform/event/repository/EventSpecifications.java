@@ -0,0 +1,215 @@
+package com.eventplatform.event.repository;
+
+import com.eventplatform.event.dto.EventSearchRequest;
+import com.eventplatform.event.entity.Event;
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Locale;
+
+/**
+ * Composable Criteria filters for event search. Every filter of {@link EventSearchRequest}
+ * becomes a predicate (absent filters contribute nothing), so a search runs as a single
+ * SQL query with paging and sorting done by the database.
+ */
+public final class EventSpecifications {
+
+    public static final String DEFAULT_STATUS = "PUBLISHED";
+
+    private EventSpecifications() {
+    }
+
+    public static Specification<Event> fromSearchRequest(EventSearchRequest request) {
+        String status = hasText(request.getStatus()) ? request.getStatus() : DEFAULT_STATUS;
+        return Specification.where(hasStatus(status))
+                .and(inCity(request.getCity()))
+                .and(ofType(request.getEventType()))
+                .and(matchesTerm(request.getSearchTerm()))
+                .and(startsOnOrAfter(request.getStartDate()))
+                .and(endsOnOrBefore(request.getEndDate()));
+    }
+
+    public static Specification<Event> hasStatus(String status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Event> inCity(String city) {
+        if (!hasText(city)) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(cb.lower(root.get("city")), city.toLowerCase(Locale.ROOT));
+    }
+
+    public static Specification<Event> ofType(String eventType) {
+        if (!hasText(eventType)) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(cb.lower(root.get("eventType")), eventType.toLowerCase(Locale.ROOT));
+    }
+
+    public static Specification<Event> matchesTerm(String searchTerm) {
+        if (!hasText(searchTerm)) {
+            return null;
+        }
+        String pattern = "%" + escapeLike(searchTerm.toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.or(
+                cb.like(cb.lower(root.get("title")), pattern, '\\'),
+                cb.like(cb.lower(root.get("description")), pattern, '\\'));
+    }
+
+    public static Specification<Event> startsOnOrAfter(LocalDateTime startDate) {
+        if (startDate == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("startDate"), startDate);
+    }
+
+    // Events without an end date are kept, matching the previous in-memory behaviour
+    public static Specification<Event> endsOnOrBefore(LocalDateTime endDate) {
+        if (endDate == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.or(
+                cb.isNull(root.get("endDate")),
+                cb.lessThanOrEqualTo(root.get("endDate"), endDate));
+    }
+
+    /**
+     * Keyset (seek) predicate: rows strictly after the cursor in (sort column, id) order.
+     * Lets deep pages use the (status, column, id) indexes instead of scanning past an offset.
+     */
+    public static Specification<Event> after(SortField field, Sort.Direction direction, Cursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Path<Comparable<Object>> column = root.get(field.property());
+            Path<Long> id = root.get("id");
+            Comparable<Object> value = field.parse(cursor.value());
+            if (direction.isAscending()) {
+                return cb.or(cb.greaterThan(column, value),
+                        cb.and(cb.equal(column, value), cb.greaterThan(id, cursor.id())));
+            }
+            return cb.or(cb.lessThan(column, value),
+                    cb.and(cb.equal(column, value), cb.lessThan(id, cursor.id())));
+        };
+    }
+
+    /**
+     * Resolves the requested sort into a whitelisted column with id as tie-breaker, so the
+     * order is total (required for keyset paging) and arbitrary properties cannot be injected.
+     */
+    public static Sort sortOf(SortField field, Sort.Direction direction) {
+        return Sort.by(direction, field.property()).and(Sort.by(direction, "id"));
+    }
+
+    public static Sort.Direction directionOf(String sortDirection) {
+        return Sort.Direction.fromOptionalString(sortDirection).orElse(Sort.Direction.ASC);
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Sortable columns. Only non-null columns are listed so keyset comparisons are well defined.
+     */
+    public enum SortField {
+        START_DATE("startDate") {
+            @Override
+            Object parseValue(String raw) {
+                return LocalDateTime.parse(raw);
+            }
+        },
+        PRICE("price") {
+            @Override
+            Object parseValue(String raw) {
+                return new BigDecimal(raw);
+            }
+        },
+        TITLE("title") {
+            @Override
+            Object parseValue(String raw) {
+                return raw;
+            }
+        };
+
+        private final String property;
+
+        SortField(String property) {
+            this.property = property;
+        }
+
+        public String property() {
+            return property;
+        }
+
+        public static SortField of(String sortBy) {
+            for (SortField field : values()) {
+                if (field.property.equalsIgnoreCase(sortBy)) {
+                    return field;
+                }
+            }
+            return START_DATE;
+        }
+
+        public Object valueOf(Event event) {
+            return switch (this) {
+                case START_DATE -> event.getStartDate();
+                case PRICE -> event.getPrice();
+                case TITLE -> event.getTitle();
+            };
+        }
+
+        abstract Object parseValue(String raw);
+
+        @SuppressWarnings("unchecked")
+        Comparable<Object> parse(String raw) {
+            try {
+                return (Comparable<Object>) parseValue(raw);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor for sort field " + property);
+            }
+        }
+    }
+
+    /**
+     * Opaque position of the last row of a page: its sort column value and id.
+     */
+    public record Cursor(String value, Long id) {
+
+        public static Cursor of(SortField field, Event event) {
+            Object value = field.valueOf(event);
+            String raw = value instanceof BigDecimal decimal ? decimal.toPlainString() : String.valueOf(value);
+            return new Cursor(raw, event.getId());
+        }
+
+        public static Cursor decode(String encoded) {
+            if (!hasText(encoded)) {
+                return null;
+            }
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+                int separator = decoded.indexOf(':');
+                return new Cursor(decoded.substring(separator + 1), Long.parseLong(decoded.substring(0, separator)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + encoded);
+            }
+        }
+
+        // id first so the value may contain any character, including the separator
+        public String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((id + ":" + value).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.eventplatform.event.service;
+
+import com.eventplatform.event.dto.CapacityHoldResponse;
+import com.eventplatform.event.dto.CapacityHoldsResponse;
+import com.eventplatform.event.entity.CapacityHold;
+import com.eventplatform.event.entity.Event;
+import com.eventplatform.event.exception.GlobalExceptionHandler.ResourceNotFoundException;
+import com.eventplatform.event.repository.CapacityHoldRepository;
+import com.eventplatform.event.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Time-bounded capacity. Each hold takes capacity for a TTL; unless it is confirmed or
+ * released first, a scheduled sweep returns it to the event once it expires. Abandoned or
+ * crashed checkouts therefore give their seats back without anyone calling release.
+ *
+ * Expired holds are found through the (status, expires_at) index and returned in batches,
+ * one capacity update per event per batch.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CapacityHoldService {
+
+    private final CapacityHoldRepository capacityHoldRepository;
+    private final EventRepository eventRepository;
+    private final EventService eventService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${capacity.holds.default-ttl:10m}")
+    private Duration defaultTtl;
+
+    @Value("${capacity.holds.max-ttl:1h}")
+    private Duration maxTtl;
+
+    @Value("${capacity.holds.expiry-batch-size:500}")
+    private int expiryBatchSize;
+
+    /**
+     * Holds capacity on every event of the request, all-or-nothing, and creates one hold per event.
+     * A conditional reserve: nothing is held unless every event is in one of the required statuses
+     * (any status when none are given). Each hold carries the event's price, status and remaining
+     * capacity, so a booking costs the caller one round trip.
+     */
+    public CapacityHoldsResponse placeHolds(Map<Long, Integer> quantities, Integer ttlSeconds,
+            Collection<String> requiredStatuses) {
+        Duration ttl = ttlSeconds != null ? Duration.ofSeconds(ttlSeconds) : defaultTtl;
+        if (ttl.compareTo(maxTtl) > 0) {
+            ttl = maxTtl;
+        }
+
+        Map<Long, Event> events = eventRepository.findAllById(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        for (Long eventId : quantities.keySet()) {
+            Event event = events.get(eventId);
+            if (event == null) {
+                throw new ResourceNotFoundException("Event not found with id: " + eventId);
+            }
+            if (requiredStatuses != null && !requiredStatuses.isEmpty() && !requiredStatuses.contains(event.getStatus())) {
+                return failed(eventId, "Event " + eventId + " is not available for reservations, status: "
+                        + event.getStatus());
+            }
+        }
+
+        // The capacity and the holds that account for it commit together, or neither does
+        LocalDateTime expiresAt = LocalDateTime.now().plus(ttl);
+        HeldCapacity held = transactionTemplate.execute(status -> {
+            EventService.BatchReservation reservation = eventService.reserveCapacityInTransaction(quantities);
+            if (!reservation.isSuccess()) {
+                return new HeldCapacity(reservation, List.of());
+            }
+            return new HeldCapacity(reservation, capacityHoldRepository.saveAll(quantities.entrySet().stream()
+                    .map(entry -> CapacityHold.builder()
+                            .holdId("HOLD-" + UUID.randomUUID())
+                            .eventId(entry.getKey())
+                            .quantity(entry.getValue())
+                            .expiresAt(expiresAt)
+                            .build())
+                    .collect(Collectors.toList())));
+        });
+        EventService.BatchReservation reservation = held.reservation();
+        if (!reservation.isSuccess()) {
+            return failed(reservation.failedEventId(),
+                    "Insufficient capacity available for event " + reservation.failedEventId());
+        }
+        List<CapacityHold> holds = held.holds();
+
+        log.info("Placed {} capacity holds expiring at {}", holds.size(), expiresAt);
+        return CapacityHoldsResponse.builder()
+                .success(true)
+                .message("Capacity held successfully")
+                .holds(holds.stream()
+                        .map(hold -> {
+                            Event event = events.get(hold.getEventId());
+                            CapacityHoldResponse response = mapToResponse(hold);
+                            response.setUnitPrice(event.getPrice());
+                            response.setEventStatus(event.getStatus());
+                            response.setRemainingCapacity(reservation.remainingCapacity().get(hold.getEventId()));
+                            return response;
+                        })
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    private record HeldCapacity(EventService.BatchReservation reservation, List<CapacityHold> holds) {
+    }
+
+    private static CapacityHoldsResponse failed(Long eventId, String message) {
+        return CapacityHoldsResponse.builder()
+                .success(false)
+                .failedEventId(eventId)
+                .message(message)
+                .holds(List.of())
+                .build();
+    }
+
+    /**
+     * Makes a live hold permanent. Confirming an already confirmed hold is a no-op.
+     */
+    public CapacityHoldResponse confirmHold(String holdId) {
+        log.info("Confirming capacity hold {}", holdId);
+
+        return transactionTemplate.execute(status -> {
+            int confirmed = capacityHoldRepository.confirm(holdId, LocalDateTime.now());
+            CapacityHold hold = findHold(holdId);
+            if (confirmed == 0 && hold.getStatus() != CapacityHold.Status.CONFIRMED) {
+                throw new IllegalStateException("Capacity hold " + holdId + " can no longer be confirmed, status: "
+                        + (hold.isHeld() ? CapacityHold.Status.EXPIRED : hold.getStatus()));
+            }
+            return mapToResponse(hold);
+        });
+    }
+
+    /**
+     * Gives a live or confirmed hold's capacity back, e.g. when its reservation is cancelled.
+     * Releasing an expired or already released hold is a no-op, so a late or repeated release
+     * can never return capacity twice.
+     */
+    public CapacityHoldResponse releaseHold(String holdId) {
+        log.info("Releasing capacity hold {}", holdId);
+
+        return transactionTemplate.execute(status -> {
+            CapacityHold hold = findHold(holdId);
+            if (capacityHoldRepository.release(holdId) == 1) {
+                eventService.releaseCapacityInTransaction(Map.of(hold.getEventId(), hold.getQuantity()));
+            }
+            return mapToResponse(findHold(holdId));
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${capacity.holds.expiry-interval-ms:5000}")
+    public void expireHolds() {
+        int expired;
+        int total = 0;
+        do {
+            expired = transactionTemplate.execute(status -> expireBatch(LocalDateTime.now()));
+            total += expired;
+        } while (expired == expiryBatchSize);
+
+        if (total > 0) {
+            log.info("Returned capacity of {} expired holds", total);
+        }
+    }
+
+    // Marking the holds expired and returning their capacity commit together
+    private int expireBatch(LocalDateTime now) {
+        List<CapacityHold> holds = capacityHoldRepository.findExpiredForUpdate(now, expiryBatchSize);
+        if (holds.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (CapacityHold hold : holds) {
+            hold.expire();
+            quantities.merge(hold.getEventId(), hold.getQuantity(), Integer::sum);
+        }
+        eventService.releaseCapacityInTransaction(quantities);
+        return holds.size();
+    }
+
+    private CapacityHold findHold(String holdId) {
+        return capacityHoldRepository.findByHoldId(holdId)
+                .orElseThrow(() -> new ResourceNotFoundException("Capacity hold not found: " + holdId));
+    }
+
+    private CapacityHoldResponse mapToResponse(CapacityHold hold) {
+        return CapacityHoldResponse.builder()
+                .holdId(hold.getHoldId())
+                .eventId(hold.getEventId())
+                .quantity(hold.getQuantity())
+                .status(hold.getStatus().name())
+                .expiresAt(hold.getExpiresAt())
+                .build();
+    }
+}
@@ -0,0 +1,437 @@
+package com.eventplatform.event.service;
+
+import com.eventplatform.event.entity.EventCapacity;
+import com.eventplatform.event.exception.GlobalExceptionHandler.ResourceNotFoundException;
+import com.eventplatform.event.repository.EventCapacityRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process capacity engine. Grants and releases are decided against per-event
+ * counters held in memory (a single CAS per call, no row lock), then written to
+ * event_capacity in batched deltas by a dedicated flusher thread. Callers only
+ * return once the batch holding their delta has committed, so an acknowledged
+ * grant is never lost on a crash and the table stays the source of truth on restart.
+ * A grant reported as failed never commits later and is taken back out of memory. A
+ * release is never reported as failed: whatever freed the capacity has already
+ * committed, so a release whose flush fails stays queued until a later flush commits it.
+ *
+ * The ledger assumes it is the only writer of reserved_capacity for the events it
+ * has loaded, i.e. a single event-service instance owns capacity.
+ */
+@Slf4j
+@Component
+public class CapacityLedger {
+
+    // Pause after a failed flush so requeued releases are not retried in a tight loop
+    private static final long RETRY_DELAY_MS = 100;
+
+    private final EventCapacityRepository eventCapacityRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, AtomicLong> counters = new ConcurrentHashMap<>();
+    private final BlockingQueue<PendingDelta> pending = new LinkedBlockingQueue<>();
+
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long flushTimeoutMs;
+
+    private volatile boolean running;
+    private Thread flusher;
+    private TransactionTemplate flushTransaction;
+
+    public CapacityLedger(EventCapacityRepository eventCapacityRepository, TransactionTemplate transactionTemplate,
+            @Value("${capacity.ledger.enabled:false}") boolean enabled,
+            @Value("${capacity.ledger.max-batch-size:1000}") int maxBatchSize,
+            @Value("${capacity.ledger.flush-timeout-ms:2000}") long flushTimeoutMs) {
+        this.eventCapacityRepository = eventCapacityRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.flushTimeoutMs = flushTimeoutMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("Capacity ledger disabled, capacity changes use row locks");
+            return;
+        }
+        // Bounds a flush in progress, which a caller past its own timeout still waits for
+        flushTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        flushTransaction.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(flushTimeoutMs)));
+        running = true;
+        flusher = new Thread(this::flushLoop, "capacity-ledger-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Capacity ledger started (max batch size {})", maxBatchSize);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (flusher == null) {
+            return;
+        }
+        running = false;
+        flusher.interrupt();
+        try {
+            flusher.join(flushTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Whatever the flusher did not get to is written synchronously on the way out
+        List<PendingDelta> remaining = new ArrayList<>();
+        pending.drainTo(remaining);
+        if (!remaining.isEmpty() && !flush(remaining)) {
+            log.error("Capacity changes left at shutdown were not persisted: {}",
+                    pending.stream().map(PendingDelta::deltas).toList());
+        }
+    }
+
+    /**
+     * Repairs rows whose derived available_capacity drifted from total - reserved, e.g.
+     * after a crash between writes of the legacy path. Runs once on startup, before the
+     * ledger lazily loads any counter from the table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        Integer repaired = transactionTemplate.execute(status -> eventCapacityRepository.reconcileAvailableCapacity());
+        if (repaired != null && repaired > 0) {
+            log.warn("Reconciled available capacity for {} events on startup", repaired);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean reserve(Long eventId, int quantity) {
+        if (!tryReserve(counter(eventId), quantity)) {
+            return false;
+        }
+        awaitFlush(Map.of(eventId, quantity));
+        return true;
+    }
+
+    public void release(Long eventId, int quantity) {
+        int released = releaseUpTo(counter(eventId), quantity);
+        if (released > 0) {
+            awaitFlush(Map.of(eventId, -released));
+        }
+    }
+
+    /**
+     * All-or-nothing grant across several events. Every counter is loaded first, so an unknown
+     * event fails the batch before anything is taken. Counters are then taken in ascending event
+     * id order and earlier grants are undone if a later event lacks capacity. The table update is
+     * made in the caller's transaction instead of a flush, so the capacity commits or rolls back
+     * with the caller's own writes; the counters are put back if that transaction does not commit.
+     *
+     * @return the id of the first event without enough capacity, or null if everything was reserved
+     */
+    public Long reserveAllInTransaction(Map<Long, Integer> quantities) {
+        Map<Long, Integer> granted = new TreeMap<>(quantities);
+        Long failedEventId = grantAll(granted);
+        if (failedEventId != null) {
+            return failedEventId;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    granted.forEach(CapacityLedger.this::compensate);
+                }
+            }
+        });
+        granted.forEach(eventCapacityRepository::applyReservedDelta);
+        return null;
+    }
+
+    // Takes every counter or none, in ascending event id order
+    private Long grantAll(Map<Long, Integer> quantities) {
+        Map<Long, AtomicLong> batch = counters(quantities.keySet());
+        Map<Long, Integer> granted = new TreeMap<>();
+        for (Map.Entry<Long, AtomicLong> entry : batch.entrySet()) {
+            int quantity = quantities.get(entry.getKey());
+            if (!tryReserve(entry.getValue(), quantity)) {
+                granted.forEach((eventId, amount) -> releaseUpTo(batch.get(eventId), amount));
+                return entry.getKey();
+            }
+            granted.put(entry.getKey(), quantity);
+        }
+        return null;
+    }
+
+    public void releaseAll(Map<Long, Integer> quantities) {
+        Map<Long, Integer> released = new TreeMap<>();
+        counters(quantities.keySet()).forEach((eventId, counter) -> {
+            int amount = releaseUpTo(counter, quantities.get(eventId));
+            if (amount > 0) {
+                released.put(eventId, -amount);
+            }
+        });
+        if (!released.isEmpty()) {
+            awaitFlush(released);
+        }
+    }
+
+    private static boolean tryReserve(AtomicLong counter, int quantity) {
+        long current;
+        long next;
+        do {
+            current = counter.get();
+            int total = total(current);
+            int reserved = reserved(current);
+            if (total - reserved < quantity) {
+                return false;
+            }
+            next = pack(total, reserved + quantity);
+        } while (!counter.compareAndSet(current, next));
+        return true;
+    }
+
+    private static int releaseUpTo(AtomicLong counter, int quantity) {
+        long current;
+        int released;
+        do {
+            current = counter.get();
+            int reserved = reserved(current);
+            released = Math.min(reserved, quantity);
+        } while (!counter.compareAndSet(current, pack(total(current), reserved(current) - released)));
+        return released;
+    }
+
+    public Integer getAvailableCapacity(Long eventId) {
+        AtomicLong counter = counters.get(eventId);
+        if (counter == null) {
+            return null;
+        }
+        long state = counter.get();
+        return total(state) - reserved(state);
+    }
+
+    /**
+     * Changes the total of an already loaded event. Fails if the new total is below what
+     * is reserved in memory, which may be ahead of the table by unflushed grants.
+     */
+    public void resize(Long eventId, int newTotal) {
+        AtomicLong counter = counters.get(eventId);
+        if (counter == null) {
+            return;
+        }
+        long current;
+        do {
+            current = counter.get();
+            if (reserved(current) > newTotal) {
+                throw new IllegalArgumentException("Cannot reduce capacity below reserved amount");
+            }
+        } while (!counter.compareAndSet(current, pack(newTotal, reserved(current))));
+
+        // The table update runs in the caller's transaction; put the old total back if it rolls back
+        int previousTotal = total(current);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        setTotal(counter, previousTotal);
+                    }
+                }
+            });
+        }
+    }
+
+    public void evict(Long eventId) {
+        counters.remove(eventId);
+    }
+
+    private Map<Long, AtomicLong> counters(Collection<Long> eventIds) {
+        Map<Long, AtomicLong> loaded = new TreeMap<>();
+        eventIds.forEach(eventId -> loaded.put(eventId, counter(eventId)));
+        return loaded;
+    }
+
+    private AtomicLong counter(Long eventId) {
+        return counters.computeIfAbsent(eventId, id -> {
+            EventCapacity capacity = eventCapacityRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Event capacity not found: " + id));
+            return new AtomicLong(pack(capacity.getTotalCapacity(), capacity.getReservedCapacity()));
+        });
+    }
+
+    /**
+     * Waits for the delta to commit. A failed flush has already put the counters back. On a
+     * timeout (or interrupt) a delta the flusher has not picked up yet is withdrawn and the
+     * counters put back here; one already in a flush is waited for, so the outcome the caller
+     * sees is the one in the table. A release is never withdrawn: the flusher keeps retrying it.
+     */
+    private void awaitFlush(Map<Long, Integer> deltas) {
+        PendingDelta entry = new PendingDelta(deltas);
+        pending.add(entry);
+        try {
+            entry.done().get(flushTimeoutMs, TimeUnit.MILLISECONDS);
+            return;
+        } catch (ExecutionException e) {
+            if (!entry.isRelease()) {
+                throw notPersisted(deltas, e.getCause());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException e) {
+            log.warn("Capacity change for events {} not flushed within {} ms", deltas.keySet(), flushTimeoutMs);
+        }
+
+        if (entry.isRelease()) {
+            log.warn("Release of capacity for events {} left queued for the next flush", deltas.keySet());
+            return;
+        }
+        if (entry.claim()) {
+            pending.remove(entry);
+            deltas.forEach(this::compensate);
+            throw notPersisted(deltas, null);
+        }
+        try {
+            entry.done().join();
+        } catch (CompletionException e) {
+            throw notPersisted(deltas, e.getCause());
+        }
+    }
+
+    private static IllegalStateException notPersisted(Map<Long, Integer> deltas, Throwable cause) {
+        return new IllegalStateException("Capacity change for events " + deltas.keySet() + " could not be persisted", cause);
+    }
+
+    private void flushLoop() {
+        List<PendingDelta> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                // Block for the first delta, then take whatever queued up behind it
+                batch.add(pending.take());
+                pending.drainTo(batch, maxBatchSize - 1);
+                if (!flush(batch)) {
+                    Thread.sleep(RETRY_DELAY_MS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Unexpected error in capacity ledger flusher", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // Returns false if the batch failed to commit
+    private boolean flush(List<PendingDelta> batch) {
+        // Skip deltas whose callers gave up and withdrew them
+        batch.removeIf(entry -> !entry.claim());
+        if (batch.isEmpty()) {
+            return true;
+        }
+
+        // Coalesce per event and apply in ascending id order so concurrent writers lock rows consistently
+        Map<Long, Integer> deltas = new TreeMap<>();
+        for (PendingDelta entry : batch) {
+            entry.deltas().forEach((eventId, delta) -> deltas.merge(eventId, delta, Integer::sum));
+        }
+
+        try {
+            flushTransaction.executeWithoutResult(status -> deltas.forEach((eventId, delta) -> {
+                if (delta != 0) {
+                    eventCapacityRepository.applyReservedDelta(eventId, delta);
+                }
+            }));
+            batch.forEach(entry -> entry.done().complete(null));
+            log.debug("Flushed {} capacity changes across {} events", batch.size(), deltas.size());
+            return true;
+        } catch (Exception e) {
+            log.error("Failed to flush {} capacity changes, rolling back grants and requeueing releases",
+                    batch.size(), e);
+            for (PendingDelta entry : batch) {
+                if (entry.isRelease()) {
+                    pending.add(new PendingDelta(entry.deltas()));
+                } else {
+                    entry.deltas().forEach(this::compensate);
+                }
+                entry.done().completeExceptionally(e);
+            }
+            return false;
+        }
+    }
+
+    private static void setTotal(AtomicLong counter, int total) {
+        long current;
+        do {
+            current = counter.get();
+        } while (!counter.compareAndSet(current, pack(total, reserved(current))));
+    }
+
+    private void compensate(Long eventId, int delta) {
+        AtomicLong counter = counters.get(eventId);
+        if (counter == null) {
+            return;
+        }
+        long current;
+        do {
+            current = counter.get();
+        } while (!counter.compareAndSet(current, pack(total(current), Math.max(0, reserved(current) - delta))));
+    }
+
+    // Total and reserved share one long so both are read and swapped atomically
+    private static long pack(int total, int reserved) {
+        return ((long) total << 32) | (reserved & 0xFFFFFFFFL);
+    }
+
+    private static int total(long state) {
+        return (int) (state >>> 32);
+    }
+
+    private static int reserved(long state) {
+        return (int) state;
+    }
+
+    private record PendingDelta(Map<Long, Integer> deltas, CompletableFuture<Void> done, AtomicBoolean claimed) {
+
+        PendingDelta(Map<Long, Integer> deltas) {
+            this(deltas, new CompletableFuture<>(), new AtomicBoolean());
+        }
+
+        // Taken either by the flusher or by a caller withdrawing it, never both
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        // Grants and releases are never mixed in one delta
+        boolean isRelease() {
+            return deltas.values().stream().allMatch(delta -> delta < 0);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.eventplatform.event.service;
+
+import com.eventplatform.common.metrics.TopNTagger;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters for the capacity reservation hot path. Per-event tags are limited to the
+ * currently hottest events so an on-sale with thousands of events cannot blow up
+ * the number of time series.
+ */
+@Component
+public class CapacityMetrics {
+
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_INSUFFICIENT = "insufficient";
+    public static final String OUTCOME_ERROR = "error";
+
+    private final MeterRegistry meterRegistry;
+    private final TopNTagger eventTagger;
+
+    public CapacityMetrics(MeterRegistry meterRegistry,
+                           @Value("${metrics.hot-events.top-n:20}") int topN,
+                           @Value("${metrics.hot-events.refresh-ms:10000}") long refreshMs) {
+        this.meterRegistry = meterRegistry;
+        this.eventTagger = new TopNTagger(topN, refreshMs, this::removeEventMeters);
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    /**
+     * @param eventId the event, or null for a multi-event batch
+     */
+    public void recordReserve(Timer.Sample sample, String operation, String path, Long eventId,
+                              int quantity, String outcome) {
+        String event = eventId != null ? eventTagger.tag(eventId) : "multi";
+        sample.stop(Timer.builder("capacity.reserve")
+                .description("Capacity reservation latency")
+                .tag("operation", operation)
+                .tag("path", path)
+                .tag("event", event)
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        DistributionSummary.builder("capacity.reserve.quantity")
+                .description("Tickets requested per reservation")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(quantity);
+    }
+
+    // Series of an event that is no longer hot would otherwise be exported until restart
+    private void removeEventMeters(Long eventId) {
+        meterRegistry.find("capacity.reserve").tag("event", eventId.toString()).meters()
+                .forEach(meterRegistry::remove);
+    }
+
+    public void recordLockWait(String operation, long nanos) {
+        lockTimer("capacity.lock.wait", "Time waiting for the capacity row lock", operation)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordLockHold(String operation, long nanos) {
+        lockTimer("capacity.lock.hold", "Time the capacity row lock was held until commit", operation)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer lockTimer(String name, String description, String operation) {
+        return Timer.builder(name)
+                .description(description)
+                .tag("operation", operation)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
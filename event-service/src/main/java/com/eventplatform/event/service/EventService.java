@@ -1,5 +1,9 @@
 package com.eventplatform.event.service;
 
+import com.eventplatform.common.dto.ScrollResponse;
+import com.eventplatform.common.tracing.RequestTraces;
+import com.eventplatform.common.tracing.Stage;
+import com.eventplatform.event.config.CacheConfig;
 import com.eventplatform.event.dto.CreateEventRequest;
 import com.eventplatform.event.dto.EventResponse;
 import com.eventplatform.event.dto.EventSearchRequest;
@@ -9,17 +13,38 @@ import com.eventplatform.event.entity.EventCapacity;
 import com.eventplatform.event.exception.GlobalExceptionHandler.ResourceNotFoundException;
 import com.eventplatform.event.repository.EventCapacityRepository;
 import com.eventplatform.event.repository.EventRepository;
+import com.eventplatform.event.repository.EventSpecifications;
+import com.eventplatform.event.repository.EventSpecifications.Cursor;
+import com.eventplatform.event.repository.EventSpecifications.SortField;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -30,6 +55,15 @@ public class EventService {
 
     private final EventRepository eventRepository;
     private final EventCapacityRepository eventCapacityRepository;
+    private final CapacityLedger capacityLedger;
+    private final CapacityMetrics capacityMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+
+    @Value("${search.full-text.enabled:false}")
+    private boolean fullTextSearchEnabled;
+
+    private static final Pattern SEARCH_TOKEN = Pattern.compile("[\\p{L}\\p{N}]+");
 
     @Transactional
     public EventResponse createEvent(CreateEventRequest request) {
@@ -75,19 +109,39 @@ public class EventService {
         return mapToResponse(event, capacity);
     }
 
+    /**
+     * Event details come from the events cache, which only metadata changes evict; the
+     * capacity figures are overlaid from the short-lived availability cache so reservations
+     * do not throw the details out.
+     */
     @Transactional(readOnly = true)
     public EventResponse getEvent(Long eventId) {
         log.info("Fetching event: {}", eventId);
 
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new ResourceNotFoundException("Event not found: " + eventId));
-
-        EventCapacity capacity = eventCapacityRepository.findById(eventId)
-                .orElseThrow(() -> new ResourceNotFoundException("Event capacity not found: " + eventId));
+        Cache events = cacheManager.getCache(CacheConfig.EVENTS);
+        EventResponse details = events.get(eventId, EventResponse.class);
+        if (details == null) {
+            Event event = eventRepository.findById(eventId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Event not found: " + eventId));
+            details = mapToResponse(event, null);
+            events.put(eventId, details);
+        }
 
-        return mapToResponse(event, capacity);
+        Integer available = getAvailableCapacity(eventId);
+        if (available == null) {
+            throw new ResourceNotFoundException("Event capacity not found: " + eventId);
+        }
+        // The event's capacity is kept equal to the capacity row's total by updateEvent
+        return details.toBuilder()
+                .availableCapacity(available)
+                .reservedCapacity(details.getCapacity() - available)
+                .build();
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.EVENTS, key = "#eventId"),
+            @CacheEvict(cacheNames = CacheConfig.EVENT_AVAILABILITY, key = "#eventId")
+    })
     @Transactional
     public EventResponse updateEvent(Long eventId, UpdateEventRequest request) {
         log.info("Updating event: {}", eventId);
@@ -126,15 +180,15 @@ public class EventService {
 
         // Handle capacity updates carefully
         if (request.getCapacity() != null) {
-            EventCapacity capacity = eventCapacityRepository.findById(eventId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Event capacity not found: " + eventId));
-
-            if (request.getCapacity() < capacity.getReservedCapacity()) {
+            // Targeted update so reserved capacity written concurrently is never overwritten
+            if (eventCapacityRepository.updateTotalCapacity(eventId, request.getCapacity()) == 0) {
+                if (!eventCapacityRepository.existsById(eventId)) {
+                    throw new ResourceNotFoundException("Event capacity not found: " + eventId);
+                }
                 throw new IllegalArgumentException("Cannot reduce capacity below reserved amount");
             }
 
-            capacity.setTotalCapacity(request.getCapacity());
-            eventCapacityRepository.save(capacity);
+            capacityLedger.resize(eventId, request.getCapacity());
             event.setCapacity(request.getCapacity());
         }
 
@@ -150,6 +204,10 @@ public class EventService {
         return mapToResponse(event, capacity);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.EVENTS, key = "#eventId"),
+            @CacheEvict(cacheNames = CacheConfig.EVENT_AVAILABILITY, key = "#eventId")
+    })
     @Transactional
     public void deleteEvent(Long eventId) {
         log.info("Deleting event: {}", eventId);
@@ -167,9 +225,11 @@ public class EventService {
         }
 
         eventRepository.delete(event);
+        capacityLedger.evict(eventId);
         log.info("Deleted event: {}", eventId);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.EVENTS, key = "#eventId")
     @Transactional
     public EventResponse publishEvent(Long eventId) {
         log.info("Publishing event: {}", eventId);
@@ -195,80 +255,277 @@ public class EventService {
         log.info("Fetching events for organizer: {}", organizerId);
 
         List<Event> events = eventRepository.findByOrganizerId(organizerId);
-        return events.stream()
-                .map(event -> {
-                    EventCapacity capacity = eventCapacityRepository.findById(event.getId()).orElse(null);
-                    return mapToResponse(event, capacity);
-                })
-                .collect(Collectors.toList());
+        return mapToResponses(events);
     }
 
     @Transactional(readOnly = true)
     public Page<EventResponse> searchEvents(EventSearchRequest request) {
         log.info("Searching events with filters: {}", request);
 
-        String status = request.getStatus() != null ? request.getStatus() : "PUBLISHED";
-        Pageable pageable = PageRequest.of(request.getPage(), request.getSize(),
-                Sort.by(Sort.Direction.ASC, "startDate"));
-
-        // Use simple query - filter by status first, then apply other filters in memory
-        // if needed
-        // For now, just return published events with pagination
-        Page<Event> eventsPage = eventRepository.findByStatusOrderByStartDateAsc(status, pageable);
-
-        // Apply additional filters if provided (simple in-memory filtering for now)
-        List<Event> filteredEvents = eventsPage.getContent().stream()
-                .filter(event -> {
-                    if (request.getCity() != null && !request.getCity().isEmpty() &&
-                            !event.getCity().equalsIgnoreCase(request.getCity())) {
-                        return false;
-                    }
-                    if (request.getEventType() != null && !request.getEventType().isEmpty() &&
-                            !event.getEventType().equalsIgnoreCase(request.getEventType())) {
-                        return false;
-                    }
-                    if (request.getSearchTerm() != null && !request.getSearchTerm().isEmpty()) {
-                        String searchLower = request.getSearchTerm().toLowerCase();
-                        if (!event.getTitle().toLowerCase().contains(searchLower) &&
-                                (event.getDescription() == null
-                                        || !event.getDescription().toLowerCase().contains(searchLower))) {
-                            return false;
-                        }
-                    }
-                    if (request.getStartDate() != null && event.getStartDate().isBefore(request.getStartDate())) {
-                        return false;
-                    }
-                    if (request.getEndDate() != null && event.getEndDate() != null &&
-                            event.getEndDate().isAfter(request.getEndDate())) {
-                        return false;
-                    }
-                    return true;
-                })
+        if (fullTextSearchEnabled) {
+            String tsQuery = toPrefixTsQuery(request.getSearchTerm());
+            if (tsQuery != null) {
+                return fullTextSearch(request, tsQuery);
+            }
+        }
+
+        SortField sortField = SortField.of(request.getSortBy());
+        Sort sort = EventSpecifications.sortOf(sortField, EventSpecifications.directionOf(request.getSortDirection()));
+        Pageable pageable = PageRequest.of(request.getPage(), request.getSize(), sort);
+
+        // All filters, sorting and paging are pushed into a single query (plus its count query)
+        Page<Event> eventsPage = eventRepository.findAll(EventSpecifications.fromSearchRequest(request), pageable);
+
+        List<EventResponse> content = mapToResponses(eventsPage.getContent());
+        return new PageImpl<>(content, pageable, eventsPage.getTotalElements());
+    }
+
+    /**
+     * Relevance-ranked search over the search_vector column. Results are ordered by
+     * ts_rank_cd (title outweighs description), then by trigram similarity of the title,
+     * which also lets a misspelt term match.
+     */
+    private Page<EventResponse> fullTextSearch(EventSearchRequest request, String tsQuery) {
+        String status = request.getStatus() != null && !request.getStatus().isBlank()
+                ? request.getStatus() : EventSpecifications.DEFAULT_STATUS;
+        Pageable pageable = PageRequest.of(request.getPage(), request.getSize());
+
+        Page<Event> eventsPage = eventRepository.fullTextSearch(tsQuery, request.getSearchTerm().trim(), status,
+                blankToNull(request.getCity()), blankToNull(request.getEventType()),
+                request.getStartDate(), request.getEndDate(), pageable);
+
+        List<EventResponse> content = mapToResponses(eventsPage.getContent());
+        return new PageImpl<>(content, pageable, eventsPage.getTotalElements());
+    }
+
+    // "spring boo" -> "spring:* & boo:*"; only letters and digits reach to_tsquery
+    private static String toPrefixTsQuery(String searchTerm) {
+        if (searchTerm == null) {
+            return null;
+        }
+        List<String> tokens = SEARCH_TOKEN.matcher(searchTerm.toLowerCase(Locale.ROOT)).results()
+                .map(match -> match.group() + ":*")
                 .collect(Collectors.toList());
+        return tokens.isEmpty() ? null : String.join(" & ", tokens);
+    }
 
-        // Create a new page with filtered results
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), filteredEvents.size());
-        List<Event> pagedEvents = filteredEvents.subList(Math.min(start, filteredEvents.size()), end);
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
 
-        Page<Event> resultPage = new PageImpl<>(pagedEvents, pageable, filteredEvents.size());
+    /**
+     * Keyset-paginated search for deep pages: seeks past the cursor on (sort column, id)
+     * instead of counting and skipping rows, so page N costs the same as page 1.
+     */
+    @Transactional(readOnly = true)
+    public ScrollResponse<EventResponse> scrollEvents(EventSearchRequest request) {
+        log.info("Scrolling events with filters: {}", request);
+
+        SortField sortField = SortField.of(request.getSortBy());
+        Sort.Direction direction = EventSpecifications.directionOf(request.getSortDirection());
+        Cursor cursor = Cursor.decode(request.getCursor());
+        int size = request.getSize();
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must not be less than one");
+        }
 
-        return resultPage.map(event -> {
-            EventCapacity capacity = eventCapacityRepository.findById(event.getId()).orElse(null);
-            return mapToResponse(event, capacity);
-        });
+        Specification<Event> spec = EventSpecifications.fromSearchRequest(request)
+                .and(EventSpecifications.after(sortField, direction, cursor));
+
+        // Fetch one extra row to learn whether another page exists without a count query
+        List<Event> events = eventRepository.findBy(spec,
+                query -> query.sortBy(EventSpecifications.sortOf(sortField, direction)).limit(size + 1).all());
+
+        return ScrollResponse.of(events, size, this::mapToResponses, event -> Cursor.of(sortField, event).encode());
     }
 
+    // Looked up by hand rather than through @Cacheable so getEvent shares it without self-invocation
     @Transactional(readOnly = true)
     public Integer getAvailableCapacity(Long eventId) {
-        return eventCapacityRepository.getAvailableCapacity(eventId);
+        Cache availability = cacheManager.getCache(CacheConfig.EVENT_AVAILABILITY);
+        Integer available = availability.get(eventId, Integer.class);
+        if (available != null) {
+            return available;
+        }
+        if (capacityLedger.isEnabled()) {
+            available = capacityLedger.getAvailableCapacity(eventId);
+        }
+        if (available == null) {
+            available = eventCapacityRepository.getAvailableCapacity(eventId);
+        }
+        if (available != null) {
+            availability.put(eventId, available);
+        }
+        return available;
     }
 
-    @Transactional
+    // Not transactional itself: the ledger path must not hold a connection while its batch is flushed
+    @CacheEvict(cacheNames = CacheConfig.EVENT_AVAILABILITY, key = "#eventId")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public boolean reserveCapacity(Long eventId, int quantity) {
         log.info("Reserving capacity for event {}: quantity {}", eventId, quantity);
 
-        EventCapacity capacity = eventCapacityRepository.findByEventIdWithLock(eventId);
+        Timer.Sample sample = capacityMetrics.start();
+        String path = capacityLedger.isEnabled() ? "ledger" : "row_lock";
+        String outcome = CapacityMetrics.OUTCOME_ERROR;
+        try {
+            boolean success;
+            if (capacityLedger.isEnabled()) {
+                success = capacityLedger.reserve(eventId, quantity);
+                if (success) {
+                    log.info("Reserved {} capacity for event {}", quantity, eventId);
+                } else {
+                    log.warn("Failed to reserve {} capacity for event {} (insufficient capacity)", quantity, eventId);
+                }
+            } else {
+                success = Boolean.TRUE.equals(transactionTemplate.execute(status -> reserveWithRowLock(eventId, quantity)));
+            }
+            outcome = success ? CapacityMetrics.OUTCOME_SUCCESS : CapacityMetrics.OUTCOME_INSUFFICIENT;
+            return success;
+        } finally {
+            capacityMetrics.recordReserve(sample, "single", path, eventId, quantity, outcome);
+        }
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.EVENT_AVAILABILITY, key = "#eventId")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void releaseCapacity(Long eventId, int quantity) {
+        log.info("Releasing capacity for event {}: quantity {}", eventId, quantity);
+
+        if (capacityLedger.isEnabled()) {
+            capacityLedger.release(eventId, quantity);
+            log.info("Released {} capacity for event {}", quantity, eventId);
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> releaseWithRowLock(eventId, quantity));
+    }
+
+    /**
+     * All-or-nothing reservation across several events (a multi-event cart) as part of the
+     * caller's transaction, so the capacity is taken together with the rows that account for it
+     * (e.g. new holds) or not at all. Rows are locked in ascending event id order so concurrent
+     * carts touching the same events cannot deadlock.
+     *
+     * @param quantities quantity per event id
+     * @return the first event without enough capacity, or the capacity left on each event
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public BatchReservation reserveCapacityInTransaction(Map<Long, Integer> quantities) {
+        log.info("Reserving capacity for {} events: {}", quantities.size(), quantities);
+
+        Timer.Sample sample = capacityMetrics.start();
+        String outcome = CapacityMetrics.OUTCOME_ERROR;
+        BatchReservation result;
+        try {
+            result = capacityLedger.isEnabled() ? reserveAllInLedger(quantities) : reserveAllWithRowLocks(quantities);
+            outcome = result.isSuccess() ? CapacityMetrics.OUTCOME_SUCCESS : CapacityMetrics.OUTCOME_INSUFFICIENT;
+        } finally {
+            capacityMetrics.recordReserve(sample, "batch", capacityLedger.isEnabled() ? "ledger" : "row_lock",
+                    quantities.size() == 1 ? quantities.keySet().iterator().next() : null,
+                    quantities.values().stream().mapToInt(Integer::intValue).sum(), outcome);
+        }
+
+        if (result.isSuccess()) {
+            // Applied after commit by the transaction-aware cache manager
+            evictAvailability(quantities.keySet());
+            log.info("Reserved capacity for events {}", quantities.keySet());
+        } else {
+            log.warn("Failed to reserve capacity batch, insufficient capacity for event {}", result.failedEventId());
+        }
+        return result;
+    }
+
+    /**
+     * Outcome of an all-or-nothing batch reservation: the first event that could not be
+     * reserved, or null together with the capacity each event has left.
+     */
+    public record BatchReservation(Long failedEventId, Map<Long, Integer> remainingCapacity) {
+
+        public boolean isSuccess() {
+            return failedEventId == null;
+        }
+    }
+
+    /**
+     * Releases capacity as part of the caller's transaction, so the release commits or rolls
+     * back together with the change that freed it (e.g. holds marked expired). With the ledger
+     * enabled the in-memory counters are released once the caller has committed.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void releaseCapacityInTransaction(Map<Long, Integer> quantities) {
+        if (capacityLedger.isEnabled()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    capacityLedger.releaseAll(quantities);
+                }
+            });
+        } else {
+            new TreeMap<>(quantities).forEach(this::releaseWithRowLock);
+        }
+        // Applied after commit by the transaction-aware cache manager
+        evictAvailability(quantities.keySet());
+    }
+
+    private BatchReservation reserveAllInLedger(Map<Long, Integer> quantities) {
+        Long failedEventId = capacityLedger.reserveAllInTransaction(quantities);
+        if (failedEventId != null) {
+            return new BatchReservation(failedEventId, Map.of());
+        }
+        Map<Long, Integer> remaining = new TreeMap<>();
+        quantities.keySet().forEach(eventId -> remaining.put(eventId, capacityLedger.getAvailableCapacity(eventId)));
+        return new BatchReservation(null, remaining);
+    }
+
+    // Every row is locked and checked before any is changed, so a shortfall leaves nothing to undo
+    private BatchReservation reserveAllWithRowLocks(Map<Long, Integer> quantities) {
+        List<EventCapacity> locked = new ArrayList<>(quantities.size());
+        for (Map.Entry<Long, Integer> entry : new TreeMap<>(quantities).entrySet()) {
+            EventCapacity capacity = lockCapacity(entry.getKey(), "reserve_batch");
+            if (capacity == null) {
+                throw new ResourceNotFoundException("Event capacity not found: " + entry.getKey());
+            }
+            if (!capacity.hasAvailableCapacity(entry.getValue())) {
+                return new BatchReservation(entry.getKey(), Map.of());
+            }
+            locked.add(capacity);
+        }
+        locked.forEach(capacity -> capacity.reserveCapacity(quantities.get(capacity.getEventId())));
+        eventCapacityRepository.saveAll(locked);
+        return new BatchReservation(null, locked.stream()
+                .collect(Collectors.toMap(EventCapacity::getEventId, EventCapacity::getAvailableCapacity)));
+    }
+
+    // Capacity changes leave the cached event details alone; getEvent overlays fresh availability
+    private void evictAvailability(Collection<Long> eventIds) {
+        Cache availability = cacheManager.getCache(CacheConfig.EVENT_AVAILABILITY);
+        eventIds.forEach(availability::evict);
+    }
+
+    /**
+     * Takes the capacity row lock, recording how long it took to get and, once the
+     * surrounding transaction completes, how long it was held.
+     */
+    private EventCapacity lockCapacity(Long eventId, String operation) {
+        long start = System.nanoTime();
+        EventCapacity capacity = RequestTraces.time(Stage.LOCK_WAIT, "event_capacity.lock",
+                () -> eventCapacityRepository.findByEventIdWithLock(eventId));
+        long lockedAt = System.nanoTime();
+        capacityMetrics.recordLockWait(operation, lockedAt - start);
+        if (capacity != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    capacityMetrics.recordLockHold(operation, System.nanoTime() - lockedAt);
+                }
+            });
+        }
+        return capacity;
+    }
+
+    private boolean reserveWithRowLock(Long eventId, int quantity) {
+        EventCapacity capacity = lockCapacity(eventId, "reserve");
         if (capacity == null) {
             throw new ResourceNotFoundException("Event capacity not found: " + eventId);
         }
@@ -284,11 +541,8 @@ public class EventService {
         return success;
     }
 
-    @Transactional
-    public void releaseCapacity(Long eventId, int quantity) {
-        log.info("Releasing capacity for event {}: quantity {}", eventId, quantity);
-
-        EventCapacity capacity = eventCapacityRepository.findById(eventId).orElse(null);
+    private void releaseWithRowLock(Long eventId, int quantity) {
+        EventCapacity capacity = lockCapacity(eventId, "release");
         if (capacity != null) {
             capacity.releaseCapacity(quantity);
             eventCapacityRepository.save(capacity);
@@ -296,6 +550,21 @@ public class EventService {
         }
     }
 
+    // Loads the capacity rows of a whole listing with one IN query instead of one lookup per event
+    public List<EventResponse> mapToResponses(List<Event> events) {
+        if (events.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> eventIds = events.stream().map(Event::getId).collect(Collectors.toList());
+        Map<Long, EventCapacity> capacities = eventCapacityRepository.findAllById(eventIds).stream()
+                .collect(Collectors.toMap(EventCapacity::getEventId, Function.identity()));
+
+        return events.stream()
+                .map(event -> mapToResponse(event, capacities.get(event.getId())))
+                .collect(Collectors.toList());
+    }
+
     private EventResponse mapToResponse(Event event, EventCapacity capacity) {
         return EventResponse.builder()
                 .id(event.getId())
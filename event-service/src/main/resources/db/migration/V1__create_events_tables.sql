@@ -25,7 +25,8 @@ CREATE TABLE event_capacity (
     event_id BIGINT PRIMARY KEY REFERENCES events(id) ON DELETE CASCADE,
     total_capacity INTEGER NOT NULL,
     reserved_capacity INTEGER DEFAULT 0,
-    available_capacity INTEGER GENERATED ALWAYS AS (total_capacity - reserved_capacity) STORED
+    -- Kept equal to total_capacity - reserved_capacity by the service, which writes all three
+    available_capacity INTEGER
 );
 
 -- Create indexes for performance
@@ -43,8 +44,8 @@ VALUES
     ('Docker & Kubernetes Meetup', 'Monthly meetup for container enthusiasts', 'MEETUP', 'Co-working Space', '789 Startup Ave', 'Austin', 'TX', 'USA', '2024-10-20 18:30:00', 100, 0.00, 2, 'PUBLISHED');
 
 -- Initialize capacity tracking for the sample events
-INSERT INTO event_capacity (event_id, total_capacity, reserved_capacity)
-SELECT id, capacity, 0 FROM events;
+INSERT INTO event_capacity (event_id, total_capacity, reserved_capacity, available_capacity)
+SELECT id, capacity, 0, capacity FROM events;
 
 
 
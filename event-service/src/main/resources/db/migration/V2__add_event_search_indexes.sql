@@ -0,0 +1,8 @@
+-- Composite indexes backing search sorts and keyset pagination: (status, sort column, id)
+CREATE INDEX IF NOT EXISTS idx_events_status_start_date_id ON events(status, start_date, id);
+CREATE INDEX IF NOT EXISTS idx_events_status_price_id ON events(status, price, id);
+CREATE INDEX IF NOT EXISTS idx_events_status_title_id ON events(status, title, id);
+
+-- City and type filters are case-insensitive
+CREATE INDEX IF NOT EXISTS idx_events_lower_city ON events(LOWER(city));
+CREATE INDEX IF NOT EXISTS idx_events_lower_event_type ON events(LOWER(event_type));
@@ -0,0 +1,14 @@
+-- Full-text search over title (weight A) and description (weight B).
+-- The 'simple' configuration does not stem, so prefix queries ("conf:*") behave predictably.
+-- IF NOT EXISTS throughout: this script used to be applied by hand before enabling the mode.
+ALTER TABLE events ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', COALESCE(title, '')), 'A') ||
+        setweight(to_tsvector('simple', COALESCE(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_events_search_vector ON events USING GIN (search_vector);
+
+-- Trigram index on title for typo-tolerant matching (word_similarity via the <% operator)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_events_title_trgm ON events USING GIN (title gin_trgm_ops);
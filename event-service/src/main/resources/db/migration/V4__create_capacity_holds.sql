@@ -0,0 +1,13 @@
+-- Time-bounded capacity holds, returned in bulk by the expiry sweep
+CREATE TABLE IF NOT EXISTS capacity_holds (
+    id BIGSERIAL PRIMARY KEY,
+    hold_id VARCHAR(64) NOT NULL UNIQUE,
+    event_id BIGINT NOT NULL REFERENCES events(id) ON DELETE CASCADE,
+    quantity INTEGER NOT NULL CHECK (quantity > 0),
+    status VARCHAR(20) NOT NULL DEFAULT 'HELD',
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- The sweep scans live holds by expiry
+CREATE INDEX IF NOT EXISTS idx_capacity_holds_status_expires_at ON capacity_holds(status, expires_at);
@@ -0,0 +1,36 @@
+package com.eventplatform.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code --name=value} command line options. Options of the form {@code --<service>:<property>=<value>}
+ * are collected per service, to be passed on to that service, e.g.
+ * {@code --event-service:capacity.ledger.enabled=true}.
+ */
+record Arguments(Map<String, String> options, Map<String, Map<String, String>> serviceProperties) {
+
+    static Arguments parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        Map<String, Map<String, String>> serviceProperties = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            int colon = name.indexOf(':');
+            if (colon > 0) {
+                serviceProperties.computeIfAbsent(name.substring(0, colon), service -> new LinkedHashMap<>())
+                        .put(name.substring(colon + 1), value);
+            } else {
+                options.put(name, value);
+            }
+        }
+        return new Arguments(options, serviceProperties);
+    }
+
+    String get(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+}
@@ -0,0 +1,162 @@
+package com.eventplatform.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrent-request capacity of the services on platform threads and on virtual threads. The
+ * modes run one after the other in this JVM, so both get the same heap ({@code -Xmx}). At each
+ * concurrency level the client keeps that many reservation requests in flight for a fixed time;
+ * it is asynchronous, so it needs no thread per request itself. Recorded per level: throughput,
+ * latency, failed requests, the peak number of platform threads and the peak heap in use.
+ * <pre>
+ *   java -Xmx512m -jar load-tests/target/load-tests.jar capacity --levels=100,400,1600 --seconds=20
+ * </pre>
+ * The virtual-thread mode needs a Java 21 runtime and is skipped on older ones.
+ */
+@Slf4j
+final class ConcurrencyCapacity {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int EVENT_CAPACITY = 100_000;
+    private static final long SAMPLE_INTERVAL_MS = 50;
+
+    private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final AtomicLong users = new AtomicLong();
+
+    private ConcurrencyCapacity() {
+    }
+
+    static int run(String[] args) throws Exception {
+        Arguments arguments = Arguments.parse(args);
+        List<Integer> levels = Arrays.stream(arguments.get("levels", "50,100,200,400,800").split(","))
+                .map(String::trim).map(Integer::parseInt).toList();
+        Duration duration = Duration.ofSeconds(Long.parseLong(arguments.get("seconds", "10")));
+        int events = Integer.parseInt(arguments.get("events", "10"));
+        String resultFile = arguments.get("result-file", "target/capacity-result.json");
+
+        ConcurrencyCapacity capacity = new ConcurrencyCapacity();
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (String mode : arguments.get("modes", "platform,virtual").split(",")) {
+            boolean virtualThreads = "virtual".equals(mode.trim());
+            if (virtualThreads && Runtime.version().feature() < 21) {
+                log.warn("Skipping the virtual-thread mode: Java {} has no virtual threads", Runtime.version().feature());
+                continue;
+            }
+            try (ServiceCluster cluster = ServiceCluster.start(virtualThreads, 42L, arguments.serviceProperties())) {
+                List<Long> eventIds = cluster.publishEvents(events, EVENT_CAPACITY);
+                String url = cluster.url(ServiceCluster.RESERVATION_SERVICE) + "/reservations";
+                // Warm up the JIT, connection pools and caches before the first measured level
+                capacity.measure(url, eventIds, levels.get(0), duration);
+                for (int level : levels) {
+                    log.info("Measuring {} threads at {} concurrent requests", mode.trim(), level);
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("mode", mode.trim());
+                    row.put("concurrency", level);
+                    row.putAll(capacity.measure(url, eventIds, level, duration));
+                    rows.add(row);
+                }
+            }
+        }
+
+        print(rows);
+        Path file = Path.of(resultFile);
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), rows);
+        log.info("Results written to {}", resultFile);
+        return 0;
+    }
+
+    private Map<String, Object> measure(String url, List<Long> eventIds, int concurrency, Duration duration)
+            throws InterruptedException {
+        System.gc();
+        threads.resetPeakThreadCount();
+        AtomicLong peakHeap = new AtomicLong();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max),
+                0, SAMPLE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+
+        StepStats stats = new StepStats("reserve");
+        CountDownLatch finished = new CountDownLatch(concurrency);
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        for (int i = 0; i < concurrency; i++) {
+            sendNext(url, eventIds, stats, deadline, finished);
+        }
+        if (!finished.await(duration.plus(REQUEST_TIMEOUT).toSeconds(), TimeUnit.SECONDS)) {
+            log.warn("{} requests still in flight after the level ended", finished.getCount());
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        sampler.shutdownNow();
+
+        Map<String, Long> outcomes = stats.outcomes();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("requests", stats.count());
+        result.put("ratePerSecond", outcomes.getOrDefault("201", 0L) / seconds);
+        result.put("p50Ms", stats.percentileMillis(50));
+        result.put("p99Ms", stats.percentileMillis(99));
+        result.put("maxMs", stats.maxMillis());
+        result.put("failed", stats.count() - outcomes.getOrDefault("201", 0L));
+        result.put("peakPlatformThreads", threads.getPeakThreadCount());
+        result.put("peakHeapMb", peakHeap.get() / (1024 * 1024));
+        result.put("outcomes", outcomes);
+        return result;
+    }
+
+    // One closed-loop client: sends the next request when the previous one completes
+    private void sendNext(String url, List<Long> eventIds, StepStats stats, long deadline, CountDownLatch finished) {
+        if (System.nanoTime() >= deadline) {
+            finished.countDown();
+            return;
+        }
+        long userId = users.incrementAndGet();
+        long eventId = eventIds.get((int) (userId % eventIds.size()));
+        String body = "{\"userId\":" + userId + ",\"eventId\":" + eventId
+                + ",\"quantity\":1,\"idempotencyKey\":\"capacity-" + userId + "\"}";
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        long start = System.nanoTime();
+        http.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+            stats.record(failure != null ? "io" : String.valueOf(response.statusCode()), start);
+            sendNext(url, eventIds, stats, deadline, finished);
+        });
+    }
+
+    private static void print(List<Map<String, Object>> rows) {
+        System.out.printf("%n%-8s %11s %9s %9s %9s %9s %8s %8s %8s%n",
+                "Mode", "Concurrency", "Requests", "OK/s", "p50 ms", "p99 ms", "Failed", "Threads", "Heap MB");
+        for (Map<String, Object> row : rows) {
+            System.out.printf("%-8s %11d %9d %9.1f %9.2f %9.2f %8d %8d %8d%n", row.get("mode"), row.get("concurrency"),
+                    row.get("requests"), row.get("ratePerSecond"), row.get("p50Ms"), row.get("p99Ms"),
+                    row.get("failed"), row.get("peakPlatformThreads"), row.get("peakHeapMb"));
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.eventplatform.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Checks the three databases against each other once the run has settled. Every message returned
+ * is one violation; an empty list means no ticket was oversold, every held seat is accounted for
+ * by a live reservation, no buyer went over the per-event limit and every payment matches its
+ * reservation.
+ */
+class InvariantChecker {
+
+    private static final String ACTIVE = "('PENDING', 'CONFIRMED')";
+
+    private final JdbcTemplate events;
+    private final JdbcTemplate reservations;
+    private final JdbcTemplate payments;
+    private final int maxTicketsPerUser;
+
+    InvariantChecker(ServiceCluster cluster) {
+        this.events = new JdbcTemplate(cluster.dataSource(ServiceCluster.EVENT_DB));
+        this.reservations = new JdbcTemplate(cluster.dataSource(ServiceCluster.RESERVATION_DB));
+        this.payments = new JdbcTemplate(cluster.dataSource(ServiceCluster.PAYMENT_DB));
+        this.maxTicketsPerUser = Integer.parseInt(cluster.property(ServiceCluster.RESERVATION_SERVICE,
+                "reservation.max-tickets-per-user-per-event"));
+    }
+
+    List<String> check(Map<Long, Long> clientTickets) {
+        List<String> violations = new ArrayList<>();
+        checkCapacity(violations, clientTickets);
+        checkHolds(violations);
+        checkTicketLimits(violations);
+        checkPayments(violations);
+        return violations;
+    }
+
+    private void checkCapacity(List<String> violations, Map<Long, Long> clientTickets) {
+        Map<Long, Long> activeByEvent = new HashMap<>();
+        reservations.query("SELECT event_id, SUM(quantity) FROM reservations WHERE status IN " + ACTIVE
+                + " GROUP BY event_id", rs -> {
+            activeByEvent.put(rs.getLong(1), rs.getLong(2));
+        });
+        Map<Long, Long> heldByEvent = new HashMap<>();
+        events.query("SELECT event_id, SUM(quantity) FROM capacity_holds WHERE status IN ('HELD', 'CONFIRMED')"
+                + " GROUP BY event_id", rs -> {
+            heldByEvent.put(rs.getLong(1), rs.getLong(2));
+        });
+
+        events.query("SELECT event_id, total_capacity, reserved_capacity, available_capacity FROM event_capacity", rs -> {
+            long eventId = rs.getLong(1);
+            int total = rs.getInt(2);
+            int reserved = rs.getInt(3);
+            int available = rs.getInt(4);
+            if (reserved > total) {
+                violations.add("Event " + eventId + " oversold: " + reserved + " reserved of " + total);
+            }
+            if (reserved < 0 || available != total - reserved) {
+                violations.add("Event " + eventId + " capacity inconsistent: total " + total + ", reserved "
+                        + reserved + ", available " + available);
+            }
+            long held = heldByEvent.getOrDefault(eventId, 0L);
+            if (held != reserved) {
+                violations.add("Event " + eventId + " has " + reserved + " reserved but " + held + " in live holds");
+            }
+            long active = activeByEvent.getOrDefault(eventId, 0L);
+            if (active != reserved) {
+                violations.add("Event " + eventId + " has " + reserved + " reserved but " + active
+                        + " in active reservations");
+            }
+            long granted = clientTickets.getOrDefault(eventId, 0L);
+            if (granted > total) {
+                violations.add("Buyers were granted " + granted + " tickets for event " + eventId
+                        + " with capacity " + total);
+            }
+        });
+    }
+
+    private void checkHolds(List<String> violations) {
+        Map<String, String> holdStatus = new HashMap<>();
+        events.query("SELECT hold_id, status FROM capacity_holds", rs -> {
+            holdStatus.put(rs.getString(1), rs.getString(2));
+        });
+        Set<String> referenced = new HashSet<>();
+        reservations.query("SELECT reservation_id, status, hold_id FROM reservations WHERE status IN " + ACTIVE, rs -> {
+            String reservationId = rs.getString(1);
+            String status = rs.getString(2);
+            String holdId = rs.getString(3);
+            referenced.add(holdId);
+            String expected = "PENDING".equals(status) ? "HELD" : "CONFIRMED";
+            if (!expected.equals(holdStatus.get(holdId))) {
+                violations.add("Reservation " + reservationId + " is " + status + " but its hold " + holdId
+                        + " is " + holdStatus.get(holdId));
+            }
+        });
+        holdStatus.forEach((holdId, status) -> {
+            if (("HELD".equals(status) || "CONFIRMED".equals(status)) && !referenced.contains(holdId)) {
+                violations.add("Hold " + holdId + " is " + status + " without an active reservation");
+            }
+        });
+    }
+
+    private void checkTicketLimits(List<String> violations) {
+        Map<String, Long> active = new HashMap<>();
+        reservations.query("SELECT user_id, event_id, SUM(quantity) FROM reservations WHERE status IN " + ACTIVE
+                + " GROUP BY user_id, event_id", rs -> {
+            String key = rs.getLong(1) + "/" + rs.getLong(2);
+            long quantity = rs.getLong(3);
+            active.put(key, quantity);
+            if (quantity > maxTicketsPerUser) {
+                violations.add("User " + rs.getLong(1) + " holds " + quantity + " tickets for event "
+                        + rs.getLong(2) + ", limit " + maxTicketsPerUser);
+            }
+        });
+        Set<String> counted = new HashSet<>();
+        reservations.query("SELECT user_id, event_id, active_quantity FROM user_ticket_counts", rs -> {
+            String key = rs.getLong(1) + "/" + rs.getLong(2);
+            counted.add(key);
+            long actual = active.getOrDefault(key, 0L);
+            if (rs.getLong(3) != actual) {
+                violations.add("Ticket counter for user/event " + key + " is " + rs.getLong(3)
+                        + " but active reservations hold " + actual);
+            }
+        });
+        active.forEach((key, quantity) -> {
+            if (!counted.contains(key)) {
+                violations.add("No ticket counter for user/event " + key + " holding " + quantity);
+            }
+        });
+    }
+
+    private void checkPayments(List<String> violations) {
+        Map<String, String> reservationStatus = new HashMap<>();
+        reservations.query("SELECT reservation_id, status FROM reservations", rs -> {
+            reservationStatus.put(rs.getString(1), rs.getString(2));
+        });
+
+        Set<String> paid = new HashSet<>();
+        payments.query("SELECT reservation_id, COUNT(*) FROM payments WHERE status = 'SUCCEEDED'"
+                + " GROUP BY reservation_id", rs -> {
+            String reservationId = rs.getString(1);
+            paid.add(reservationId);
+            if (rs.getLong(2) > 1) {
+                violations.add("Reservation " + reservationId + " was paid " + rs.getLong(2) + " times");
+            }
+            if (!"CONFIRMED".equals(reservationStatus.get(reservationId))) {
+                violations.add("Reservation " + reservationId + " was paid but is "
+                        + reservationStatus.get(reservationId));
+            }
+        });
+        reservationStatus.forEach((reservationId, status) -> {
+            if ("CONFIRMED".equals(status) && !paid.contains(reservationId)) {
+                violations.add("Reservation " + reservationId + " is CONFIRMED without a successful payment");
+            }
+        });
+        payments.query("SELECT payment_id, status FROM payments WHERE status NOT IN ('SUCCEEDED', 'FAILED')", rs -> {
+            String paymentId = rs.getString(1);
+            violations.add("Payment " + paymentId + " never settled, still " + rs.getString(2));
+        });
+    }
+}
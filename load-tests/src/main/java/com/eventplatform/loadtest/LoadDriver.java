@@ -0,0 +1,237 @@
+package com.eventplatform.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives the checkout every buyer goes through: reserve, then (for the share of buyers who pay)
+ * create a payment intent, capture it and poll until the payment settles; a declined payment
+ * cancels its reservation, an unpaid one is abandoned with its hold in place. Buyers run on a
+ * fixed pool of {@code concurrency} threads, and the requests of one buyer are submitted next to
+ * each other so they race for that buyer's ticket limit.
+ */
+@Slf4j
+class LoadDriver {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final long POLL_INTERVAL_MS = 10;
+
+    private final Scenario scenario;
+    private final ServiceCluster cluster;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    final StepStats reserve = new StepStats("reserve");
+    final StepStats intent = new StepStats("intent");
+    final StepStats capture = new StepStats("capture");
+    final StepStats settle = new StepStats("settle");
+    final StepStats cancel = new StepStats("cancel");
+    final StepStats checkout = new StepStats("checkout");
+
+    private final Map<String, LongAdder> checkouts = new ConcurrentHashMap<>();
+    // Tickets the driver holds per event: granted reservations minus the ones it cancelled
+    private final Map<Long, LongAdder> liveTickets = new ConcurrentHashMap<>();
+
+    LoadDriver(Scenario scenario, ServiceCluster cluster) {
+        this.scenario = scenario;
+        this.cluster = cluster;
+    }
+
+    /**
+     * Runs every buyer to completion and returns the wall-clock time it took.
+     */
+    Duration run(List<Long> eventIds) throws InterruptedException {
+        ExecutorService buyers = Executors.newFixedThreadPool(scenario.concurrency());
+        long start = System.nanoTime();
+        for (int buyer = 0; buyer < scenario.buyers(); buyer++) {
+            long userId = buyer + 1;
+            SplittableRandom random = new SplittableRandom(scenario.seed() + buyer);
+            long eventId = pickEvent(eventIds, random);
+            for (int attempt = 0; attempt < scenario.requestsPerBuyer(); attempt++) {
+                boolean pays = random.nextDouble() < scenario.payRate();
+                String key = "load-" + buyer + "-" + attempt;
+                buyers.execute(() -> checkout(userId, eventId, pays, key));
+            }
+        }
+        buyers.shutdown();
+        if (!buyers.awaitTermination(1, TimeUnit.HOURS)) {
+            buyers.shutdownNow();
+            throw new IllegalStateException("Buyers did not finish within an hour");
+        }
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+
+    Map<String, Long> checkoutOutcomes() {
+        Map<String, Long> counts = new TreeMap<>();
+        checkouts.forEach((outcome, count) -> counts.put(outcome, count.sum()));
+        return counts;
+    }
+
+    Map<Long, Long> liveTickets() {
+        Map<Long, Long> tickets = new TreeMap<>();
+        liveTickets.forEach((eventId, count) -> tickets.put(eventId, count.sum()));
+        return tickets;
+    }
+
+    List<StepStats> steps() {
+        return List.of(reserve, intent, capture, settle, cancel, checkout);
+    }
+
+    private long pickEvent(List<Long> eventIds, SplittableRandom random) {
+        if (eventIds.size() == 1 || random.nextDouble() < scenario.hotEventShare()) {
+            return eventIds.get(0);
+        }
+        return eventIds.get(1 + random.nextInt(eventIds.size() - 1));
+    }
+
+    private void checkout(long userId, long eventId, boolean pays, String key) {
+        long start = System.nanoTime();
+        String outcome;
+        try {
+            outcome = doCheckout(userId, eventId, pays, key);
+        } catch (RuntimeException e) {
+            log.warn("Checkout {} failed", key, e);
+            outcome = "error";
+        }
+        checkout.record(outcome, start);
+        checkouts.computeIfAbsent(outcome, o -> new LongAdder()).increment();
+    }
+
+    private String doCheckout(long userId, long eventId, boolean pays, String key) {
+        String reservations = cluster.url(ServiceCluster.RESERVATION_SERVICE) + "/reservations";
+        String payments = cluster.url(ServiceCluster.PAYMENT_SERVICE) + "/payments";
+
+        long start = System.nanoTime();
+        Response reserved = post(reservations, Map.of(
+                "userId", userId, "eventId", eventId, "quantity", scenario.quantity(), "idempotencyKey", key));
+        reserve.record(reserved.outcome(), start);
+        if (reserved.status() != 201) {
+            // Sold out and over-the-limit answers are 400s; anything else is an error
+            return reserved.status() == 400 ? "rejected" : "error";
+        }
+        String reservationId = reserved.body().path("reservationId").asText();
+        liveTickets.computeIfAbsent(eventId, id -> new LongAdder()).add(scenario.quantity());
+        if (!pays) {
+            return "abandoned";
+        }
+
+        start = System.nanoTime();
+        Response intended = post(payments + "/intents", Map.of(
+                "reservationId", reservationId, "userId", userId,
+                "amount", reserved.body().path("totalPrice").decimalValue(),
+                "currency", "USD", "paymentMethod", "CARD", "idempotencyKey", key));
+        intent.record(intended.outcome(), start);
+        if (intended.status() != 201) {
+            return "error";
+        }
+
+        start = System.nanoTime();
+        Response captured = post(payments + "/intents/" + intended.body().path("intentId").asText()
+                + "/capture?idempotencyKey=" + key, null);
+        capture.record(captured.outcome(), start);
+        if (captured.status() != 202) {
+            return "error";
+        }
+
+        String status = awaitSettled(payments + "/" + captured.body().path("paymentId").asText(), start);
+        if ("SUCCEEDED".equals(status)) {
+            return "paid";
+        }
+        if (!"FAILED".equals(status)) {
+            return "error";
+        }
+
+        start = System.nanoTime();
+        Response cancelled = post(reservations + "/" + reservationId + "/cancel", null);
+        cancel.record(cancelled.outcome(), start);
+        if (cancelled.status() == 200) {
+            liveTickets.get(eventId).add(-scenario.quantity());
+        }
+        return "declined";
+    }
+
+    private String awaitSettled(String paymentUrl, long captureStart) {
+        long deadline = captureStart + scenario.paymentTimeout().toNanos();
+        while (System.nanoTime() < deadline) {
+            Response payment = get(paymentUrl);
+            String status = payment.body() != null ? payment.body().path("status").asText() : "";
+            if ("SUCCEEDED".equals(status) || "FAILED".equals(status)) {
+                settle.record(status, captureStart);
+                return status;
+            }
+            try {
+                Thread.sleep(POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        settle.record("timeout", captureStart);
+        return "TIMEOUT";
+    }
+
+    private Response post(String url, Object body) {
+        try {
+            HttpRequest.BodyPublisher publisher = body != null
+                    ? HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body))
+                    : HttpRequest.BodyPublishers.noBody();
+            return send(HttpRequest.newBuilder(URI.create(url))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(publisher)
+                    .build());
+        } catch (IOException e) {
+            return Response.failed(e);
+        }
+    }
+
+    private Response get(String url) {
+        return send(HttpRequest.newBuilder(URI.create(url)).timeout(REQUEST_TIMEOUT).GET().build());
+    }
+
+    private Response send(HttpRequest request) {
+        try {
+            HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            JsonNode body = response.body().length > 0 ? objectMapper.readTree(response.body()) : null;
+            return new Response(response.statusCode(), body);
+        } catch (IOException e) {
+            return Response.failed(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Response.failed(e);
+        }
+    }
+
+    private record Response(int status, JsonNode body) {
+
+        static Response failed(Exception e) {
+            log.debug("Request failed", e);
+            return new Response(-1, null);
+        }
+
+        String outcome() {
+            return status < 0 ? "io" : String.valueOf(status);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.eventplatform.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Simulates a ticket drop without the docker-compose stack: boots event-, reservation- and
+ * payment-service in this JVM on an embedded PostgreSQL, seeds and publishes the events, lets the
+ * buyers loose and checks the databases for overselling once every payment has settled.
+ * <pre>
+ *   java -jar load-tests/target/load-tests.jar --buyers=5000 --events=3 --capacity=1000 \
+ *       --hot-event-share=0.9 --requests-per-buyer=2 --event-service:capacity.ledger.enabled=true
+ * </pre>
+ * Exits with status 1 when an invariant was violated. {@code capacity} instead compares the
+ * concurrent-request capacity of platform and virtual threads, see {@link ConcurrencyCapacity}, and
+ * {@code search} times event search over a large catalogue, see {@link SearchBenchmark}.
+ */
+@Slf4j
+public final class LoadTestApplication {
+
+    private static final long SETTLE_POLL_MS = 100;
+
+    private LoadTestApplication() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && "capacity".equals(args[0])) {
+            System.exit(ConcurrencyCapacity.run(Arrays.copyOfRange(args, 1, args.length)));
+        }
+        if (args.length > 0 && "search".equals(args[0])) {
+            System.exit(SearchBenchmark.run(Arrays.copyOfRange(args, 1, args.length)));
+        }
+
+        Scenario scenario = Scenario.parse(args);
+        int status;
+        try (ServiceCluster cluster = ServiceCluster.start(scenario)) {
+            List<Long> eventIds = cluster.publishEvents(scenario.events(), scenario.capacity());
+            LoadDriver driver = new LoadDriver(scenario, cluster);
+            log.info("Seeded events {}, starting {} buyers", eventIds, scenario.buyers());
+
+            Duration elapsed = driver.run(eventIds);
+            awaitSettled(cluster, scenario.paymentTimeout());
+
+            List<String> violations = new InvariantChecker(cluster).check(driver.liveTickets());
+            LoadTestReport report = new LoadTestReport(scenario, eventIds, elapsed, driver, violations);
+            report.print(System.out);
+            report.write(Path.of(scenario.resultFile()));
+            log.info("Results written to {}", scenario.resultFile());
+            status = violations.isEmpty() ? 0 : 1;
+        }
+        System.exit(status);
+    }
+
+    /**
+     * Buyers that gave up polling leave captures running; wait for them so the invariants are
+     * checked against final states.
+     */
+    private static void awaitSettled(ServiceCluster cluster, Duration timeout) throws InterruptedException {
+        JdbcTemplate payments = new JdbcTemplate(cluster.dataSource(ServiceCluster.PAYMENT_DB));
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            Integer processing = payments.queryForObject(
+                    "SELECT COUNT(*) FROM payments WHERE status = 'PROCESSING'", Integer.class);
+            if (cluster.paymentCapturesIdle() && processing != null && processing == 0) {
+                return;
+            }
+            Thread.sleep(SETTLE_POLL_MS);
+        }
+        log.warn("Payments still processing after {}", timeout);
+    }
+}
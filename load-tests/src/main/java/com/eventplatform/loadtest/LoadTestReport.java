@@ -0,0 +1,110 @@
+package com.eventplatform.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Throughput, latency percentiles and invariant violations of one run, printed as a table and
+ * written as JSON so runs against different commits can be compared.
+ */
+class LoadTestReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Scenario scenario;
+    private final List<Long> eventIds;
+    private final Duration elapsed;
+    private final LoadDriver driver;
+    private final List<String> violations;
+
+    LoadTestReport(Scenario scenario, List<Long> eventIds, Duration elapsed, LoadDriver driver, List<String> violations) {
+        this.scenario = scenario;
+        this.eventIds = eventIds;
+        this.elapsed = elapsed;
+        this.driver = driver;
+        this.violations = violations;
+    }
+
+    void print(PrintStream out) {
+        double seconds = seconds();
+        out.printf("%nOn-sale run: %d buyers x %d requests, %d events of %d seats (hot event %d takes %.0f%%), "
+                        + "concurrency %d%n", scenario.buyers(), scenario.requestsPerBuyer(), scenario.events(),
+                scenario.capacity(), eventIds.get(0), scenario.hotEventShare() * 100, scenario.concurrency());
+        out.printf("Elapsed %.2fs, %.1f checkouts/s, outcomes %s%n%n", seconds, driver.checkout.count() / seconds,
+                driver.checkoutOutcomes());
+
+        out.printf("%-10s %8s %9s %9s %9s %9s %9s %9s  %s%n",
+                "Step", "Count", "Rate/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "Max ms", "Outcomes");
+        for (StepStats step : driver.steps()) {
+            if (step.count() == 0) {
+                continue;
+            }
+            out.printf("%-10s %8d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f  %s%n", step.name(), step.count(),
+                    step.count() / seconds, step.percentileMillis(50), step.percentileMillis(90),
+                    step.percentileMillis(99), step.percentileMillis(99.9), step.maxMillis(), step.outcomes());
+        }
+
+        out.printf("%nTickets held per event: %s%n", driver.liveTickets());
+        if (violations.isEmpty()) {
+            out.println("Invariants: no violations");
+        } else {
+            out.printf("Invariants: %d violations%n", violations.size());
+            violations.forEach(violation -> out.println("  " + violation));
+        }
+    }
+
+    void write(Path file) throws IOException {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("buyers", scenario.buyers());
+        settings.put("events", scenario.events());
+        settings.put("capacity", scenario.capacity());
+        settings.put("hotEventShare", scenario.hotEventShare());
+        settings.put("concurrency", scenario.concurrency());
+        settings.put("quantity", scenario.quantity());
+        settings.put("requestsPerBuyer", scenario.requestsPerBuyer());
+        settings.put("payRate", scenario.payRate());
+        settings.put("seed", scenario.seed());
+        settings.put("serviceProperties", scenario.serviceProperties());
+
+        Map<String, Object> steps = new LinkedHashMap<>();
+        for (StepStats step : driver.steps()) {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("count", step.count());
+            stats.put("ratePerSecond", step.count() / seconds());
+            for (double percentile : PERCENTILES) {
+                stats.put("p" + (percentile % 1 == 0 ? String.valueOf((int) percentile) : String.valueOf(percentile))
+                        + "Ms", step.percentileMillis(percentile));
+            }
+            stats.put("maxMs", step.maxMillis());
+            stats.put("outcomes", step.outcomes());
+            steps.put(step.name(), stats);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("scenario", settings);
+        report.put("eventIds", eventIds);
+        report.put("elapsedSeconds", seconds());
+        report.put("checkoutsPerSecond", driver.checkout.count() / seconds());
+        report.put("checkouts", driver.checkoutOutcomes());
+        report.put("steps", steps);
+        report.put("ticketsHeld", driver.liveTickets());
+        report.put("violations", violations);
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+    }
+
+    private double seconds() {
+        return elapsed.toNanos() / 1e9;
+    }
+}
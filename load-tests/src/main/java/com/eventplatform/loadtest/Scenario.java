@@ -0,0 +1,50 @@
+package com.eventplatform.loadtest;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * One on-sale run: how many buyers go after how many events, how skewed the demand is and how
+ * buyers behave at checkout, and whether the services run on virtual threads (Java 21). Built
+ * from {@code --name=value} arguments, see {@link Arguments}.
+ */
+record Scenario(
+        int buyers,
+        int events,
+        int capacity,
+        double hotEventShare,
+        int concurrency,
+        int quantity,
+        int requestsPerBuyer,
+        double payRate,
+        Duration paymentTimeout,
+        long seed,
+        boolean virtualThreads,
+        String resultFile,
+        Map<String, Map<String, String>> serviceProperties) {
+
+    static Scenario parse(String[] args) {
+        Arguments arguments = Arguments.parse(args);
+        Scenario scenario = new Scenario(
+                Integer.parseInt(arguments.get("buyers", "2000")),
+                Integer.parseInt(arguments.get("events", "5")),
+                Integer.parseInt(arguments.get("capacity", "500")),
+                Double.parseDouble(arguments.get("hot-event-share", "0.8")),
+                Integer.parseInt(arguments.get("concurrency", "64")),
+                Integer.parseInt(arguments.get("quantity", "2")),
+                Integer.parseInt(arguments.get("requests-per-buyer", "1")),
+                Double.parseDouble(arguments.get("pay-rate", "0.9")),
+                Duration.ofSeconds(Long.parseLong(arguments.get("payment-timeout-seconds", "30"))),
+                Long.parseLong(arguments.get("seed", "42")),
+                Boolean.parseBoolean(arguments.get("virtual-threads", "false")),
+                arguments.get("result-file", "target/load-test-result.json"),
+                arguments.serviceProperties());
+        if (scenario.buyers < 1 || scenario.events < 1 || scenario.concurrency < 1 || scenario.requestsPerBuyer < 1) {
+            throw new IllegalArgumentException("buyers, events, concurrency and requests-per-buyer must be positive");
+        }
+        if (scenario.hotEventShare < 0 || scenario.hotEventShare > 1 || scenario.payRate < 0 || scenario.payRate > 1) {
+            throw new IllegalArgumentException("hot-event-share and pay-rate must be between 0 and 1");
+        }
+        return scenario;
+    }
+}
@@ -0,0 +1,196 @@
+package com.eventplatform.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Event search latency over a large synthetic catalogue: filtered and sorted pages (one
+ * Specification query plus its count), search terms (ranked full-text search, or LIKE with
+ * {@code --event-service:search.full-text.enabled=false}), a deep OFFSET page, and keyset
+ * scrolling down to the same depth. The catalogue is generated in PostgreSQL, so a million events take seconds, not a
+ * million requests; the services' own migrations provide the indexes.
+ * <pre>
+ *   java -jar load-tests/target/load-tests.jar search --events=1000000 --iterations=50
+ * </pre>
+ */
+@Slf4j
+final class SearchBenchmark {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+    private static final int PAGE_SIZE = 20;
+
+    private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, StepStats> queries = new LinkedHashMap<>();
+    private final String eventsUrl;
+    private final int iterations;
+
+    private SearchBenchmark(String eventsUrl, int iterations) {
+        this.eventsUrl = eventsUrl;
+        this.iterations = iterations;
+    }
+
+    static int run(String[] args) throws Exception {
+        Arguments arguments = Arguments.parse(args);
+        int events = Integer.parseInt(arguments.get("events", "1000000"));
+        int iterations = Integer.parseInt(arguments.get("iterations", "50"));
+        int scrollPages = Integer.parseInt(arguments.get("scroll-pages", "500"));
+        String resultFile = arguments.get("result-file", "target/search-result.json");
+
+        try (ServiceCluster cluster = ServiceCluster.start(false, 42L, arguments.serviceProperties())) {
+            long start = System.nanoTime();
+            generateCatalogue(new JdbcTemplate(cluster.dataSource(ServiceCluster.EVENT_DB)), events);
+            log.info("Generated {} events in {}s", events, (System.nanoTime() - start) / 1_000_000_000);
+
+            SearchBenchmark benchmark = new SearchBenchmark(
+                    cluster.url(ServiceCluster.EVENT_SERVICE) + "/events", iterations);
+            benchmark.measure(scrollPages);
+
+            Map<String, Object> settings = new LinkedHashMap<>();
+            settings.put("events", events);
+            settings.put("iterations", iterations);
+            settings.put("scrollPages", scrollPages);
+            settings.put("fullTextSearch", cluster.property(ServiceCluster.EVENT_SERVICE, "search.full-text.enabled"));
+            settings.put("serviceProperties", arguments.serviceProperties());
+            benchmark.print(settings);
+            benchmark.write(Path.of(resultFile), settings);
+            log.info("Results written to {}", resultFile);
+        }
+        return 0;
+    }
+
+    /**
+     * 80% published, spread over 20 cities, 5 types, two years of dates and 200 price points.
+     */
+    private static void generateCatalogue(JdbcTemplate events, int count) {
+        events.update("""
+                INSERT INTO events (title, description, event_type, venue, city, country, start_date, capacity,
+                                    price, organizer_id, status, created_at, updated_at)
+                SELECT (ARRAY['Jazz', 'Rock', 'Spring Boot', 'Kotlin', 'Data', 'Cloud', 'Startup', 'Design',
+                              'Marathon', 'Comedy'])[1 + g % 10]
+                           || ' ' || (ARRAY['Night', 'Summit', 'Workshop', 'Meetup', 'Festival', 'Conference',
+                                            'Live', 'Weekend'])[1 + (g / 10) % 8] || ' ' || g,
+                       'Synthetic catalogue event ' || g || ' for the search benchmark',
+                       (ARRAY['CONFERENCE', 'WORKSHOP', 'MEETUP', 'SEMINAR', 'WEBINAR'])[1 + g % 5],
+                       'Venue ' || g % 500,
+                       (ARRAY['Berlin', 'Paris', 'London', 'Madrid', 'Rome', 'Vienna', 'Prague', 'Lisbon',
+                              'Dublin', 'Oslo', 'Stockholm', 'Helsinki', 'Warsaw', 'Budapest', 'Athens',
+                              'Zurich', 'Amsterdam', 'Brussels', 'Copenhagen', 'Munich'])[1 + (g / 7) % 20],
+                       'EU',
+                       now() + make_interval(days => g % 730, hours => g % 24),
+                       100 + g % 900,
+                       (g % 200) + 0.99,
+                       1 + g % 1000,
+                       CASE WHEN g % 10 < 8 THEN 'PUBLISHED' ELSE 'DRAFT' END,
+                       now(), now()
+                FROM generate_series(1, ?) AS g
+                """, count);
+        events.update("""
+                INSERT INTO event_capacity (event_id, total_capacity, reserved_capacity, available_capacity)
+                SELECT id, capacity, 0, capacity FROM events
+                """);
+        events.execute("ANALYZE events");
+        events.execute("ANALYZE event_capacity");
+    }
+
+    private void measure(int scrollPages) throws IOException, InterruptedException {
+        // Warm up the JIT and the connection pool on a query that is not measured
+        for (int i = 0; i < iterations; i++) {
+            get("warm-up", "?city=Oslo&page=" + i);
+        }
+        queries.clear();
+
+        repeat("city", "?city=Berlin");
+        repeat("city+type by price", "?city=Berlin&eventType=WORKSHOP&sortBy=price&sortDirection=DESC");
+        repeat("from date by title", "?startDate=2027-01-01T00:00:00&endDate=2027-02-01T00:00:00&sortBy=title");
+        repeat("term", "?searchTerm=jazz");
+        repeat("term prefix", "?searchTerm=spring%20boo");
+        repeat("term misspelt", "?searchTerm=marathn");
+        repeat("term + city", "?searchTerm=festival&city=Lisbon");
+        repeat("offset page 1", "?page=1");
+        repeat("offset page " + scrollPages, "?page=" + scrollPages);
+
+        // Follow nextCursor down to the same depth as the deep OFFSET page, then re-read that page
+        String cursor = null;
+        for (int page = 0; page < scrollPages; page++) {
+            String query = cursor != null ? "/scroll?cursor=" + encode(cursor) : "/scroll";
+            JsonNode response = get("scroll (each page)", query);
+            cursor = response.path("nextCursor").asText(null);
+            if (cursor == null) {
+                break;
+            }
+        }
+        if (cursor != null) {
+            repeat("keyset page " + scrollPages, "/scroll?cursor=" + encode(cursor));
+        }
+    }
+
+    private void repeat(String name, String query) throws IOException, InterruptedException {
+        for (int i = 0; i < iterations; i++) {
+            get(name, query);
+        }
+    }
+
+    private JsonNode get(String name, String query) throws IOException, InterruptedException {
+        String url = eventsUrl + query + (query.contains("?") ? "&" : "?") + "size=" + PAGE_SIZE;
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(REQUEST_TIMEOUT).GET().build();
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        queries.computeIfAbsent(name, StepStats::new).record(String.valueOf(response.statusCode()), start);
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(name + " answered " + response.statusCode() + ": "
+                    + new String(response.body(), StandardCharsets.UTF_8));
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private void print(Map<String, Object> settings) {
+        System.out.printf("%nEvent search over %s events, %s runs per query, full-text search %s%n%n",
+                settings.get("events"), iterations, settings.get("fullTextSearch"));
+        System.out.printf("%-24s %8s %9s %9s %9s %9s%n", "Query", "Count", "p50 ms", "p90 ms", "p99 ms", "Max ms");
+        for (StepStats query : queries.values()) {
+            System.out.printf("%-24s %8d %9.2f %9.2f %9.2f %9.2f%n", query.name(), query.count(),
+                    query.percentileMillis(50), query.percentileMillis(90), query.percentileMillis(99),
+                    query.maxMillis());
+        }
+    }
+
+    private void write(Path file, Map<String, Object> settings) throws IOException {
+        Map<String, Object> results = new LinkedHashMap<>();
+        for (StepStats query : queries.values()) {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("count", query.count());
+            stats.put("p50Ms", query.percentileMillis(50));
+            stats.put("p90Ms", query.percentileMillis(90));
+            stats.put("p99Ms", query.percentileMillis(99));
+            stats.put("maxMs", query.maxMillis());
+            results.put(query.name(), stats);
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("settings", settings);
+        report.put("queries", results);
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+    }
+}
@@ -0,0 +1,204 @@
+package com.eventplatform.loadtest;
+
+import com.eventplatform.event.EventServiceApplication;
+import com.eventplatform.event.dto.CreateEventRequest;
+import com.eventplatform.event.service.EventService;
+import com.eventplatform.payment.PaymentServiceApplication;
+import com.eventplatform.payment.config.PaymentExecutorConfig;
+import com.eventplatform.reservation.ReservationServiceApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * event-, reservation- and payment-service booted in this JVM, each with its own database in one
+ * embedded PostgreSQL. Each service reads its config-server yml; the overrides switch off the
+ * config server and Eureka, point Feign at the sibling services through the simple discovery
+ * client, and keep the saga on direct calls unless the service properties switch Kafka events on.
+ *
+ * <p>Schemas come from the services' own Flyway migrations followed by Hibernate's
+ * {@code ddl-auto: update}, as in the deployed services.
+ */
+@Slf4j
+class ServiceCluster implements AutoCloseable {
+
+    static final String EVENT_SERVICE = "event-service";
+    static final String RESERVATION_SERVICE = "reservation-service";
+    static final String PAYMENT_SERVICE = "payment-service";
+
+    static final String EVENT_DB = "eventdb";
+    static final String RESERVATION_DB = "reservationdb";
+    static final String PAYMENT_DB = "paymentdb";
+
+    private final EmbeddedPostgres postgres;
+    private final boolean virtualThreads;
+    private final Map<String, Map<String, String>> serviceProperties;
+    private final Map<String, ConfigurableApplicationContext> services = new LinkedHashMap<>();
+    private final Map<String, String> urls = new LinkedHashMap<>();
+
+    private ServiceCluster(EmbeddedPostgres postgres, boolean virtualThreads,
+            Map<String, Map<String, String>> serviceProperties) {
+        this.postgres = postgres;
+        this.virtualThreads = virtualThreads;
+        this.serviceProperties = serviceProperties;
+    }
+
+    static ServiceCluster start(Scenario scenario) throws IOException {
+        return start(scenario.virtualThreads(), scenario.seed(), scenario.serviceProperties());
+    }
+
+    static ServiceCluster start(boolean virtualThreads, long seed, Map<String, Map<String, String>> serviceProperties)
+            throws IOException {
+        log.info("Starting embedded PostgreSQL");
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder()
+                .setServerConfig("max_connections", "300")
+                .start();
+        ServiceCluster cluster = new ServiceCluster(postgres, virtualThreads, serviceProperties);
+        try {
+            JdbcTemplate admin = new JdbcTemplate(postgres.getPostgresDatabase());
+            for (String database : List.of(EVENT_DB, RESERVATION_DB, PAYMENT_DB)) {
+                admin.execute("CREATE DATABASE " + database);
+            }
+            cluster.boot(EVENT_SERVICE, EventServiceApplication.class, EVENT_DB, Map.of());
+            cluster.boot(RESERVATION_SERVICE, ReservationServiceApplication.class, RESERVATION_DB, Map.of(
+                    "feature.event-integration", "true",
+                    "event-service.stub.enabled", "false"));
+            cluster.boot(PAYMENT_SERVICE, PaymentServiceApplication.class, PAYMENT_DB, Map.of(
+                    "feature.reservation-integration", "true",
+                    // Provider latency scaled from seconds to milliseconds so a run is bound by the services
+                    "payment.provider.simulator.seed", String.valueOf(seed),
+                    "payment.provider.simulator.latency.min-ms", "5",
+                    "payment.provider.simulator.latency.p50-ms", "20",
+                    "payment.provider.simulator.latency.p90-ms", "50",
+                    "payment.provider.simulator.latency.p99-ms", "80",
+                    "payment.provider.simulator.latency.max-ms", "100"));
+            cluster.clearSampleData();
+            return cluster;
+        } catch (RuntimeException e) {
+            cluster.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Creates and publishes events through event-service's own service layer; the first one
+     * returned is the hot event.
+     */
+    List<Long> publishEvents(int count, int capacity) {
+        EventService eventService = services.get(EVENT_SERVICE).getBean(EventService.class);
+        List<Long> eventIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            CreateEventRequest request = new CreateEventRequest();
+            request.setTitle("On-sale load test " + (i + 1));
+            request.setEventType("CONCERT");
+            request.setVenue("Load Test Arena");
+            request.setCity("Berlin");
+            request.setStartDate(LocalDateTime.now().plusDays(30));
+            request.setCapacity(capacity);
+            request.setPrice(new BigDecimal("49.90"));
+            request.setOrganizerId(1L);
+            Long eventId = eventService.createEvent(request).getId();
+            eventService.publishEvent(eventId);
+            eventIds.add(eventId);
+        }
+        return eventIds;
+    }
+
+    String url(String service) {
+        return urls.get(service);
+    }
+
+    DataSource dataSource(String database) {
+        return postgres.getDatabase("postgres", database);
+    }
+
+    String property(String service, String key) {
+        return services.get(service).getEnvironment().getProperty(key);
+    }
+
+    <T> T bean(String service, Class<T> type) {
+        return services.get(service).getBean(type);
+    }
+
+    /**
+     * True once payment-service has no capture queued or running, so every outcome (and the
+     * reservation confirm that follows it) has been written.
+     */
+    boolean paymentCapturesIdle() {
+        ThreadPoolTaskExecutor executor = services.get(PAYMENT_SERVICE)
+                .getBean(PaymentExecutorConfig.CAPTURE_EXECUTOR, ThreadPoolTaskExecutor.class);
+        return executor.getActiveCount() == 0 && executor.getThreadPoolExecutor().getQueue().isEmpty();
+    }
+
+    /**
+     * The services' V1 migrations insert a few sample rows that do not add up across services
+     * (reservations without holds, payments in legacy states); the run starts without them.
+     */
+    private void clearSampleData() {
+        new JdbcTemplate(dataSource(EVENT_DB)).execute("TRUNCATE events, event_capacity RESTART IDENTITY CASCADE");
+        new JdbcTemplate(dataSource(RESERVATION_DB))
+                .execute("TRUNCATE reservations, reservation_items, user_ticket_counts RESTART IDENTITY");
+        new JdbcTemplate(dataSource(PAYMENT_DB)).execute("TRUNCATE payment_intents, payments RESTART IDENTITY");
+    }
+
+    private void boot(String name, Class<?> application, String database, Map<String, String> defaults) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("spring.config.location", "classpath:service-config/" + name + ".yml");
+        properties.put("spring.cloud.config.enabled", "false");
+        properties.put("spring.cloud.config.import-check.enabled", "false");
+        properties.put("eureka.client.enabled", "false");
+        properties.put("server.port", "0");
+        properties.put("spring.datasource.url", postgres.getJdbcUrl("postgres", database));
+        properties.put("spring.flyway.locations", "classpath:service-migrations/" + name);
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("feature.kafka-events", "false");
+        properties.put("tracing.export.enabled", "false");
+        // Only takes effect on Java 21; the services' own application.yml is not read here
+        properties.put("spring.threads.virtual.enabled", String.valueOf(virtualThreads));
+        // Per-request INFO logging would dominate the run
+        properties.put("logging.level.com.eventplatform", "WARN");
+        urls.forEach((service, url) ->
+                properties.put("spring.cloud.discovery.client.simple.instances." + service + "[0].uri", url));
+        properties.putAll(defaults);
+        properties.putAll(serviceProperties.getOrDefault(name, Map.of()));
+
+        List<String> args = new ArrayList<>();
+        properties.forEach((key, value) -> args.add("--" + key + "=" + value));
+
+        log.info("Starting {}", name);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(application)
+                .run(args.toArray(String[]::new));
+        services.put(name, context);
+        urls.put(name, "http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+        log.info("{} listening on {}", name, urls.get(name));
+    }
+
+    @Override
+    public void close() {
+        List<String> names = new ArrayList<>(services.keySet());
+        for (int i = names.size() - 1; i >= 0; i--) {
+            try {
+                services.get(names.get(i)).close();
+            } catch (RuntimeException e) {
+                log.warn("Failed to stop {}", names.get(i), e);
+            }
+        }
+        try {
+            postgres.close();
+        } catch (IOException e) {
+            log.warn("Failed to stop embedded PostgreSQL", e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.eventplatform.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and outcomes of one checkout step. Latency is recorded for every call, whatever the
+ * outcome; outcomes are counted by HTTP status ("io" when no response arrived).
+ */
+class StepStats {
+
+    private final String name;
+    private final Histogram latencyMicros = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(5), 3);
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+    StepStats(String name) {
+        this.name = name;
+    }
+
+    void record(String outcome, long startNanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        latencyMicros.recordValue(Math.min(micros, latencyMicros.getHighestTrackableValue()));
+        outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    }
+
+    String name() {
+        return name;
+    }
+
+    long count() {
+        return latencyMicros.getTotalCount();
+    }
+
+    Map<String, Long> outcomes() {
+        Map<String, Long> counts = new TreeMap<>();
+        outcomes.forEach((outcome, count) -> counts.put(outcome, count.sum()));
+        return counts;
+    }
+
+    double percentileMillis(double percentile) {
+        return latencyMicros.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    double maxMillis() {
+        return latencyMicros.getMaxValue() / 1000.0;
+    }
+}
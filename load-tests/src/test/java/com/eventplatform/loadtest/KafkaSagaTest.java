@@ -0,0 +1,191 @@
+package com.eventplatform.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.condition.EmbeddedKafkaCondition;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * The reservation saga over Kafka: outbox relays, the three listeners and their handling of
+ * redelivered messages. Payment confirms the reservation through PaymentSucceeded, and a
+ * cancellation returns the hold through ReservationCancelled, without the direct calls the
+ * other tests use.
+ */
+@EmbeddedKafka(partitions = 1, topics = {KafkaSagaTest.RESERVATION_EVENTS, KafkaSagaTest.PAYMENT_EVENTS})
+class KafkaSagaTest {
+
+    static final String RESERVATION_EVENTS = "reservation-events";
+    static final String PAYMENT_EVENTS = "payment-events";
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final int CAPACITY = 10;
+
+    private static final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static ServiceCluster cluster;
+    private static KafkaTemplate<String, String> kafkaTemplate;
+    private static JdbcTemplate events;
+    private static JdbcTemplate reservations;
+    private static JdbcTemplate payments;
+
+    @BeforeAll
+    static void startCluster() throws Exception {
+        EmbeddedKafkaBroker broker = EmbeddedKafkaCondition.getBroker();
+        Map<String, String> kafka = Map.of(
+                "feature.kafka-events", "true",
+                "spring.kafka.bootstrap-servers", broker.getBrokersAsString(),
+                "outbox.topic.partitions", "1",
+                "outbox.relay.interval-ms", "100",
+                // Every capture succeeds, so the saga does not depend on the simulator's seed
+                "payment.provider.simulator.decline-rate", "0");
+        Map<String, Map<String, String>> properties = new LinkedHashMap<>();
+        for (String service : List.of(ServiceCluster.EVENT_SERVICE, ServiceCluster.RESERVATION_SERVICE,
+                ServiceCluster.PAYMENT_SERVICE)) {
+            properties.put(service, kafka);
+        }
+        cluster = ServiceCluster.start(false, 42L, properties);
+        kafkaTemplate = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(
+                KafkaTestUtils.producerProps(broker), new StringSerializer(), new StringSerializer()));
+        events = new JdbcTemplate(cluster.dataSource(ServiceCluster.EVENT_DB));
+        reservations = new JdbcTemplate(cluster.dataSource(ServiceCluster.RESERVATION_DB));
+        payments = new JdbcTemplate(cluster.dataSource(ServiceCluster.PAYMENT_DB));
+    }
+
+    @AfterAll
+    static void stopCluster() {
+        if (kafkaTemplate != null) {
+            kafkaTemplate.destroy();
+        }
+        if (cluster != null) {
+            cluster.close();
+        }
+    }
+
+    @Test
+    void paymentConfirmsAndCancellationReleasesTheHold() throws Exception {
+        Long eventId = cluster.publishEvents(1, CAPACITY).get(0);
+        JsonNode paid = reserve(1L, eventId, 2);
+        JsonNode kept = reserve(2L, eventId, 3);
+        JsonNode marker = reserve(3L, eventId, 1);
+        String reservationId = paid.path("reservationId").asText();
+        String holdId = paid.path("holdId").asText();
+
+        pay(paid);
+        await("reservation " + reservationId + " confirmed",
+                () -> "CONFIRMED".equals(reservationStatus(reservationId)));
+        assertEquals("CONFIRMED", holdStatus(holdId));
+
+        post(ServiceCluster.RESERVATION_SERVICE, "/reservations/" + reservationId + "/cancel", null, 200);
+        await("hold " + holdId + " released", () -> "RELEASED".equals(holdStatus(holdId)));
+        assertEquals(4, reservedCapacity(eventId));
+
+        // At-least-once delivery: the same messages again must change nothing. Each topic has one
+        // partition, so once the messages sent after them are handled, the redelivered ones were too.
+        redeliver(payments, PAYMENT_EVENTS, "PaymentSucceeded", reservationId);
+        redeliver(reservations, RESERVATION_EVENTS, "ReservationCancelled", reservationId);
+        pay(kept);
+        post(ServiceCluster.RESERVATION_SERVICE,
+                "/reservations/" + marker.path("reservationId").asText() + "/cancel", null, 200);
+        await("payment of the kept reservation confirmed",
+                () -> "CONFIRMED".equals(reservationStatus(kept.path("reservationId").asText())));
+        await("hold of the marker reservation released",
+                () -> "RELEASED".equals(holdStatus(marker.path("holdId").asText())));
+
+        assertEquals("CANCELLED", reservationStatus(reservationId));
+        assertEquals("RELEASED", holdStatus(holdId));
+        assertEquals("SUCCEEDED", intentStatus(reservationId));
+        assertEquals(3, reservedCapacity(eventId));
+    }
+
+    private static JsonNode reserve(long userId, Long eventId, int quantity) throws Exception {
+        return post(ServiceCluster.RESERVATION_SERVICE, "/reservations", Map.of(
+                "userId", userId, "eventId", eventId, "quantity", quantity,
+                "idempotencyKey", "saga-" + userId + "-" + eventId), 201);
+    }
+
+    private static void pay(JsonNode reservation) throws Exception {
+        String key = "saga-pay-" + reservation.path("reservationId").asText();
+        JsonNode intent = post(ServiceCluster.PAYMENT_SERVICE, "/payments/intents", Map.of(
+                "reservationId", reservation.path("reservationId").asText(),
+                "userId", reservation.path("userId").asLong(),
+                "amount", reservation.path("totalPrice").decimalValue(),
+                "currency", "USD", "paymentMethod", "CARD", "idempotencyKey", key), 201);
+        post(ServiceCluster.PAYMENT_SERVICE, "/payments/intents/" + intent.path("intentId").asText()
+                + "/capture?idempotencyKey=" + key, null, 202);
+    }
+
+    // Sends the outbox row of an already relayed event to its topic a second time
+    private static void redeliver(JdbcTemplate outbox, String topic, String eventType, String reservationId)
+            throws Exception {
+        Map<String, Object> row = outbox.queryForMap(
+                "SELECT aggregate_id, payload FROM outbox_events WHERE event_type = ? AND payload LIKE ?",
+                eventType, "%" + reservationId + "%");
+        kafkaTemplate.send(topic, (String) row.get("aggregate_id"), (String) row.get("payload")).get();
+    }
+
+    private static String reservationStatus(String reservationId) {
+        return reservations.queryForObject("SELECT status FROM reservations WHERE reservation_id = ?",
+                String.class, reservationId);
+    }
+
+    private static String intentStatus(String reservationId) {
+        return payments.queryForObject("SELECT status FROM payment_intents WHERE reservation_id = ?",
+                String.class, reservationId);
+    }
+
+    private static String holdStatus(String holdId) {
+        return events.queryForObject("SELECT status FROM capacity_holds WHERE hold_id = ?", String.class, holdId);
+    }
+
+    private static int reservedCapacity(Long eventId) {
+        return events.queryForObject("SELECT reserved_capacity FROM event_capacity WHERE event_id = ?",
+                Integer.class, eventId);
+    }
+
+    private static void await(String condition, Supplier<Boolean> done) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!done.get()) {
+            if (System.nanoTime() > deadline) {
+                fail("Timed out waiting for " + condition);
+            }
+            Thread.sleep(100);
+        }
+    }
+
+    private static JsonNode post(String service, String path, Object body, int expectedStatus)
+            throws IOException, InterruptedException {
+        HttpRequest.BodyPublisher publisher = body != null
+                ? HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body))
+                : HttpRequest.BodyPublishers.noBody();
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(cluster.url(service) + path))
+                .header("Content-Type", "application/json")
+                .POST(publisher)
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(expectedStatus, response.statusCode(), response.body());
+        return objectMapper.readTree(response.body());
+    }
+}
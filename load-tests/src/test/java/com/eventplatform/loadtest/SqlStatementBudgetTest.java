@@ -0,0 +1,109 @@
+package com.eventplatform.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SQL statements per listing endpoint, read from the {@code http.server.requests.queries} summary
+ * the services record. Each listing returns {@value #ROWS} rows, so a query per row blows the
+ * budget and fails the build.
+ */
+class SqlStatementBudgetTest {
+
+    private static final int ROWS = 20;
+    private static final long USER_ID = 7;
+
+    private static final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static ServiceCluster cluster;
+    private static List<Long> eventIds;
+    private static String reservationId;
+
+    @BeforeAll
+    static void startCluster() throws Exception {
+        cluster = ServiceCluster.start(false, 42L, Map.of());
+        eventIds = cluster.publishEvents(ROWS, 100);
+        String reservations = cluster.url(ServiceCluster.RESERVATION_SERVICE) + "/reservations";
+        for (Long eventId : eventIds) {
+            String body = "{\"userId\":" + USER_ID + ",\"eventId\":" + eventId
+                    + ",\"quantity\":2,\"idempotencyKey\":\"budget-" + eventId + "\"}";
+            reservationId = send(HttpRequest.newBuilder(URI.create(reservations))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body)), 201)
+                    .path("reservationId").asText();
+        }
+    }
+
+    @AfterAll
+    static void stopCluster() {
+        if (cluster != null) {
+            cluster.close();
+        }
+    }
+
+    @Test
+    void eventListings() throws Exception {
+        get(ServiceCluster.EVENT_SERVICE, "/events?size=" + ROWS);
+        get(ServiceCluster.EVENT_SERVICE, "/events?city=Berlin&size=" + ROWS);
+        get(ServiceCluster.EVENT_SERVICE, "/events/search?keyword=load&size=" + ROWS);
+        get(ServiceCluster.EVENT_SERVICE, "/events/scroll?size=" + ROWS);
+        get(ServiceCluster.EVENT_SERVICE, "/events/organizer/1");
+        get(ServiceCluster.EVENT_SERVICE, "/events/" + eventIds.get(0));
+
+        // Page, count and one batched capacity lookup
+        assertBudget(ServiceCluster.EVENT_SERVICE, "/events", 3);
+        assertBudget(ServiceCluster.EVENT_SERVICE, "/events/search", 3);
+        assertBudget(ServiceCluster.EVENT_SERVICE, "/events/scroll", 2);
+        assertBudget(ServiceCluster.EVENT_SERVICE, "/events/organizer/{organizerId}", 2);
+        assertBudget(ServiceCluster.EVENT_SERVICE, "/events/{eventId}", 2);
+    }
+
+    @Test
+    void reservationListings() throws Exception {
+        get(ServiceCluster.RESERVATION_SERVICE, "/reservations?size=" + ROWS);
+        get(ServiceCluster.RESERVATION_SERVICE, "/reservations/user/" + USER_ID);
+        get(ServiceCluster.RESERVATION_SERVICE, "/reservations/" + reservationId);
+
+        // Keyset page plus one batched items query
+        assertBudget(ServiceCluster.RESERVATION_SERVICE, "/reservations", 2);
+        assertBudget(ServiceCluster.RESERVATION_SERVICE, "/reservations/user/{userId}", 1);
+        assertBudget(ServiceCluster.RESERVATION_SERVICE, "/reservations/{reservationId}", 1);
+    }
+
+    private static void assertBudget(String service, String uri, int budget) {
+        DistributionSummary statements = cluster.bean(service, MeterRegistry.class)
+                .find("http.server.requests.queries").tags("method", "GET", "uri", uri).summary();
+        assertNotNull(statements, "no statement count recorded for GET " + uri);
+        assertTrue(statements.max() <= budget,
+                "GET " + uri + " issued " + (long) statements.max() + " SQL statements, budget " + budget);
+    }
+
+    private static JsonNode get(String service, String path) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(cluster.url(service) + path)).GET(), 200);
+    }
+
+    private static JsonNode send(HttpRequest.Builder request, int expectedStatus)
+            throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(expectedStatus, response.statusCode(), response.body());
+        return objectMapper.readTree(response.body());
+    }
+}
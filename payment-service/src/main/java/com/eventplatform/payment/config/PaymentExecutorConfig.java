@@ -0,0 +1,54 @@
+package com.eventplatform.payment.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Dedicated pool for provider calls made during capture. Provider latency is spent here
+ * instead of on request threads, and without a database connection checked out. The queue
+ * is bounded so a slow provider pushes back on callers rather than growing without limit.
+ *
+ * <p>With virtual threads on, captures are not queued behind a few pooled threads: each one
+ * gets a virtual thread straight away, up to the same in-flight limit (max-size plus
+ * queue-capacity), beyond which captures are rejected as before.
+ */
+@Configuration
+public class PaymentExecutorConfig {
+
+    public static final String CAPTURE_EXECUTOR = "paymentCaptureExecutor";
+
+    private static final String THREAD_NAME_PREFIX = "payment-capture-";
+
+    @Bean(name = CAPTURE_EXECUTOR)
+    public ThreadPoolTaskExecutor paymentCaptureExecutor(
+            @Value("${payment.capture.executor.core-size:16}") int coreSize,
+            @Value("${payment.capture.executor.max-size:64}") int maxSize,
+            @Value("${payment.capture.executor.queue-capacity:1000}") int queueCapacity,
+            Environment environment) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        if (Threading.VIRTUAL.isActive(environment)) {
+            int inFlight = maxSize + queueCapacity;
+            executor.setCorePoolSize(inFlight);
+            executor.setMaxPoolSize(inFlight);
+            executor.setQueueCapacity(0);
+            // Idle virtual threads are not worth keeping
+            executor.setKeepAliveSeconds(1);
+            executor.setAllowCoreThreadTimeOut(true);
+            executor.setThreadFactory(new VirtualThreadTaskExecutor(THREAD_NAME_PREFIX).getVirtualThreadFactory());
+        } else {
+            executor.setCorePoolSize(coreSize);
+            executor.setMaxPoolSize(maxSize);
+            executor.setQueueCapacity(queueCapacity);
+            executor.setThreadNamePrefix(THREAD_NAME_PREFIX);
+        }
+        // Let in-flight captures finish their second transaction on shutdown
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -1,9 +1,13 @@
 package com.eventplatform.payment.controller;
 
+import com.eventplatform.common.dto.ScrollResponse;
+import com.eventplatform.common.util.NdjsonUtil;
 import com.eventplatform.payment.dto.CreatePaymentIntentRequest;
 import com.eventplatform.payment.dto.PaymentIntentResponse;
 import com.eventplatform.payment.dto.PaymentResponse;
 import com.eventplatform.payment.service.PaymentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,6 +15,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 @Slf4j
@@ -20,6 +26,7 @@ import java.util.List;
 public class PaymentController {
 
     private final PaymentService paymentService;
+    private final ObjectMapper objectMapper;
 
     // === Modern Payment Intent API ===
 
@@ -37,7 +44,8 @@ public class PaymentController {
             @RequestParam(required = false) String idempotencyKey) {
         log.info("Capture payment request for intent: {}", intentId);
         PaymentResponse response = paymentService.capturePayment(intentId, idempotencyKey);
-        return ResponseEntity.ok(response);
+        // Capture completes asynchronously; poll GET /payments/{paymentId} for the outcome
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
     }
 
     @GetMapping("/intents/{intentId}")
@@ -62,16 +70,29 @@ public class PaymentController {
         // Create intent and immediately capture
         PaymentIntentResponse intent = paymentService.createPaymentIntent(request);
         PaymentResponse response = paymentService.capturePayment(intent.getIntentId(), null);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
     }
 
+    // Keyset-paginated listing; follow nextCursor for the next page
     @GetMapping
-    public ResponseEntity<List<PaymentResponse>> getAllPayments() {
-        log.info("Get all payments request");
-        List<PaymentResponse> response = paymentService.getAllPayments();
+    public ResponseEntity<ScrollResponse<PaymentResponse>> getAllPayments(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        log.info("Get all payments request, cursor {} size {}", cursor, size);
+        ScrollResponse<PaymentResponse> response = paymentService.scrollPayments(cursor, size);
         return ResponseEntity.ok(response);
     }
 
+    // Full export as newline-delimited JSON, written row by row as it is read
+    @GetMapping(value = "/export", produces = NdjsonUtil.MEDIA_TYPE)
+    public void exportPayments(HttpServletResponse response) throws IOException {
+        log.info("Export payments request");
+        response.setContentType(NdjsonUtil.MEDIA_TYPE);
+        OutputStream out = response.getOutputStream();
+        paymentService.exportPayments(NdjsonUtil.lineWriter(objectMapper, out));
+        out.flush();
+    }
+
     @GetMapping("/{paymentId}")
     public ResponseEntity<PaymentResponse> getPayment(@PathVariable String paymentId) {
         log.info("Get payment request for: {}", paymentId);
@@ -119,6 +140,3 @@ public class PaymentController {
         return ResponseEntity.ok("{\"service\":\"payment-service\",\"status\":\"ok\"}");
     }
 }
-
-
-
@@ -102,6 +102,10 @@ public class PaymentIntent {
         this.status = "CANCELED";
     }
 
+    public void setProcessing() {
+        this.status = "PROCESSING";
+    }
+
     public void requirePaymentMethod() {
         this.status = "REQUIRES_PAYMENT_METHOD";
     }
@@ -0,0 +1,38 @@
+package com.eventplatform.payment.messaging;
+
+import com.eventplatform.payment.service.PaymentService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cancels payment intents that can no longer be paid because their reservation was cancelled.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "feature.kafka-events", havingValue = "true")
+public class ReservationEventsListener {
+
+    public static final String RESERVATION_EVENTS_TOPIC = "reservation-events";
+
+    private final PaymentService paymentService;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(topics = RESERVATION_EVENTS_TOPIC, groupId = "payment-service")
+    public void onReservationEvent(String message) throws JsonProcessingException {
+        JsonNode envelope = objectMapper.readTree(message);
+        String eventType = envelope.path("eventType").asText();
+
+        if ("ReservationCancelled".equals(eventType)) {
+            String reservationId = envelope.path("payload").path("reservationId").asText();
+            log.info("Reservation {} cancelled (event {})", reservationId, envelope.path("eventId").asText());
+            paymentService.cancelIntentsForReservation(reservationId);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.eventplatform.payment.outbox;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Events payment-service publishes on the payment-events topic.
+ */
+public final class PaymentEvents {
+
+    public static final String PAYMENT_SUCCEEDED = "PaymentSucceeded";
+
+    private PaymentEvents() {
+    }
+
+    // Reservation-service confirms the reservation on this event
+    public record PaymentSucceeded(String paymentId, String intentId, String reservationId, Long userId,
+            BigDecimal amount, String currency, LocalDateTime capturedAt) {
+    }
+}
@@ -0,0 +1,34 @@
+package com.eventplatform.payment.provider;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Payment provider SPI. An implementation performs the actual capture with the external
+ * processor; PaymentService only deals with the outcome.
+ *
+ * A provider may settle a capture synchronously (SUCCEEDED or FAILED) or accept it and
+ * settle later (PENDING). Late settlements are reported by publishing a
+ * {@link ProviderCaptureCompletedEvent}, which is what a provider's webhook handler does
+ * once it has verified the callback.
+ */
+public interface PaymentProvider {
+
+    String name();
+
+    /**
+     * Captures the payment, giving up after {@code timeout}.
+     *
+     * @throws PaymentProviderException if the provider errors or does not answer within the timeout
+     */
+    ProviderResult capture(ProviderCaptureRequest request, Duration timeout);
+
+    /**
+     * Looks up the outcome of an earlier capture by payment id, for captures whose result never
+     * arrived. PENDING means the provider has not settled it yet.
+     *
+     * @return empty if the provider never received a capture for this payment
+     * @throws PaymentProviderException if the provider errors or does not answer within the timeout
+     */
+    Optional<ProviderResult> retrieve(String paymentId, Duration timeout);
+}
@@ -0,0 +1,16 @@
+package com.eventplatform.payment.provider;
+
+public class PaymentProviderException extends RuntimeException {
+
+    private final boolean timeout;
+
+    public PaymentProviderException(String message, boolean timeout) {
+        super(message);
+        this.timeout = timeout;
+    }
+
+    // On a timeout the provider may still have captured the funds
+    public boolean isTimeout() {
+        return timeout;
+    }
+}
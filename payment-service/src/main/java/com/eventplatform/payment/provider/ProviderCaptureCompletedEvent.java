@@ -0,0 +1,7 @@
+package com.eventplatform.payment.provider;
+
+/**
+ * Late settlement of a capture the provider had answered with PENDING.
+ */
+public record ProviderCaptureCompletedEvent(String paymentId, ProviderResult result) {
+}
@@ -0,0 +1,7 @@
+package com.eventplatform.payment.provider;
+
+import java.math.BigDecimal;
+
+public record ProviderCaptureRequest(String paymentId, String intentId, BigDecimal amount, String currency,
+        String paymentMethod) {
+}
@@ -0,0 +1,23 @@
+package com.eventplatform.payment.provider;
+
+public record ProviderResult(Status status, String providerReference, String failureReason) {
+
+    public enum Status {
+        SUCCEEDED,
+        FAILED,
+        // Accepted by the provider; the outcome arrives later as a ProviderCaptureCompletedEvent
+        PENDING
+    }
+
+    public static ProviderResult succeeded(String providerReference) {
+        return new ProviderResult(Status.SUCCEEDED, providerReference, null);
+    }
+
+    public static ProviderResult failed(String providerReference, String failureReason) {
+        return new ProviderResult(Status.FAILED, providerReference, failureReason);
+    }
+
+    public static ProviderResult pending(String providerReference) {
+        return new ProviderResult(Status.PENDING, providerReference, null);
+    }
+}
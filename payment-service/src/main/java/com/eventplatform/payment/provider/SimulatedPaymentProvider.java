@@ -0,0 +1,183 @@
+package com.eventplatform.payment.provider;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process provider for local runs and load tests. Latency is drawn from a distribution
+ * pinned at the configured p50/p90/p99/max (linear between those points), and each capture
+ * independently hits one of the failure modes at its configured rate:
+ * <ul>
+ *   <li>decline: settles FAILED, like a refused card</li>
+ *   <li>error: throws, like a 5xx from the provider</li>
+ *   <li>timeout: never answers within the caller's timeout</li>
+ *   <li>async: answers PENDING and settles later through a ProviderCaptureCompletedEvent</li>
+ * </ul>
+ * With a fixed seed the sequence of sampled outcomes is reproducible. Timed-out captures
+ * still go through, as they may with a real provider, and every outcome can be looked up
+ * later with {@link #retrieve}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "payment.provider.type", havingValue = "simulator", matchIfMissing = true)
+public class SimulatedPaymentProvider implements PaymentProvider {
+
+    private static final int MAX_REMEMBERED_CAPTURES = 100_000;
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final ScheduledExecutorService webhookScheduler;
+    private final Random random;
+    // A lock rather than a monitor: a virtual thread waiting for a monitor pins its carrier
+    private final ReentrantLock randomLock = new ReentrantLock();
+
+    private final double[] latencyPoints;
+
+    // Outcomes of the most recent captures received, oldest forgotten first
+    private final Map<String, ProviderResult> captures = new ConcurrentHashMap<>();
+    private final Queue<String> captureOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger rememberedCaptures = new AtomicInteger();
+
+    private final double declineRate;
+    private final double errorRate;
+    private final double timeoutRate;
+    private final double asyncRate;
+    private final long webhookDelayMs;
+
+    public SimulatedPaymentProvider(ApplicationEventPublisher eventPublisher,
+            @Value("${payment.provider.simulator.seed:0}") long seed,
+            @Value("${payment.provider.simulator.decline-rate:0.05}") double declineRate,
+            @Value("${payment.provider.simulator.error-rate:0.0}") double errorRate,
+            @Value("${payment.provider.simulator.timeout-rate:0.0}") double timeoutRate,
+            @Value("${payment.provider.simulator.async-rate:0.0}") double asyncRate,
+            @Value("${payment.provider.simulator.webhook-delay-ms:2000}") long webhookDelayMs,
+            @Value("${payment.provider.simulator.latency.min-ms:200}") double minMs,
+            @Value("${payment.provider.simulator.latency.p50-ms:1000}") double p50Ms,
+            @Value("${payment.provider.simulator.latency.p90-ms:2000}") double p90Ms,
+            @Value("${payment.provider.simulator.latency.p99-ms:2800}") double p99Ms,
+            @Value("${payment.provider.simulator.latency.max-ms:3000}") double maxMs) {
+        if (!(minMs <= p50Ms && p50Ms <= p90Ms && p90Ms <= p99Ms && p99Ms <= maxMs)) {
+            throw new IllegalArgumentException("Simulator latency percentiles must be non-decreasing");
+        }
+        this.eventPublisher = eventPublisher;
+        this.random = seed != 0 ? new Random(seed) : new Random();
+        this.declineRate = declineRate;
+        this.errorRate = errorRate;
+        this.timeoutRate = timeoutRate;
+        this.asyncRate = asyncRate;
+        this.webhookDelayMs = webhookDelayMs;
+        this.latencyPoints = new double[] {minMs, p50Ms, p90Ms, p99Ms, maxMs};
+        this.webhookScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "payment-provider-webhooks");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        webhookScheduler.shutdownNow();
+    }
+
+    @Override
+    public String name() {
+        return "simulator";
+    }
+
+    @Override
+    public ProviderResult capture(ProviderCaptureRequest request, Duration timeout) {
+        String reference = "sim_" + UUID.randomUUID().toString().replace("-", "").substring(0, 16);
+        double mode;
+        long latencyMs;
+        randomLock.lock();
+        try {
+            mode = random.nextDouble();
+            latencyMs = sampleLatencyMs(random.nextDouble());
+        } finally {
+            randomLock.unlock();
+        }
+
+        if (mode < timeoutRate || latencyMs > timeout.toMillis()) {
+            remember(request.paymentId(), ProviderResult.succeeded(reference));
+            sleep(timeout.toMillis());
+            throw new PaymentProviderException("Provider did not answer within " + timeout.toMillis() + "ms", true);
+        }
+        sleep(latencyMs);
+
+        mode -= timeoutRate;
+        if (mode < errorRate) {
+            throw new PaymentProviderException("Simulated provider error", false);
+        }
+        mode -= errorRate;
+        if (mode < declineRate) {
+            return remember(request.paymentId(),
+                    ProviderResult.failed(reference, "Payment processing failed - simulated decline"));
+        }
+        mode -= declineRate;
+        if (mode < asyncRate) {
+            // Settles later, the way a provider's webhook would
+            webhookScheduler.schedule(() -> eventPublisher.publishEvent(new ProviderCaptureCompletedEvent(
+                    request.paymentId(), remember(request.paymentId(), ProviderResult.succeeded(reference)))),
+                    webhookDelayMs, TimeUnit.MILLISECONDS);
+            return remember(request.paymentId(), ProviderResult.pending(reference));
+        }
+        return remember(request.paymentId(), ProviderResult.succeeded(reference));
+    }
+
+    @Override
+    public Optional<ProviderResult> retrieve(String paymentId, Duration timeout) {
+        return Optional.ofNullable(captures.get(paymentId));
+    }
+
+    private ProviderResult remember(String paymentId, ProviderResult result) {
+        if (captures.put(paymentId, result) == null) {
+            captureOrder.add(paymentId);
+            if (rememberedCaptures.incrementAndGet() > MAX_REMEMBERED_CAPTURES) {
+                String oldest = captureOrder.poll();
+                if (oldest != null) {
+                    captures.remove(oldest);
+                    rememberedCaptures.decrementAndGet();
+                }
+            }
+        }
+        return result;
+    }
+
+    // Inverse CDF through (0, min), (0.5, p50), (0.9, p90), (0.99, p99), (1, max)
+    private long sampleLatencyMs(double u) {
+        double[] quantiles = {0.0, 0.5, 0.9, 0.99, 1.0};
+        for (int i = 1; i < quantiles.length; i++) {
+            if (u <= quantiles[i]) {
+                double fraction = (u - quantiles[i - 1]) / (quantiles[i] - quantiles[i - 1]);
+                return Math.round(latencyPoints[i - 1] + fraction * (latencyPoints[i] - latencyPoints[i - 1]));
+            }
+        }
+        return Math.round(latencyPoints[latencyPoints.length - 1]);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PaymentProviderException("Interrupted while waiting for the provider", false);
+        }
+    }
+}
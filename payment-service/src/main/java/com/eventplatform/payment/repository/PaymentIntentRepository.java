@@ -1,7 +1,9 @@
 package com.eventplatform.payment.repository;
 
 import com.eventplatform.payment.entity.PaymentIntent;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -16,6 +18,11 @@ public interface PaymentIntentRepository extends JpaRepository<PaymentIntent, Lo
     // Find by intent ID (business key)
     Optional<PaymentIntent> findByIntentId(String intentId);
 
+    // Find by intent ID, locking the row so concurrent captures of one intent are serialized
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT pi FROM PaymentIntent pi WHERE pi.intentId = :intentId")
+    Optional<PaymentIntent> findByIntentIdForUpdate(@Param("intentId") String intentId);
+
     // Find by idempotency key (for duplicate prevention)
     Optional<PaymentIntent> findByIdempotencyKey(String idempotencyKey);
 
@@ -1,11 +1,21 @@
 package com.eventplatform.payment.repository;
 
 import com.eventplatform.payment.entity.Payment;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
@@ -13,6 +23,11 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     // Find by payment ID (business key)
     Optional<Payment> findByPaymentId(String paymentId);
 
+    // Find by payment ID, locking the row so concurrent settlements of one payment are serialized
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Payment p WHERE p.paymentId = :paymentId")
+    Optional<Payment> findByPaymentIdForUpdate(@Param("paymentId") String paymentId);
+
     // Find by intent ID
     List<Payment> findByIntentId(Long intentId);
 
@@ -25,8 +40,25 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     // Find by status
     List<Payment> findByStatus(String status);
 
+    // Captures not settled by the cutoff, oldest first
+    @Query("SELECT p.paymentId FROM Payment p WHERE p.status = 'PROCESSING' AND p.updatedAt < :cutoff "
+            + "ORDER BY p.updatedAt")
+    List<String> findProcessingUpdatedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
     // Find by provider reference
     Optional<Payment> findByProviderReference(String providerReference);
+
+    // Keyset page: payments after the cursor id with their intent, so deep pages cost the same as the first
+    @Query("SELECT p FROM Payment p JOIN FETCH p.intent WHERE p.id > :afterId ORDER BY p.id")
+    List<Payment> findPageAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Full export read through a server-side cursor; must be consumed inside a read-only transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Payment p JOIN FETCH p.intent ORDER BY p.id")
+    Stream<Payment> streamAll();
 }
 
 
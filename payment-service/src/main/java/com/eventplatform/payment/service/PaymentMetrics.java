@@ -0,0 +1,63 @@
+package com.eventplatform.payment.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters for payment capture: the synchronous accept step, time queued for the capture pool,
+ * provider latency and the final settlement outcome.
+ */
+@Component
+@RequiredArgsConstructor
+public class PaymentMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void recordAccept(Timer.Sample sample, String outcome) {
+        sample.stop(percentileTimer("payment.capture.accept", "Time to accept a capture request")
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    public void recordQueueWait(long nanos) {
+        percentileTimer("payment.capture.queue.wait", "Time a capture waited for the capture pool")
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordProviderCall(String provider, String status, long nanos) {
+        percentileTimer("payment.provider.latency", "Payment provider capture call latency")
+                .tag("provider", provider)
+                .tag("status", status)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param source {@code sync} when settled by the capture call, {@code webhook} for late settlement
+     */
+    public void recordOutcome(String status, String source) {
+        Counter.builder("payment.capture.outcome")
+                .description("Settled capture outcomes")
+                .tag("status", status)
+                .tag("source", source)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static Timer.Builder percentileTimer(String name, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram();
+    }
+}
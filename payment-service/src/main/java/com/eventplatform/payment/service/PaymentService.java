@@ -1,6 +1,13 @@
 package com.eventplatform.payment.service;
 
+import com.eventplatform.common.dto.ScrollResponse;
+import com.eventplatform.common.idempotency.IdempotencyService;
+import com.eventplatform.common.outbox.OutboxPublisher;
+import com.eventplatform.common.tracing.RequestTraces;
+import com.eventplatform.common.tracing.Stage;
+import com.eventplatform.common.util.CursorUtil;
 import com.eventplatform.payment.client.ReservationServiceClient;
+import com.eventplatform.payment.config.PaymentExecutorConfig;
 import com.eventplatform.payment.dto.CreatePaymentIntentRequest;
 import com.eventplatform.payment.dto.PaymentIntentResponse;
 import com.eventplatform.payment.dto.PaymentResponse;
@@ -8,34 +15,75 @@ import com.eventplatform.payment.entity.Payment;
 import com.eventplatform.payment.entity.PaymentIntent;
 import com.eventplatform.payment.exception.GlobalExceptionHandler;
 import com.eventplatform.payment.repository.PaymentIntentRepository;
+import com.eventplatform.payment.outbox.PaymentEvents;
+import com.eventplatform.payment.provider.PaymentProvider;
+import com.eventplatform.payment.provider.PaymentProviderException;
+import com.eventplatform.payment.provider.ProviderCaptureCompletedEvent;
+import com.eventplatform.payment.provider.ProviderCaptureRequest;
+import com.eventplatform.payment.provider.ProviderResult;
 import com.eventplatform.payment.repository.PaymentRepository;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class PaymentService {
 
+    private static final String PAYMENT_INTENT_SCOPE = "payment-intent";
+    private static final String PAYMENT_CAPTURE_SCOPE = "payment-capture";
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final PaymentIntentRepository paymentIntentRepository;
     private final PaymentRepository paymentRepository;
     private final Optional<ReservationServiceClient> reservationServiceClient;
+    private final TransactionTemplate transactionTemplate;
+    private final PaymentProvider paymentProvider;
+    private final OutboxPublisher outboxPublisher;
+    private final IdempotencyService idempotencyService;
+    private final EntityManager entityManager;
+
+    @Qualifier(PaymentExecutorConfig.CAPTURE_EXECUTOR)
+    private final Executor paymentCaptureExecutor;
+    private final PaymentMetrics paymentMetrics;
 
     @Value("${feature.reservation-integration:true}")
     private boolean reservationServiceEnabled;
 
-    @Value("${payment.success-rate:0.95}")
-    private double successRate;
+    // Reservations are confirmed through the payment-events topic instead of a direct call
+    @Value("${feature.kafka-events:false}")
+    private boolean kafkaEventsEnabled;
+
+    @Value("${payment.processing-timeout:30000}")
+    private long processingTimeoutMs;
+
+    @Value("${payment.reconcile.stale-after:10m}")
+    private Duration reconcileStaleAfter;
+
+    @Value("${payment.reconcile.batch-size:100}")
+    private int reconcileBatchSize;
 
     /**
      * Safely call Reservation Service with fallback for when service is unavailable
@@ -84,8 +132,12 @@ public class PaymentService {
         }
     }
 
-    @Transactional
     public PaymentIntentResponse createPaymentIntent(CreatePaymentIntentRequest request) {
+        return idempotencyService.execute(PAYMENT_INTENT_SCOPE, request.getIdempotencyKey(), PaymentIntentResponse.class,
+                () -> transactionTemplate.execute(status -> doCreatePaymentIntent(request)));
+    }
+
+    private PaymentIntentResponse doCreatePaymentIntent(CreatePaymentIntentRequest request) {
         log.info("Creating payment intent for reservation {} and user {} with amount {}",
                 request.getReservationId(), request.getUserId(), request.getAmount());
 
@@ -139,24 +191,83 @@ public class PaymentService {
         return mapIntentToResponse(intent);
     }
 
-    @Transactional
+    /**
+     * Starts a capture and returns immediately with the payment in PROCESSING. The intent and
+     * payment are moved to PROCESSING in a short first transaction; the provider call then runs
+     * on the capture executor with no transaction open, and a second short transaction records
+     * the outcome. Clients poll GET /payments/{paymentId} for the final status.
+     * A retry with the same idempotency key gets the accepted payment back instead of a second capture.
+     */
     public PaymentResponse capturePayment(String intentId, String idempotencyKey) {
+        Timer.Sample sample = paymentMetrics.start();
+        String outcome = "error";
+        try {
+            PaymentResponse response = idempotencyService.execute(PAYMENT_CAPTURE_SCOPE, idempotencyKey,
+                    PaymentResponse.class, () -> doCapturePayment(intentId));
+            outcome = "accepted";
+            return response;
+        } catch (GlobalExceptionHandler.ResourceNotFoundException e) {
+            outcome = "not_found";
+            throw e;
+        } catch (IllegalStateException e) {
+            outcome = "rejected";
+            throw e;
+        } finally {
+            paymentMetrics.recordAccept(sample, outcome);
+        }
+    }
+
+    private PaymentResponse doCapturePayment(String intentId) {
         log.info("Capturing payment for intent: {}", intentId);
 
         PaymentIntent intent = paymentIntentRepository.findByIntentId(intentId)
                 .orElseThrow(() -> new GlobalExceptionHandler.ResourceNotFoundException(
                         "Payment intent not found: " + intentId));
 
-        // Check idempotency for capture operation
-        if (idempotencyKey != null) {
-            Optional<Payment> existingPayment = paymentRepository.findByProviderReference("capture_" + idempotencyKey);
-            if (existingPayment.isPresent()) {
-                log.info("Idempotent capture with key {}, returning existing payment", idempotencyKey);
-                return mapPaymentToResponse(existingPayment.get());
-            }
+        // Validate reservation is still valid, before any transaction is opened
+        Optional<ReservationServiceClient.ReservationResponse> reservationOpt = getReservationSafely(
+                intent.getReservationId());
+
+        if (reservationOpt.isEmpty()) {
+            throw new IllegalStateException("Reservation service unavailable for validation");
+        }
+
+        ReservationServiceClient.ReservationResponse reservation = reservationOpt.get();
+        if (!"PENDING".equals(reservation.status())) {
+            throw new IllegalStateException("Reservation is not in pending state: " + reservation.status());
+        }
+
+        Payment payment = transactionTemplate.execute(status -> startCapture(intentId));
+
+        try {
+            long queuedAt = System.nanoTime();
+            paymentCaptureExecutor.execute(() -> {
+                paymentMetrics.recordQueueWait(System.nanoTime() - queuedAt);
+                try {
+                    completeCapture(payment);
+                } catch (Exception e) {
+                    // Nothing else sees this thread's failures; the payment stays PROCESSING until reconciled
+                    log.error("Capture of payment {} did not complete", payment.getPaymentId(), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Nothing was sent to the provider; put the intent back so the capture can be retried
+            transactionTemplate.executeWithoutResult(status -> abandonCapture(payment.getPaymentId(),
+                    "Payment capture queue is full"));
+            throw new IllegalStateException("Payment capture queue is full, please retry later");
         }
 
-        // Validate intent can be captured
+        log.info("Payment {} for intent {} accepted for processing", payment.getPaymentId(), intentId);
+        return mapPaymentToResponse(payment);
+    }
+
+    private Payment startCapture(String intentId) {
+        PaymentIntent intent = RequestTraces.time(Stage.LOCK_WAIT, "payment_intent.lock",
+                        () -> paymentIntentRepository.findByIntentIdForUpdate(intentId))
+                .orElseThrow(() -> new GlobalExceptionHandler.ResourceNotFoundException(
+                        "Payment intent not found: " + intentId));
+
+        // Validate intent can be captured; the row lock makes a concurrent second capture see PROCESSING
         if (!"REQUIRES_PAYMENT_METHOD".equals(intent.getStatus()) && !"CREATED".equals(intent.getStatus())) {
             throw new IllegalStateException("Payment intent cannot be captured. Status: " + intent.getStatus());
         }
@@ -168,19 +279,6 @@ public class PaymentService {
             throw new IllegalStateException("Payment intent has expired");
         }
 
-        // Validate reservation is still valid
-        Optional<ReservationServiceClient.ReservationResponse> reservationOpt = getReservationSafely(
-                intent.getReservationId());
-
-        if (reservationOpt.isEmpty()) {
-            throw new IllegalStateException("Reservation service unavailable for validation");
-        }
-
-        ReservationServiceClient.ReservationResponse reservation = reservationOpt.get();
-        if (!"PENDING".equals(reservation.status())) {
-            throw new IllegalStateException("Reservation is not in pending state: " + reservation.status());
-        }
-
         // Generate unique payment ID
         String paymentId = "PAY-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
 
@@ -197,46 +295,157 @@ public class PaymentService {
                 .providerReference("txn_" + intent.getIntentId())
                 .build();
 
-        payment = paymentRepository.save(payment);
+        intent.setProcessing();
+        paymentIntentRepository.save(intent);
+        return paymentRepository.save(payment);
+    }
+
+    // Runs on the capture executor
+    private void completeCapture(Payment payment) {
+        ProviderCaptureRequest request = new ProviderCaptureRequest(payment.getPaymentId(),
+                payment.getIntent().getIntentId(), payment.getAmount(), payment.getCurrency(),
+                payment.getPaymentMethod());
 
+        ProviderResult result;
+        String providerStatus;
+        long start = System.nanoTime();
         try {
-            // Simulate payment processing
-            boolean success = processPaymentSimulation();
+            // Provider call, outside of any transaction
+            result = paymentProvider.capture(request, Duration.ofMillis(processingTimeoutMs));
+            providerStatus = result.status().name();
+        } catch (PaymentProviderException e) {
+            if (e.isTimeout()) {
+                // The provider may still capture it: stays PROCESSING until a webhook or reconciliation settles it
+                log.warn("Provider {} timed out capturing payment {}", paymentProvider.name(), payment.getPaymentId());
+                result = ProviderResult.pending(null);
+                providerStatus = "TIMEOUT";
+            } else {
+                log.error("Provider {} failed to capture payment {}", paymentProvider.name(), payment.getPaymentId(), e);
+                result = ProviderResult.failed(null, "Payment provider error: " + e.getMessage());
+                providerStatus = "ERROR";
+            }
+        } catch (Exception e) {
+            log.error("Payment processing failed for payment {}", payment.getPaymentId(), e);
+            result = ProviderResult.failed(null, "Unexpected error during payment processing: " + e.getMessage());
+            providerStatus = "ERROR";
+        }
+        paymentMetrics.recordProviderCall(paymentProvider.name(), providerStatus, System.nanoTime() - start);
 
-            if (success) {
-                // Payment succeeded
-                payment.succeed();
-                intent.succeed();
+        recordOutcome(payment.getPaymentId(), result, "sync");
+    }
 
-                // Confirm the reservation
-                confirmReservationSafely(intent.getReservationId());
+    /**
+     * Late settlement from the provider (webhook-style) for a capture it answered with PENDING.
+     */
+    @EventListener
+    public void onProviderCaptureCompleted(ProviderCaptureCompletedEvent event) {
+        log.info("Provider settled payment {} as {}", event.paymentId(), event.result().status());
+        recordOutcome(event.paymentId(), event.result(), "webhook");
+    }
 
-                log.info("Payment {} succeeded for intent {}", paymentId, intentId);
+    private void recordOutcome(String paymentId, ProviderResult result, String source) {
+        String reservationId = transactionTemplate.execute(status -> finishCapture(paymentId, result));
+        paymentMetrics.recordOutcome(result.status().name(), source);
 
-            } else {
-                // Payment failed
-                payment.fail("Payment processing failed - simulated failure");
-                intent.cancel();
+        if (!kafkaEventsEnabled && reservationId != null && result.status() == ProviderResult.Status.SUCCEEDED) {
+            // Confirm the reservation once the payment outcome is committed
+            confirmReservationSafely(reservationId);
+        }
+    }
 
-                log.warn("Payment {} failed for intent {}", paymentId, intentId);
-            }
+    // For captures the provider never received: the payment fails and the intent can be captured again
+    private void abandonCapture(String paymentId, String reason) {
+        Payment payment = paymentRepository.findByPaymentIdForUpdate(paymentId)
+                .orElseThrow(() -> new GlobalExceptionHandler.ResourceNotFoundException(
+                        "Payment not found: " + paymentId));
+        if (!"PROCESSING".equals(payment.getStatus())) {
+            return;
+        }
+        payment.fail(reason);
+        payment.getIntent().requirePaymentMethod();
+        paymentIntentRepository.save(payment.getIntent());
+        paymentRepository.save(payment);
+    }
 
-            paymentIntentRepository.save(intent);
-            payment = paymentRepository.save(payment);
+    /**
+     * Settles captures still PROCESSING well after they started: the capture task failed, the
+     * service stopped mid-capture, or a webhook never arrived. The provider is asked for each
+     * outcome; a capture it never received fails and its intent can be captured again.
+     */
+    @Scheduled(fixedDelayString = "${payment.reconcile.interval-ms:60000}")
+    public void reconcileStaleCaptures() {
+        List<String> stale = paymentRepository.findProcessingUpdatedBefore(
+                LocalDateTime.now().minus(reconcileStaleAfter), PageRequest.of(0, reconcileBatchSize));
+        for (String paymentId : stale) {
+            try {
+                Optional<ProviderResult> result = paymentProvider.retrieve(paymentId,
+                        Duration.ofMillis(processingTimeoutMs));
+                if (result.isPresent()) {
+                    recordOutcome(paymentId, result.get(), "reconcile");
+                } else {
+                    log.warn("Provider {} has no capture for payment {}, failing it", paymentProvider.name(), paymentId);
+                    transactionTemplate.executeWithoutResult(status -> abandonCapture(paymentId,
+                            "Capture never reached the payment provider"));
+                    paymentMetrics.recordOutcome("ABANDONED", "reconcile");
+                }
+            } catch (Exception e) {
+                log.error("Failed to reconcile payment {}", paymentId, e);
+            }
+        }
+        if (!stale.isEmpty()) {
+            log.info("Reconciled {} stale captures", stale.size());
+        }
+    }
 
-            return mapPaymentToResponse(payment);
+    // Returns the reservation to confirm, or null if the payment was not settled by this call
+    private String finishCapture(String paymentId, ProviderResult result) {
+        Payment payment = RequestTraces.time(Stage.LOCK_WAIT, "payment.lock",
+                        () -> paymentRepository.findByPaymentIdForUpdate(paymentId))
+                .orElseThrow(() -> new GlobalExceptionHandler.ResourceNotFoundException(
+                        "Payment not found: " + paymentId));
 
-        } catch (Exception e) {
-            // If anything fails, mark payment as failed
-            payment.fail("Unexpected error during payment processing: " + e.getMessage());
-            intent.cancel();
+        // A settlement may be delivered more than once; only the first one counts
+        if (!"PROCESSING".equals(payment.getStatus())) {
+            if (result.status() == ProviderResult.Status.SUCCEEDED && !"SUCCEEDED".equals(payment.getStatus())) {
+                log.error("Provider captured payment {} that is {}, needs a refund or manual review",
+                        paymentId, payment.getStatus());
+            } else {
+                log.info("Payment {} already settled as {}, ignoring {}", paymentId, payment.getStatus(), result.status());
+            }
+            return null;
+        }
 
-            paymentIntentRepository.save(intent);
-            paymentRepository.save(payment);
+        PaymentIntent intent = payment.getIntent();
+        if (result.providerReference() != null) {
+            payment.setProviderReference(result.providerReference());
+        }
 
-            log.error("Payment processing failed for intent {}", intentId, e);
-            throw e;
+        switch (result.status()) {
+            case SUCCEEDED -> {
+                payment.succeed();
+                intent.succeed();
+                outboxPublisher.publish(PaymentEvents.PAYMENT_SUCCEEDED,
+                        paymentId, new PaymentEvents.PaymentSucceeded(paymentId, intent.getIntentId(),
+                                payment.getReservationId(), payment.getUserId(), payment.getAmount(),
+                                payment.getCurrency(), payment.getCapturedAt()));
+                log.info("Payment {} succeeded for intent {}", paymentId, intent.getIntentId());
+            }
+            case FAILED -> {
+                payment.fail(result.failureReason());
+                intent.cancel();
+                log.warn("Payment {} failed for intent {}: {}", paymentId, intent.getIntentId(), result.failureReason());
+            }
+            case PENDING -> {
+                // Stays PROCESSING until the provider settles it
+                paymentRepository.save(payment);
+                log.info("Payment {} accepted by provider, awaiting settlement", paymentId);
+                return null;
+            }
         }
+
+        paymentIntentRepository.save(intent);
+        paymentRepository.save(payment);
+        return payment.getReservationId();
     }
 
     @Transactional(readOnly = true)
@@ -281,6 +490,22 @@ public class PaymentService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Cancels the intents of a cancelled reservation that have not been captured yet.
+     * Already cancelled or settled intents are left alone, so redelivered events are harmless.
+     */
+    @Transactional
+    public void cancelIntentsForReservation(String reservationId) {
+        List<PaymentIntent> intents = paymentIntentRepository.findByReservationId(reservationId);
+        for (PaymentIntent intent : intents) {
+            if ("REQUIRES_PAYMENT_METHOD".equals(intent.getStatus()) || "CREATED".equals(intent.getStatus())) {
+                intent.cancel();
+                log.info("Cancelled payment intent {} of cancelled reservation {}", intent.getIntentId(), reservationId);
+            }
+        }
+        paymentIntentRepository.saveAll(intents);
+    }
+
     @Transactional
     public void expireOldIntents() {
         log.info("Expiring old payment intents");
@@ -296,12 +521,39 @@ public class PaymentService {
         paymentIntentRepository.saveAll(expiredIntents);
     }
 
+    /**
+     * Keyset-paginated listing of all payments in id order. Only one page of rows and DTOs
+     * is held at a time; follow nextCursor for the next page.
+     */
     @Transactional(readOnly = true)
-    public List<PaymentResponse> getAllPayments() {
-        log.info("Fetching all payments");
-        return paymentRepository.findAll().stream()
-                .map(this::mapPaymentToResponse)
-                .collect(Collectors.toList());
+    public ScrollResponse<PaymentResponse> scrollPayments(String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        log.info("Scrolling payments after cursor {} with size {}", cursor, size);
+
+        // Fetch one extra row to learn whether another page exists without a count query
+        List<Payment> payments = paymentRepository.findPageAfter(CursorUtil.decodeId(cursor),
+                PageRequest.ofSize(size + 1));
+        return ScrollResponse.of(payments, size,
+                page -> page.stream().map(this::mapPaymentToResponse).collect(Collectors.toList()),
+                payment -> CursorUtil.encodeId(payment.getId()));
+    }
+
+    /**
+     * Streams every payment to the sink in id order. Rows are read through a JDBC cursor and
+     * detached once written, so memory use does not grow with the table.
+     */
+    @Transactional(readOnly = true)
+    public void exportPayments(Consumer<PaymentResponse> sink) {
+        log.info("Exporting all payments");
+        try (Stream<Payment> payments = paymentRepository.streamAll()) {
+            payments.forEach(payment -> {
+                sink.accept(mapPaymentToResponse(payment));
+                entityManager.detach(payment.getIntent());
+                entityManager.detach(payment);
+            });
+        }
     }
 
     @Transactional
@@ -323,19 +575,6 @@ public class PaymentService {
         return mapPaymentToResponse(payment);
     }
 
-    // Validation is now done inline with safe fallbacks
-
-    private boolean processPaymentSimulation() {
-        // Simulate payment processing with configurable success rate
-        try {
-            Thread.sleep(1000 + (long) (Math.random() * 2000)); // 1-3 second processing time
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-
-        return Math.random() < successRate;
-    }
-
     private PaymentIntentResponse mapIntentToResponse(PaymentIntent intent) {
         return PaymentIntentResponse.builder()
                 .id(intent.getId())
@@ -0,0 +1,3 @@
+-- V1 sized status for the short states; intents also go through REQUIRES_PAYMENT_METHOD (23 characters)
+ALTER TABLE payment_intents ALTER COLUMN status TYPE VARCHAR(32);
+ALTER TABLE payments ALTER COLUMN status TYPE VARCHAR(32);
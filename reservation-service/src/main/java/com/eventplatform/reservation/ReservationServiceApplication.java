@@ -1,11 +1,17 @@
 package com.eventplatform.reservation;
 
+import com.eventplatform.common.idempotency.IdempotencyConfig;
+import com.eventplatform.common.outbox.OutboxConfig;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableFeignClients
+@EnableScheduling
+@Import({IdempotencyConfig.class, OutboxConfig.class})
 public class ReservationServiceApplication {
 
     public static void main(String[] args) {
@@ -5,6 +5,8 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @ConditionalOnProperty(name = "feature.event-integration", havingValue = "true", matchIfMissing = false)
 @FeignClient(name = "event-service")
@@ -19,6 +21,16 @@ public interface EventServiceClient {
     @PostMapping("/events/{eventId}/release")
     void releaseCapacity(@PathVariable Long eventId, @RequestParam int quantity);
 
+    // Capacity held for a TTL; event-service returns it on expiry unless confirmed first
+    @PostMapping("/events/holds")
+    CapacityHoldsResponse placeHolds(@RequestBody CapacityHoldRequest request);
+
+    @PostMapping("/events/holds/{holdId}/confirm")
+    CapacityHoldResponse confirmHold(@PathVariable String holdId);
+
+    @DeleteMapping("/events/holds/{holdId}")
+    CapacityHoldResponse releaseHold(@PathVariable String holdId);
+
     @GetMapping("/events/{eventId}")
     EventResponse getEvent(@PathVariable Long eventId);
 
@@ -27,5 +39,16 @@ public interface EventServiceClient {
 
     record ReservationResultResponse(Long eventId, Integer quantity, Boolean success, String message) {}
 
+    record CapacityItem(Long eventId, Integer quantity) {}
+
+    // Conditional reserve: nothing is held unless every event is in one of requiredStatuses
+    record CapacityHoldRequest(List<CapacityItem> items, Integer ttlSeconds, List<String> requiredStatuses) {}
+
+    // unitPrice, eventStatus and remainingCapacity describe the event when the hold was placed
+    record CapacityHoldResponse(String holdId, Long eventId, Integer quantity, String status, LocalDateTime expiresAt,
+                                BigDecimal unitPrice, String eventStatus, Integer remainingCapacity) {}
+
+    record CapacityHoldsResponse(Boolean success, Long failedEventId, String message, List<CapacityHoldResponse> holds) {}
+
     record EventResponse(Long id, String title, String status, Integer capacity, BigDecimal price) {}
 }
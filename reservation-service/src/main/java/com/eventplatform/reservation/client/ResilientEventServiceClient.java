@@ -0,0 +1,96 @@
+package com.eventplatform.reservation.client;
+
+import com.eventplatform.reservation.config.CacheConfig;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Calls to Event Service through a bulkhead and a circuit breaker (resilience4j instance
+ * "event-service"), with read-through caches for event details and availability. Connection
+ * pooling and per-call timeouts are Feign client settings.
+ *
+ * Failures are thrown to the caller, which picks the fallback; a fallback value is never cached.
+ */
+@Component
+public class ResilientEventServiceClient {
+
+    public static final String INSTANCE = "event-service";
+
+    private final Optional<EventServiceClient> client;
+    private final Bulkhead bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final Cache availabilityCache;
+
+    public ResilientEventServiceClient(Optional<EventServiceClient> client, BulkheadRegistry bulkheadRegistry,
+            CircuitBreakerRegistry circuitBreakerRegistry, CacheManager cacheManager) {
+        this.client = client;
+        this.bulkhead = bulkheadRegistry.bulkhead(INSTANCE);
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(INSTANCE);
+        this.availabilityCache = cacheManager.getCache(CacheConfig.EVENT_AVAILABILITY);
+    }
+
+    public boolean isAvailable() {
+        return client.isPresent();
+    }
+
+    // Concurrent misses for one event share a single call
+    @Cacheable(cacheNames = CacheConfig.EVENTS, key = "#eventId", sync = true)
+    public EventServiceClient.EventResponse getEvent(Long eventId) {
+        return call(target -> target.getEvent(eventId));
+    }
+
+    @Cacheable(cacheNames = CacheConfig.EVENT_AVAILABILITY, key = "#eventId", sync = true)
+    public EventServiceClient.EventAvailabilityResponse getEventAvailability(Long eventId) {
+        return call(target -> target.getEventAvailability(eventId));
+    }
+
+    public EventServiceClient.CapacityHoldsResponse placeHolds(EventServiceClient.CapacityHoldRequest request) {
+        try {
+            return call(target -> target.placeHolds(request));
+        } finally {
+            evictAvailability(request.items().stream().map(EventServiceClient.CapacityItem::eventId).toList());
+        }
+    }
+
+    public EventServiceClient.CapacityHoldResponse confirmHold(String holdId) {
+        return call(target -> target.confirmHold(holdId));
+    }
+
+    public EventServiceClient.CapacityHoldResponse releaseHold(String holdId) {
+        EventServiceClient.CapacityHoldResponse hold = call(target -> target.releaseHold(holdId));
+        if (hold != null && hold.eventId() != null) {
+            availabilityCache.evict(hold.eventId());
+        }
+        return hold;
+    }
+
+    public void releaseCapacity(Long eventId, int quantity) {
+        call(target -> {
+            target.releaseCapacity(eventId, quantity);
+            return null;
+        });
+        availabilityCache.evict(eventId);
+    }
+
+    // This instance's own writes should not be answered from its stale availability entry
+    private void evictAvailability(Collection<Long> eventIds) {
+        eventIds.forEach(availabilityCache::evict);
+    }
+
+    // Bulkhead outermost, so rejected calls do not count as circuit breaker failures
+    private <T> T call(Function<EventServiceClient, T> request) {
+        EventServiceClient target = client.orElseThrow(
+                () -> new IllegalStateException("Event Service client is not configured"));
+        return bulkhead.executeSupplier(circuitBreaker.decorateSupplier(() -> request.apply(target)));
+    }
+}
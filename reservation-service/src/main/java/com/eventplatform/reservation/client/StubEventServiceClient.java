@@ -0,0 +1,136 @@
+package com.eventplatform.reservation.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process stand-in for Event Service with a configurable response latency, for running
+ * reservation-service on its own and for measuring the client layer without the network.
+ * Takes precedence over the Feign client when event-service.stub.enabled is true.
+ */
+@Slf4j
+@Component
+@Primary
+@ConditionalOnProperty(name = "event-service.stub.enabled", havingValue = "true")
+public class StubEventServiceClient implements EventServiceClient {
+
+    private final Map<Long, AtomicInteger> available = new ConcurrentHashMap<>();
+    private final Map<String, CapacityHoldResponse> holds = new ConcurrentHashMap<>();
+
+    private final int capacity;
+    private final BigDecimal price;
+    private final long latencyMs;
+
+    public StubEventServiceClient(@Value("${event-service.stub.capacity:1000}") int capacity,
+            @Value("${event-service.stub.price:29.99}") BigDecimal price,
+            @Value("${event-service.stub.latency-ms:0}") long latencyMs) {
+        this.capacity = capacity;
+        this.price = price;
+        this.latencyMs = latencyMs;
+    }
+
+    @Override
+    public EventAvailabilityResponse getEventAvailability(Long eventId) {
+        simulateLatency();
+        return new EventAvailabilityResponse(eventId, availableFor(eventId).get());
+    }
+
+    @Override
+    public ReservationResultResponse reserveCapacity(Long eventId, int quantity) {
+        simulateLatency();
+        boolean success = tryTake(eventId, quantity);
+        return new ReservationResultResponse(eventId, quantity, success,
+                success ? "Capacity reserved" : "Insufficient capacity");
+    }
+
+    @Override
+    public void releaseCapacity(Long eventId, int quantity) {
+        simulateLatency();
+        availableFor(eventId).addAndGet(quantity);
+    }
+
+    @Override
+    public CapacityHoldsResponse placeHolds(CapacityHoldRequest request) {
+        simulateLatency();
+        List<CapacityHoldResponse> placed = new ArrayList<>();
+        for (CapacityItem item : request.items()) {
+            if (!tryTake(item.eventId(), item.quantity())) {
+                placed.forEach(hold -> availableFor(hold.eventId()).addAndGet(hold.quantity()));
+                return new CapacityHoldsResponse(false, item.eventId(), "Insufficient capacity", List.of());
+            }
+            placed.add(new CapacityHoldResponse("HOLD-" + UUID.randomUUID(), item.eventId(), item.quantity(),
+                    "HELD", LocalDateTime.now().plusSeconds(request.ttlSeconds()), price, "PUBLISHED",
+                    availableFor(item.eventId()).get()));
+        }
+        placed.forEach(hold -> holds.put(hold.holdId(), hold));
+        return new CapacityHoldsResponse(true, null, "Capacity held", placed);
+    }
+
+    @Override
+    public CapacityHoldResponse confirmHold(String holdId) {
+        simulateLatency();
+        CapacityHoldResponse hold = holds.remove(holdId);
+        if (hold == null) {
+            throw new IllegalStateException("Hold not found: " + holdId);
+        }
+        return new CapacityHoldResponse(holdId, hold.eventId(), hold.quantity(), "CONFIRMED", hold.expiresAt(),
+                hold.unitPrice(), hold.eventStatus(), null);
+    }
+
+    @Override
+    public CapacityHoldResponse releaseHold(String holdId) {
+        simulateLatency();
+        CapacityHoldResponse hold = holds.remove(holdId);
+        if (hold == null) {
+            return new CapacityHoldResponse(holdId, null, 0, "RELEASED", null, null, null, null);
+        }
+        availableFor(hold.eventId()).addAndGet(hold.quantity());
+        return new CapacityHoldResponse(holdId, hold.eventId(), hold.quantity(), "RELEASED", hold.expiresAt(),
+                hold.unitPrice(), hold.eventStatus(), null);
+    }
+
+    @Override
+    public EventResponse getEvent(Long eventId) {
+        simulateLatency();
+        return new EventResponse(eventId, "Stub Event " + eventId, "PUBLISHED", capacity, price);
+    }
+
+    private AtomicInteger availableFor(Long eventId) {
+        return available.computeIfAbsent(eventId, id -> new AtomicInteger(capacity));
+    }
+
+    private boolean tryTake(Long eventId, int quantity) {
+        AtomicInteger remaining = availableFor(eventId);
+        int current;
+        do {
+            current = remaining.get();
+            if (current < quantity) {
+                return false;
+            }
+        } while (!remaining.compareAndSet(current, current - quantity));
+        return true;
+    }
+
+    private void simulateLatency() {
+        if (latencyMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.eventplatform.reservation.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+/**
+ * Local caches in front of Event Service. Event details (price, status) change rarely; the
+ * availability TTL is the staleness bound for availability reads. Bookings never rely on
+ * either: holds are checked and priced by Event Service itself.
+ *
+ * <p>A synchronized load ({@code @Cacheable(sync = true)}) runs inside the cache's map compute,
+ * under a monitor, so on virtual threads the Event Service call would pin its carrier thread and
+ * every caller waiting for the same key would pin one more. With virtual threads on, the caches
+ * are asynchronous instead: only a future is created under the monitor, the load runs on the
+ * (virtual) application task executor and callers wait on the future.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String EVENTS = "events";
+    public static final String EVENT_AVAILABILITY = "event-availability";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${cache.events.max-size:10000}") long eventsMaxSize,
+            @Value("${cache.events.ttl:1m}") Duration eventsTtl,
+            @Value("${cache.availability.max-size:10000}") long availabilityMaxSize,
+            @Value("${cache.availability.ttl:1s}") Duration availabilityTtl,
+            Environment environment,
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+            Optional<Executor> taskExecutor) {
+        Caffeine<Object, Object> events = Caffeine.newBuilder()
+                .maximumSize(eventsMaxSize)
+                .expireAfterWrite(eventsTtl)
+                .recordStats();
+        Caffeine<Object, Object> availability = Caffeine.newBuilder()
+                .maximumSize(availabilityMaxSize)
+                .expireAfterWrite(availabilityTtl)
+                .recordStats();
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        if (Threading.VIRTUAL.isActive(environment) && taskExecutor.isPresent()) {
+            cacheManager.setAsyncCacheMode(true);
+            cacheManager.registerCustomCache(EVENTS, events.executor(taskExecutor.get()).buildAsync());
+            cacheManager.registerCustomCache(EVENT_AVAILABILITY, availability.executor(taskExecutor.get()).buildAsync());
+        } else {
+            cacheManager.registerCustomCache(EVENTS, events.build());
+            cacheManager.registerCustomCache(EVENT_AVAILABILITY, availability.build());
+        }
+        return cacheManager;
+    }
+}
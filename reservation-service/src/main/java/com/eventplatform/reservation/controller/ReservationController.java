@@ -1,8 +1,14 @@
 package com.eventplatform.reservation.controller;
 
+import com.eventplatform.common.dto.ScrollResponse;
+import com.eventplatform.common.util.NdjsonUtil;
+import com.eventplatform.reservation.dto.CreateReservationBatchRequest;
 import com.eventplatform.reservation.dto.CreateReservationRequest;
 import com.eventplatform.reservation.dto.ReservationResponse;
+import com.eventplatform.reservation.exception.GlobalExceptionHandler;
 import com.eventplatform.reservation.service.ReservationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,6 +16,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 @Slf4j
@@ -18,22 +26,61 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ReservationController {
 
+    // Set by the gateway on requests a waiting room admitted
+    private static final String ADMITTED_EVENT_HEADER = "X-Admitted-Event-Id";
+
     private final ReservationService reservationService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
-    public ResponseEntity<ReservationResponse> createReservation(@Valid @RequestBody CreateReservationRequest request) {
+    public ResponseEntity<ReservationResponse> createReservation(@Valid @RequestBody CreateReservationRequest request,
+            @RequestHeader(value = ADMITTED_EVENT_HEADER, required = false) Long admittedEventId) {
         log.info("Create reservation request received for user {} event {}", request.getUserId(), request.getEventId());
+        checkAdmittedEvent(admittedEventId, List.of(request.getEventId()));
         ReservationResponse response = reservationService.createReservation(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<ReservationResponse>> createReservations(
+            @Valid @RequestBody CreateReservationBatchRequest request,
+            @RequestHeader(value = ADMITTED_EVENT_HEADER, required = false) Long admittedEventId) {
+        log.info("Create batch reservation request received for user {} with {} items",
+                request.getUserId(), request.getItems().size());
+        checkAdmittedEvent(admittedEventId,
+                request.getItems().stream().map(CreateReservationBatchRequest.Item::getEventId).toList());
+        List<ReservationResponse> response = reservationService.createReservations(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    // An admission covers one event, so every line of the booking must be for it
+    private static void checkAdmittedEvent(Long admittedEventId, List<Long> eventIds) {
+        if (admittedEventId != null && eventIds.stream().anyMatch(eventId -> !admittedEventId.equals(eventId))) {
+            throw new GlobalExceptionHandler.AdmissionMismatchException(
+                    "Admission token was issued for event " + admittedEventId + ", not for events " + eventIds);
+        }
+    }
+
+    // Keyset-paginated listing; follow nextCursor for the next page
     @GetMapping
-    public ResponseEntity<List<ReservationResponse>> getAllReservations() {
-        log.info("Get all reservations request");
-        List<ReservationResponse> response = reservationService.getAllReservations();
+    public ResponseEntity<ScrollResponse<ReservationResponse>> getAllReservations(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        log.info("Get all reservations request, cursor {} size {}", cursor, size);
+        ScrollResponse<ReservationResponse> response = reservationService.scrollReservations(cursor, size);
         return ResponseEntity.ok(response);
     }
 
+    // Full export as newline-delimited JSON, written row by row as it is read
+    @GetMapping(value = "/export", produces = NdjsonUtil.MEDIA_TYPE)
+    public void exportReservations(HttpServletResponse response) throws IOException {
+        log.info("Export reservations request");
+        response.setContentType(NdjsonUtil.MEDIA_TYPE);
+        OutputStream out = response.getOutputStream();
+        reservationService.exportReservations(NdjsonUtil.lineWriter(objectMapper, out));
+        out.flush();
+    }
+
     @GetMapping("/{reservationId}")
     public ResponseEntity<ReservationResponse> getReservation(@PathVariable String reservationId) {
         log.info("Get reservation request for: {}", reservationId);
@@ -0,0 +1,37 @@
+package com.eventplatform.reservation.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * A cart spanning several events. Capacity for every line is reserved in a single call to
+ * Event Service, all-or-nothing; each line becomes its own reservation.
+ */
+@Data
+public class CreateReservationBatchRequest {
+
+    @NotNull(message = "User ID is required")
+    private Long userId;
+
+    // Each reservation is stored under "<idempotencyKey>:<eventId>"
+    @Size(max = 200, message = "Idempotency key cannot exceed 200 characters")
+    private String idempotencyKey;
+
+    @NotEmpty(message = "At least one item is required")
+    private List<@Valid Item> items;
+
+    @Data
+    public static class Item {
+
+        @NotNull(message = "Event ID is required")
+        private Long eventId;
+
+        @NotNull(message = "Quantity is required")
+        @Min(value = 1, message = "Quantity must be at least 1")
+        @Max(value = 4, message = "Cannot reserve more than 4 tickets per user per event")
+        private Integer quantity;
+    }
+}
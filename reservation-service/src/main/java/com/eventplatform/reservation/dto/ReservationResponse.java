@@ -1,7 +1,9 @@
 package com.eventplatform.reservation.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -9,6 +11,8 @@ import java.util.List;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class ReservationResponse {
 
     private Long id;
@@ -19,6 +23,8 @@ public class ReservationResponse {
     private BigDecimal totalPrice;
     private String status;
     private String idempotencyKey;
+    private String holdId;
+    private LocalDateTime expiresAt;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private List<ReservationItemResponse> items;
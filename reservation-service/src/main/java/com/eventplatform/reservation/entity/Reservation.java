@@ -45,6 +45,13 @@ public class Reservation {
     @Column(name = "idempotency_key", unique = true)
     private String idempotencyKey;
 
+    // Capacity hold in Event Service backing this reservation while it is pending
+    @Column(name = "hold_id")
+    private String holdId;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
     @Column(name = "created_at")
     @Builder.Default
     private LocalDateTime createdAt = LocalDateTime.now();
@@ -82,6 +89,10 @@ public class Reservation {
         return "CANCELLED".equals(status);
     }
 
+    public boolean isExpired() {
+        return "EXPIRED".equals(status);
+    }
+
     public void confirm() {
         this.status = "CONFIRMED";
     }
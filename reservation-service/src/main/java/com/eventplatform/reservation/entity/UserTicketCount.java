@@ -0,0 +1,44 @@
+package com.eventplatform.reservation.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Tickets a user currently holds for an event across PENDING and CONFIRMED reservations,
+ * maintained alongside them so the per-user limit is a single-row check instead of a SUM.
+ */
+@Entity
+@Table(name = "user_ticket_counts")
+@IdClass(UserTicketCount.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserTicketCount {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(name = "active_quantity", nullable = false)
+    private Integer activeQuantity;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private Long eventId;
+    }
+}
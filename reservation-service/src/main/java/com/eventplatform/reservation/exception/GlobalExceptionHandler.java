@@ -43,6 +43,16 @@ public class GlobalExceptionHandler {
                 "message", ex.getMessage()));
     }
 
+    @ExceptionHandler(AdmissionMismatchException.class)
+    public ResponseEntity<Map<String, Object>> handleAdmissionMismatch(AdmissionMismatchException ex) {
+        log.warn("Forbidden: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of(
+                "timestamp", LocalDateTime.now(),
+                "status", 403,
+                "error", "Forbidden",
+                "message", ex.getMessage()));
+    }
+
     @ExceptionHandler(org.springframework.web.bind.MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidationExceptions(
             org.springframework.web.bind.MethodArgumentNotValidException ex) {
@@ -71,4 +81,11 @@ public class GlobalExceptionHandler {
             super(message);
         }
     }
+
+    // A booking for another event than the one a waiting room admitted the request for
+    public static class AdmissionMismatchException extends RuntimeException {
+        public AdmissionMismatchException(String message) {
+            super(message);
+        }
+    }
 }
@@ -0,0 +1,39 @@
+package com.eventplatform.reservation.messaging;
+
+import com.eventplatform.reservation.service.ReservationService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Confirms reservations once payment-service reports the payment succeeded. Replaces the
+ * synchronous confirm call payment-service used to make on its capture path.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "feature.kafka-events", havingValue = "true")
+public class PaymentEventsListener {
+
+    public static final String PAYMENT_EVENTS_TOPIC = "payment-events";
+
+    private final ReservationService reservationService;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(topics = PAYMENT_EVENTS_TOPIC, groupId = "reservation-service")
+    public void onPaymentEvent(String message) throws JsonProcessingException {
+        JsonNode envelope = objectMapper.readTree(message);
+        String eventType = envelope.path("eventType").asText();
+
+        if ("PaymentSucceeded".equals(eventType)) {
+            String reservationId = envelope.path("payload").path("reservationId").asText();
+            log.info("Payment succeeded for reservation {} (event {})", reservationId, envelope.path("eventId").asText());
+            reservationService.confirmPaidReservation(reservationId);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.eventplatform.reservation.outbox;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Events reservation-service publishes on the reservation-events topic.
+ */
+public final class ReservationEvents {
+
+    public static final String RESERVATION_CREATED = "ReservationCreated";
+    public static final String RESERVATION_CANCELLED = "ReservationCancelled";
+
+    private ReservationEvents() {
+    }
+
+    public record ReservationCreated(String reservationId, Long userId, Long eventId, Integer quantity,
+            BigDecimal totalPrice, String holdId, LocalDateTime expiresAt) {
+    }
+
+    // Consumers release the hold, if any, and cancel open payment intents; both are no-ops when repeated
+    public record ReservationCancelled(String reservationId, Long userId, Long eventId, Integer quantity,
+            String holdId) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.eventplatform.reservation.repository;
+
+import com.eventplatform.reservation.entity.ReservationItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ReservationItemRepository extends JpaRepository<ReservationItem, Long> {
+
+    // Items of a whole page of reservations in one query, without loading them as entities
+    @Query("SELECT new com.eventplatform.reservation.repository.ReservationItemRow(" +
+            "i.reservation.id, i.id, i.ticketType, i.quantity, i.unitPrice, i.createdAt) " +
+            "FROM ReservationItem i WHERE i.reservation.id IN :reservationIds ORDER BY i.id")
+    List<ReservationItemRow> findRowsByReservationIds(@Param("reservationIds") Collection<Long> reservationIds);
+}
@@ -0,0 +1,9 @@
+package com.eventplatform.reservation.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Read-only projection of a reservation item, keyed by its reservation for grouping
+public record ReservationItemRow(Long reservationId, Long id, String ticketType, Integer quantity,
+        BigDecimal unitPrice, LocalDateTime createdAt) {
+}
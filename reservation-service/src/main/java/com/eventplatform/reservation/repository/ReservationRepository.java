@@ -1,24 +1,34 @@
 package com.eventplatform.reservation.repository;
 
 import com.eventplatform.reservation.entity.Reservation;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
 
-    // Find by reservation ID (business key)
+    // Find by reservation ID (business key), with its items in the same select
+    @EntityGraph(attributePaths = "items")
     Optional<Reservation> findByReservationId(String reservationId);
 
     // Find by idempotency key (for duplicate prevention)
     Optional<Reservation> findByIdempotencyKey(String idempotencyKey);
 
-    // Find reservations by user
+    // Find reservations by user, with their items in the same select
+    @EntityGraph(attributePaths = "items")
     List<Reservation> findByUserId(Long userId);
 
     // Find reservations by event
@@ -34,9 +44,31 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     @Query("SELECT COUNT(r) FROM Reservation r WHERE r.userId = :userId AND r.eventId = :eventId AND r.status IN ('PENDING', 'CONFIRMED')")
     long countActiveReservationsByUserAndEvent(@Param("userId") Long userId, @Param("eventId") Long eventId);
 
-    // Sum quantity of user's active reservations for an event
-    @Query("SELECT COALESCE(SUM(r.quantity), 0) FROM Reservation r WHERE r.userId = :userId AND r.eventId = :eventId AND r.status IN ('PENDING', 'CONFIRMED')")
-    int sumQuantityByUserAndEvent(@Param("userId") Long userId, @Param("eventId") Long eventId);
+    // Expire pending reservations whose capacity hold has lapsed and give their tickets back to the
+    // per-user counters, in one statement; event-service returns the capacity itself
+    @Query(value = "WITH expired AS (" +
+            "UPDATE reservations SET status = 'EXPIRED', updated_at = :now " +
+            "WHERE status = 'PENDING' AND expires_at <= :now RETURNING user_id, event_id, quantity), " +
+            "released AS (" +
+            "UPDATE user_ticket_counts c SET active_quantity = GREATEST(c.active_quantity - e.quantity, 0), updated_at = :now " +
+            "FROM (SELECT user_id, event_id, SUM(quantity) AS quantity FROM expired GROUP BY user_id, event_id) e " +
+            "WHERE c.user_id = e.user_id AND c.event_id = e.event_id) " +
+            "SELECT COUNT(*) FROM expired",
+            nativeQuery = true)
+    long expirePendingReservations(@Param("now") LocalDateTime now);
+
+    // Keyset page: reservations after the cursor id, so deep pages cost the same as the first.
+    // Items are loaded separately for the whole page; a collection fetch join cannot be limited in SQL.
+    @Query("SELECT r FROM Reservation r WHERE r.id > :afterId ORDER BY r.id")
+    List<Reservation> findPageAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Full export read through a server-side cursor; must be consumed inside a read-only transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r FROM Reservation r ORDER BY r.id")
+    Stream<Reservation> streamAll();
 
     // Check if idempotency key exists
     boolean existsByIdempotencyKey(String idempotencyKey);
@@ -0,0 +1,34 @@
+package com.eventplatform.reservation.repository;
+
+import com.eventplatform.reservation.entity.UserTicketCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface UserTicketCountRepository extends JpaRepository<UserTicketCount, UserTicketCount.Key> {
+
+    // Adds quantity only if the total stays within max; returns 0 when the limit would be exceeded.
+    // The conflicting row is locked until commit, so concurrent requests of one user queue here.
+    @Modifying
+    @Query(value = "INSERT INTO user_ticket_counts (user_id, event_id, active_quantity, updated_at) " +
+            "SELECT :userId, :eventId, :quantity, :now WHERE :quantity <= :max " +
+            "ON CONFLICT (user_id, event_id) DO UPDATE " +
+            "SET active_quantity = user_ticket_counts.active_quantity + EXCLUDED.active_quantity, " +
+            "updated_at = EXCLUDED.updated_at " +
+            "WHERE user_ticket_counts.active_quantity + EXCLUDED.active_quantity <= :max",
+            nativeQuery = true)
+    int incrementIfWithinLimit(@Param("userId") Long userId, @Param("eventId") Long eventId,
+            @Param("quantity") int quantity, @Param("max") int max, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "UPDATE user_ticket_counts SET active_quantity = GREATEST(active_quantity - :quantity, 0), " +
+            "updated_at = :now WHERE user_id = :userId AND event_id = :eventId",
+            nativeQuery = true)
+    int decrement(@Param("userId") Long userId, @Param("eventId") Long eventId,
+            @Param("quantity") int quantity, @Param("now") LocalDateTime now);
+}
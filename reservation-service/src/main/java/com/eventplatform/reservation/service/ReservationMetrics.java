@@ -0,0 +1,85 @@
+package com.eventplatform.reservation.service;
+
+import com.eventplatform.common.metrics.TopNTagger;
+import com.eventplatform.reservation.exception.GlobalExceptionHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Meters for the reservation creation path: one timer per step of createReservation and
+ * one for the whole call. Per-event tags are limited to the currently hottest events.
+ */
+@Component
+public class ReservationMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final TopNTagger eventTagger;
+
+    public ReservationMetrics(MeterRegistry meterRegistry,
+                              @Value("${metrics.hot-events.top-n:20}") int topN,
+                              @Value("${metrics.hot-events.refresh-ms:10000}") long refreshMs) {
+        this.meterRegistry = meterRegistry;
+        this.eventTagger = new TopNTagger(topN, refreshMs, this::removeEventMeters);
+    }
+
+    public <T> T step(String step, Supplier<T> work) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = work.get();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(Timer.builder("reservation.create.step")
+                    .description("Latency of each step of reservation creation")
+                    .tag("step", step)
+                    .tag("outcome", outcome)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    public void step(String step, Runnable work) {
+        step(step, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void recordCreate(Timer.Sample sample, Long eventId, Throwable failure) {
+        sample.stop(Timer.builder("reservation.create")
+                .description("End-to-end reservation creation latency")
+                .tag("event", eventTagger.tag(eventId))
+                .tag("outcome", outcomeOf(failure))
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private void removeEventMeters(Long eventId) {
+        meterRegistry.find("reservation.create").tag("event", eventId.toString()).meters()
+                .forEach(meterRegistry::remove);
+    }
+
+    private static String outcomeOf(Throwable failure) {
+        if (failure == null) {
+            return "success";
+        }
+        if (failure instanceof GlobalExceptionHandler.ResourceNotFoundException) {
+            return "not_found";
+        }
+        if (failure instanceof IllegalArgumentException || failure instanceof IllegalStateException) {
+            return "rejected";
+        }
+        return "error";
+    }
+}
@@ -1,6 +1,12 @@
 package com.eventplatform.reservation.service;
 
+import com.eventplatform.common.dto.ScrollResponse;
+import com.eventplatform.common.idempotency.IdempotencyService;
+import com.eventplatform.common.outbox.OutboxPublisher;
+import com.eventplatform.common.util.CursorUtil;
 import com.eventplatform.reservation.client.EventServiceClient;
+import com.eventplatform.reservation.client.ResilientEventServiceClient;
+import com.eventplatform.reservation.dto.CreateReservationBatchRequest;
 import com.eventplatform.reservation.dto.CreateReservationRequest;
 import com.eventplatform.reservation.dto.ReservationItemRequest;
 import com.eventplatform.reservation.dto.ReservationItemResponse;
@@ -8,113 +14,285 @@ import com.eventplatform.reservation.dto.ReservationResponse;
 import com.eventplatform.reservation.entity.Reservation;
 import com.eventplatform.reservation.entity.ReservationItem;
 import com.eventplatform.reservation.exception.GlobalExceptionHandler;
+import com.eventplatform.reservation.outbox.ReservationEvents;
+import com.eventplatform.reservation.repository.ReservationItemRepository;
+import com.eventplatform.reservation.repository.ReservationItemRow;
 import com.eventplatform.reservation.repository.ReservationRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import feign.FeignException;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ReservationService {
 
+    private static final String RESERVATION_SCOPE = "reservation";
+    private static final String RESERVATION_BATCH_SCOPE = "reservation-batch";
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int EXPORT_CHUNK_SIZE = 500;
+
     private final ReservationRepository reservationRepository;
-    private final Optional<EventServiceClient> eventServiceClient;
+    private final ReservationItemRepository reservationItemRepository;
+    private final UserTicketCounter userTicketCounter;
+    private final ResilientEventServiceClient eventServiceClient;
+    private final OutboxPublisher outboxPublisher;
+    private final IdempotencyService idempotencyService;
+    private final ReservationMetrics reservationMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
 
     @Value("${feature.event-integration:true}")
     private boolean eventServiceEnabled;
 
-    @Value("${reservation.max-tickets-per-user-per-event:4}")
-    private int maxTicketsPerUserPerEvent;
+    // Cancellations release holds through the reservation-events topic instead of a direct call
+    @Value("${feature.kafka-events:false}")
+    private boolean kafkaEventsEnabled;
+
+    @Value("${reservation.hold-ttl-seconds:900}")
+    private int holdTtlSeconds;
 
     // Fallback values when Event Service is not available
     private static final BigDecimal DEFAULT_EVENT_PRICE = BigDecimal.valueOf(29.99);
 
+    // Allow both PUBLISHED and DRAFT events for testing purposes
+    private static final List<String> RESERVABLE_STATUSES = List.of("PUBLISHED", "DRAFT");
+
     /**
-     * Safely call Event Service with fallback for when service is unavailable
+     * Event details (price, status) from Event Service, cached briefly. Defaults are used only
+     * when the integration is switched off: pricing a reservation from made-up values when Event
+     * Service is down would be wrong, so that fails the request instead.
      */
     private EventServiceClient.EventResponse getEventSafely(Long eventId) {
-        if (!eventServiceEnabled) {
+        if (!eventServiceEnabled || !eventServiceClient.isAvailable()) {
             log.warn("Event Service disabled, using default values for event {}", eventId);
             return new EventServiceClient.EventResponse(eventId, "Default Event", "PUBLISHED", 100,
                     DEFAULT_EVENT_PRICE);
         }
 
         try {
-            // For now, we'll assume Event Service is available since we disabled the client
-            // injection
-            // In a real scenario, we'd inject a stub or use conditional bean creation
-            throw new RuntimeException("Event Service client not available - implement fallback");
+            return eventServiceClient.getEvent(eventId);
+        } catch (FeignException.NotFound e) {
+            throw new GlobalExceptionHandler.ResourceNotFoundException("Event not found: " + eventId);
         } catch (Exception e) {
-            log.error("Failed to get event {} from Event Service, using defaults", eventId, e);
-            return new EventServiceClient.EventResponse(eventId, "Default Event", "PUBLISHED", 100,
-                    DEFAULT_EVENT_PRICE);
+            log.error("Failed to get event {} from Event Service", eventId, e);
+            throw new IllegalStateException("Event Service unavailable, please retry later");
         }
     }
 
-    private EventServiceClient.ReservationResultResponse reserveCapacitySafely(Long eventId, int quantity) {
-        if (!eventServiceEnabled || eventServiceClient.isEmpty()) {
-            log.warn("Event Service disabled or unavailable, skipping capacity reservation for event {}", eventId);
-            return new EventServiceClient.ReservationResultResponse(eventId, quantity, true,
-                    "Mock reservation successful");
+    private void releaseCapacity(Long eventId, int quantity) {
+        if (!eventServiceEnabled || !eventServiceClient.isAvailable()) {
+            log.warn("Event Service disabled or unavailable, skipping capacity release for event {}", eventId);
+            return;
         }
 
         try {
-            return eventServiceClient.get().reserveCapacity(eventId, quantity);
+            eventServiceClient.releaseCapacity(eventId, quantity);
+            log.info("Released capacity for event {}: quantity {}", eventId, quantity);
         } catch (Exception e) {
-            log.error("Failed to reserve capacity for event {}, assuming success", eventId, e);
-            return new EventServiceClient.ReservationResultResponse(eventId, quantity, true,
-                    "Fallback reservation successful");
+            log.error("Failed to release capacity for event {}", eventId, e);
+            throw new IllegalStateException("Event Service unavailable, please retry later");
         }
     }
 
-    private void releaseCapacitySafely(Long eventId, int quantity) {
-        if (!eventServiceEnabled || eventServiceClient.isEmpty()) {
-            log.warn("Event Service disabled or unavailable, skipping capacity release for event {}", eventId);
+    private EventServiceClient.CapacityHoldsResponse placeHoldsSafely(Map<Long, Integer> quantities) {
+        if (!eventServiceEnabled || !eventServiceClient.isAvailable()) {
+            log.warn("Event Service disabled or unavailable, skipping capacity holds for events {}", quantities.keySet());
+            return new EventServiceClient.CapacityHoldsResponse(true, null, "Mock hold successful", List.of());
+        }
+
+        EventServiceClient.CapacityHoldRequest request = new EventServiceClient.CapacityHoldRequest(
+                quantities.entrySet().stream()
+                        .map(entry -> new EventServiceClient.CapacityItem(entry.getKey(), entry.getValue()))
+                        .collect(Collectors.toList()),
+                holdTtlSeconds, RESERVABLE_STATUSES);
+
+        // Fails closed: a hold that did go through before the error expires on its own
+        try {
+            return eventServiceClient.placeHolds(request);
+        } catch (FeignException.NotFound e) {
+            throw new GlobalExceptionHandler.ResourceNotFoundException("Event not found: " + quantities.keySet());
+        } catch (Exception e) {
+            log.error("Failed to hold capacity for events {}", quantities.keySet(), e);
+            throw new IllegalStateException("Event Service unavailable, please retry later");
+        }
+    }
+
+    /**
+     * Returns false when Event Service reports the hold can no longer be confirmed (expired or
+     * released); any other failure fails the request, leaving the reservation pending.
+     */
+    private boolean confirmHold(String holdId) {
+        if (!eventServiceEnabled || !eventServiceClient.isAvailable()) {
+            return true;
+        }
+
+        try {
+            eventServiceClient.confirmHold(holdId);
+            return true;
+        } catch (FeignException e) {
+            if (e.status() == 400 || e.status() == 404) {
+                log.warn("Capacity hold {} can no longer be confirmed: {}", holdId, e.getMessage());
+                return false;
+            }
+            log.error("Failed to confirm capacity hold {}", holdId, e);
+            throw new IllegalStateException("Event Service unavailable, please retry later");
+        } catch (Exception e) {
+            log.error("Failed to confirm capacity hold {}", holdId, e);
+            throw new IllegalStateException("Event Service unavailable, please retry later");
+        }
+    }
+
+    // A hold Event Service no longer knows has nothing left to give back
+    private void releaseHold(String holdId) {
+        if (!eventServiceEnabled || !eventServiceClient.isAvailable()) {
             return;
         }
 
         try {
-            eventServiceClient.get().releaseCapacity(eventId, quantity);
-            log.info("Released capacity for event {}: quantity {}", eventId, quantity);
+            eventServiceClient.releaseHold(holdId);
+            log.info("Released capacity hold {}", holdId);
+        } catch (FeignException.NotFound e) {
+            log.warn("Capacity hold {} not found, nothing to release", holdId);
         } catch (Exception e) {
-            log.error("Failed to release capacity for event {}", eventId, e);
+            log.error("Failed to release capacity hold {}", holdId, e);
+            throw new IllegalStateException("Event Service unavailable, please retry later");
         }
     }
 
-    private Integer getAvailableCapacitySafely(Long eventId) {
-        if (!eventServiceEnabled || eventServiceClient.isEmpty()) {
-            return 100; // Default available capacity
+    // Cleanup after a failed request: not fatal, the hold expires on its own
+    private void releaseHoldSafely(String holdId) {
+        if (!eventServiceEnabled || !eventServiceClient.isAvailable()) {
+            return;
         }
 
         try {
-            EventServiceClient.EventAvailabilityResponse availability = eventServiceClient.get()
-                    .getEventAvailability(eventId);
-            return availability.availableCapacity();
+            eventServiceClient.releaseHold(holdId);
+            log.info("Released capacity hold {}", holdId);
         } catch (Exception e) {
-            log.error("Failed to get available capacity for event {}, using default", eventId, e);
-            return 100;
+            log.error("Failed to release capacity hold {}", holdId, e);
         }
     }
 
-    @Transactional
+    // Reservations created before holds existed still hold plain reserved capacity
+    private void releaseReservedCapacity(Reservation reservation) {
+        if (reservation.getHoldId() != null) {
+            releaseHold(reservation.getHoldId());
+        } else {
+            releaseCapacity(reservation.getEventId(), reservation.getQuantity());
+        }
+    }
+
+    // Expires with the hold, whose TTL Event Service may have capped; the requested TTL only without one
+    private void applyHold(Reservation reservation, EventServiceClient.CapacityHoldsResponse holds) {
+        Optional<EventServiceClient.CapacityHoldResponse> hold = Optional.ofNullable(holds.holds()).stream()
+                .flatMap(List::stream)
+                .filter(candidate -> reservation.getEventId().equals(candidate.eventId()))
+                .findFirst();
+        reservation.setHoldId(hold.map(EventServiceClient.CapacityHoldResponse::holdId).orElse(null));
+        reservation.setExpiresAt(hold.map(EventServiceClient.CapacityHoldResponse::expiresAt)
+                .orElseGet(() -> LocalDateTime.now().plusSeconds(holdTtlSeconds)));
+    }
+
+    /**
+     * Once the update has committed, gives back the capacity the reservation held before it;
+     * if the update rolled back, gives back the new hold instead.
+     */
+    private void releaseOnCompletion(Reservation reservation, EventServiceClient.CapacityHoldsResponse newHolds) {
+        String oldHoldId = reservation.getHoldId();
+        Long eventId = reservation.getEventId();
+        int oldQuantity = reservation.getQuantity();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    releaseHoldsSafely(newHolds);
+                } else if (oldHoldId != null) {
+                    releaseHoldSafely(oldHoldId);
+                } else {
+                    releaseCapacitySafely(eventId, oldQuantity);
+                }
+            }
+        });
+    }
+
+    // Capacity held before holds existed has no expiry, so a failed release is only logged for follow-up
+    private void releaseCapacitySafely(Long eventId, int quantity) {
+        try {
+            releaseCapacity(eventId, quantity);
+        } catch (Exception e) {
+            log.error("Capacity of {} tickets for event {} was not returned", quantity, eventId, e);
+        }
+    }
+
+    private void releaseHoldsSafely(EventServiceClient.CapacityHoldsResponse holds) {
+        if (holds.holds() != null) {
+            holds.holds().forEach(hold -> releaseHoldSafely(hold.holdId()));
+        }
+    }
+
+    // Price from the hold response; only a fallback hold without details needs the event itself
+    private BigDecimal unitPriceOf(EventServiceClient.CapacityHoldsResponse holds, Long eventId) {
+        return Optional.ofNullable(holds.holds()).stream()
+                .flatMap(List::stream)
+                .filter(hold -> eventId.equals(hold.eventId()) && hold.unitPrice() != null)
+                .map(EventServiceClient.CapacityHoldResponse::unitPrice)
+                .findFirst()
+                .orElseGet(() -> getEventSafely(eventId).price());
+    }
+
+    /**
+     * Creates a reservation at most once per idempotency key. Duplicates that arrive while the
+     * first request is still running wait for it and get the same response.
+     */
     public ReservationResponse createReservation(CreateReservationRequest request) {
+        Timer.Sample sample = reservationMetrics.start();
+        Throwable failure = null;
+        try {
+            return idempotencyService.execute(RESERVATION_SCOPE, request.getIdempotencyKey(), ReservationResponse.class,
+                    () -> reservationMetrics.step("transaction",
+                            () -> transactionTemplate.execute(status -> doCreateReservation(request))));
+        } catch (RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            reservationMetrics.recordCreate(sample, request.getEventId(), failure);
+        }
+    }
+
+    private ReservationResponse doCreateReservation(CreateReservationRequest request) {
         log.info("Creating reservation for user {} and event {} with quantity {}",
                 request.getUserId(), request.getEventId(), request.getQuantity());
 
         // Check idempotency - if idempotency key provided and already exists, return
         // existing reservation
         if (request.getIdempotencyKey() != null) {
-            Optional<Reservation> existing = reservationRepository.findByIdempotencyKey(request.getIdempotencyKey());
+            Optional<Reservation> existing = reservationMetrics.step("idempotency_lookup",
+                    () -> reservationRepository.findByIdempotencyKey(request.getIdempotencyKey()));
             if (existing.isPresent()) {
                 log.info("Idempotency key {} already exists, returning existing reservation",
                         request.getIdempotencyKey());
@@ -123,60 +301,123 @@ public class ReservationService {
         }
 
         // Validate user limits
-        validateUserLimits(request.getUserId(), request.getEventId(), request.getQuantity());
-
-        // Check event availability
-        checkEventAvailability(request.getEventId(), request.getQuantity());
-
-        // Get event details for pricing
-        EventServiceClient.EventResponse event = getEventSafely(request.getEventId());
-        // Allow both PUBLISHED and DRAFT events for testing purposes
-        if (!"PUBLISHED".equals(event.status()) && !"DRAFT".equals(event.status())) {
-            throw new IllegalStateException("Event is not available for reservations");
+        reservationMetrics.step("user_limit",
+                () -> validateUserLimits(request.getUserId(), request.getEventId(), request.getQuantity()));
+
+        // One call to Event Service checks the event's status and capacity, holds the seats and
+        // returns the price; the hold comes back on its own if this reservation is never confirmed
+        EventServiceClient.CapacityHoldsResponse holds = reservationMetrics.step("capacity_hold",
+                () -> placeHoldsSafely(Map.of(request.getEventId(), request.getQuantity())));
+        if (!Boolean.TRUE.equals(holds.success())) {
+            throw new IllegalStateException("Failed to reserve capacity: " + holds.message());
         }
 
-        BigDecimal totalPrice = event.price().multiply(BigDecimal.valueOf(request.getQuantity()));
-
-        // Generate unique reservation ID
-        String reservationId = "RES-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-
-        // Create reservation
-        Reservation reservation = Reservation.builder()
-                .reservationId(reservationId)
-                .userId(request.getUserId())
-                .eventId(request.getEventId())
-                .quantity(request.getQuantity())
-                .totalPrice(totalPrice)
-                .status("PENDING")
-                .idempotencyKey(request.getIdempotencyKey())
-                .build();
+        try {
+            BigDecimal unitPrice = reservationMetrics.step("pricing", () -> unitPriceOf(holds, request.getEventId()));
+            BigDecimal totalPrice = unitPrice.multiply(BigDecimal.valueOf(request.getQuantity()));
 
-        // Create reservation items
-        createReservationItems(reservation, request, event.price());
+            // Generate unique reservation ID
+            String reservationId = "RES-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
 
-        try {
-            // Reserve capacity in Event Service
-            EventServiceClient.ReservationResultResponse capacityResult = reserveCapacitySafely(request.getEventId(),
-                    request.getQuantity());
+            // Create reservation
+            Reservation reservation = Reservation.builder()
+                    .reservationId(reservationId)
+                    .userId(request.getUserId())
+                    .eventId(request.getEventId())
+                    .quantity(request.getQuantity())
+                    .totalPrice(totalPrice)
+                    .status("PENDING")
+                    .idempotencyKey(request.getIdempotencyKey())
+                    .build();
 
-            if (!capacityResult.success()) {
-                throw new IllegalStateException("Failed to reserve capacity: " + capacityResult.message());
-            }
+            // Create reservation items
+            createReservationItems(reservation, request, unitPrice);
+            applyHold(reservation, holds);
 
             // Save reservation
-            reservation = reservationRepository.save(reservation);
+            Reservation saved = reservationMetrics.step("persist", () -> reservationRepository.save(reservation));
+            reservationMetrics.step("outbox", () -> publishCreated(saved));
             log.info("Created reservation {} for user {} event {}", reservationId, request.getUserId(),
                     request.getEventId());
 
-            return mapToResponse(reservation);
+            return mapToResponse(saved);
 
         } catch (Exception e) {
-            // If anything fails, release the capacity we reserved
-            try {
-                releaseCapacitySafely(request.getEventId(), request.getQuantity());
-            } catch (Exception releaseException) {
-                log.error("Failed to release capacity after reservation failure", releaseException);
+            // If anything fails, release the capacity we held
+            releaseHoldsSafely(holds);
+            throw e;
+        }
+    }
+
+    /**
+     * Reserves a multi-event cart. Capacity for all lines is held with one batch call to
+     * Event Service, so the cart either gets every ticket or none, instead of one round
+     * trip and row lock per event.
+     */
+    public List<ReservationResponse> createReservations(CreateReservationBatchRequest request) {
+        return idempotencyService.execute(RESERVATION_BATCH_SCOPE, request.getIdempotencyKey(),
+                new TypeReference<List<ReservationResponse>>() {},
+                () -> transactionTemplate.execute(status -> doCreateReservations(request)));
+    }
+
+    private List<ReservationResponse> doCreateReservations(CreateReservationBatchRequest request) {
+        log.info("Creating batch reservation for user {} with {} items", request.getUserId(), request.getItems().size());
+
+        // Lines for the same event are merged so limits and capacity are checked on the total
+        Map<Long, Integer> quantities = new TreeMap<>();
+        request.getItems().forEach(item -> quantities.merge(item.getEventId(), item.getQuantity(), Integer::sum));
+
+        if (request.getIdempotencyKey() != null) {
+            List<Reservation> existing = quantities.keySet().stream()
+                    .map(eventId -> reservationRepository.findByIdempotencyKey(request.getIdempotencyKey() + ":" + eventId))
+                    .flatMap(Optional::stream)
+                    .collect(Collectors.toList());
+            if (!existing.isEmpty()) {
+                log.info("Idempotency key {} already exists, returning existing reservations",
+                        request.getIdempotencyKey());
+                return existing.stream().map(this::mapToResponse).collect(Collectors.toList());
+            }
+        }
+
+        quantities.forEach((eventId, quantity) -> validateUserLimits(request.getUserId(), eventId, quantity));
+
+        EventServiceClient.CapacityHoldsResponse holds = placeHoldsSafely(quantities);
+        if (!Boolean.TRUE.equals(holds.success())) {
+            throw new IllegalStateException("Failed to reserve capacity: " + holds.message());
+        }
+
+        try {
+            List<Reservation> reservations = new ArrayList<>(quantities.size());
+            for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+                Long eventId = entry.getKey();
+                int quantity = entry.getValue();
+                BigDecimal unitPrice = unitPriceOf(holds, eventId);
+
+                Reservation reservation = Reservation.builder()
+                        .reservationId("RES-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase())
+                        .userId(request.getUserId())
+                        .eventId(eventId)
+                        .quantity(quantity)
+                        .totalPrice(unitPrice.multiply(BigDecimal.valueOf(quantity)))
+                        .status("PENDING")
+                        .idempotencyKey(request.getIdempotencyKey() != null ? request.getIdempotencyKey() + ":" + eventId : null)
+                        .build();
+                reservation.getItems().add(ReservationItem.builder()
+                        .reservation(reservation)
+                        .ticketType("STANDARD")
+                        .quantity(quantity)
+                        .unitPrice(unitPrice)
+                        .build());
+                applyHold(reservation, holds);
+                reservations.add(reservation);
             }
+
+            reservations = reservationRepository.saveAll(reservations);
+            reservations.forEach(this::publishCreated);
+            log.info("Created {} reservations for user {}", reservations.size(), request.getUserId());
+            return reservations.stream().map(this::mapToResponse).collect(Collectors.toList());
+        } catch (Exception e) {
+            releaseHoldsSafely(holds);
             throw e;
         }
     }
@@ -192,12 +433,48 @@ public class ReservationService {
         return mapToResponse(reservation);
     }
 
+    /**
+     * Keyset-paginated listing of all reservations in id order. Only one page of rows and DTOs
+     * is held at a time; follow nextCursor for the next page.
+     */
     @Transactional(readOnly = true)
-    public List<ReservationResponse> getAllReservations() {
-        log.info("Fetching all reservations");
-        return reservationRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public ScrollResponse<ReservationResponse> scrollReservations(String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        log.info("Scrolling reservations after cursor {} with size {}", cursor, size);
+
+        // Fetch one extra row to learn whether another page exists without a count query
+        List<Reservation> reservations = reservationRepository.findPageAfter(CursorUtil.decodeId(cursor),
+                PageRequest.ofSize(size + 1));
+        return ScrollResponse.of(reservations, size, this::mapToResponses,
+                reservation -> CursorUtil.encodeId(reservation.getId()));
+    }
+
+    /**
+     * Streams every reservation to the sink in id order. Rows are read through a JDBC cursor in
+     * chunks whose items are fetched with one query, and detached once written, so memory use
+     * does not grow with the table.
+     */
+    @Transactional(readOnly = true)
+    public void exportReservations(Consumer<ReservationResponse> sink) {
+        log.info("Exporting all reservations");
+        List<Reservation> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+        try (Stream<Reservation> reservations = reservationRepository.streamAll()) {
+            reservations.forEach(reservation -> {
+                chunk.add(reservation);
+                if (chunk.size() == EXPORT_CHUNK_SIZE) {
+                    writeExportChunk(chunk, sink);
+                }
+            });
+        }
+        writeExportChunk(chunk, sink);
+    }
+
+    private void writeExportChunk(List<Reservation> chunk, Consumer<ReservationResponse> sink) {
+        mapToResponses(chunk).forEach(sink);
+        chunk.forEach(entityManager::detach);
+        chunk.clear();
     }
 
     @Transactional(readOnly = true)
@@ -222,27 +499,19 @@ public class ReservationService {
             throw new IllegalStateException("Only pending reservations can be updated");
         }
 
-        // Release old capacity
-        releaseCapacitySafely(reservation.getEventId(), reservation.getQuantity());
-
-        // Update quantity and validate
         int newQuantity = request.getQuantity() != null ? request.getQuantity() : reservation.getQuantity();
-        validateUserLimits(request.getUserId(), reservation.getEventId(), newQuantity - reservation.getQuantity());
-        checkEventAvailability(reservation.getEventId(), newQuantity);
-
-        // Reserve new capacity
-        EventServiceClient.ReservationResultResponse capacityResult = reserveCapacitySafely(reservation.getEventId(),
-                newQuantity);
+        validateUserLimits(reservation.getUserId(), reservation.getEventId(), newQuantity - reservation.getQuantity());
 
-        if (!capacityResult.success()) {
-            // Re-reserve the old capacity
-            reserveCapacitySafely(reservation.getEventId(), reservation.getQuantity());
-            throw new IllegalStateException("Failed to reserve new capacity: " + capacityResult.message());
+        // The old hold stays in place until the new one is taken, so a failure leaves the reservation as it was
+        EventServiceClient.CapacityHoldsResponse holds = placeHoldsSafely(
+                Map.of(reservation.getEventId(), newQuantity));
+        if (!Boolean.TRUE.equals(holds.success())) {
+            throw new IllegalStateException("Failed to reserve new capacity: " + holds.message());
         }
+        releaseOnCompletion(reservation, holds);
+        applyHold(reservation, holds);
 
-        // Get event for pricing
-        EventServiceClient.EventResponse event = getEventSafely(reservation.getEventId());
-        BigDecimal newTotalPrice = event.price().multiply(BigDecimal.valueOf(newQuantity));
+        BigDecimal newTotalPrice = unitPriceOf(holds, reservation.getEventId()).multiply(BigDecimal.valueOf(newQuantity));
 
         reservation.setQuantity(newQuantity);
         reservation.setTotalPrice(newTotalPrice);
@@ -264,6 +533,11 @@ public class ReservationService {
             throw new IllegalStateException("Only pending reservations can be confirmed");
         }
 
+        // Confirming the hold makes the capacity permanent; an expired hold means the seats are gone
+        if (reservation.getHoldId() != null && !confirmHold(reservation.getHoldId())) {
+            throw new IllegalStateException("Reservation " + reservationId + " has expired");
+        }
+
         reservation.confirm();
         reservation = reservationRepository.save(reservation);
 
@@ -271,6 +545,29 @@ public class ReservationService {
         return mapToResponse(reservation);
     }
 
+    /**
+     * Confirms a reservation on a PaymentSucceeded event. Redeliveries find the reservation
+     * already confirmed and do nothing.
+     */
+    @Transactional
+    public void confirmPaidReservation(String reservationId) {
+        Reservation reservation = reservationRepository.findByReservationId(reservationId).orElse(null);
+        if (reservation == null) {
+            log.warn("Payment succeeded for unknown reservation {}", reservationId);
+            return;
+        }
+        if (reservation.isConfirmed()) {
+            log.info("Reservation {} already confirmed, ignoring duplicate payment event", reservationId);
+            return;
+        }
+        if (!reservation.isPending()) {
+            log.warn("Payment succeeded for reservation {} in status {}, needs manual review",
+                    reservationId, reservation.getStatus());
+            return;
+        }
+        confirmReservation(reservationId);
+    }
+
     @Transactional
     public ReservationResponse cancelReservation(String reservationId) {
         log.info("Cancelling reservation: {}", reservationId);
@@ -283,38 +580,54 @@ public class ReservationService {
             throw new IllegalStateException("Reservation is already cancelled");
         }
 
-        // Release capacity back to event
-        try {
-            releaseCapacitySafely(reservation.getEventId(), reservation.getQuantity());
-        } catch (Exception e) {
-            log.warn("Failed to release capacity for cancelled reservation {}", reservationId, e);
+        // Release capacity back to event; an expired reservation's hold was already returned.
+        // With events enabled event-service releases the hold when it sees ReservationCancelled.
+        if (!reservation.isExpired() && !(kafkaEventsEnabled && reservation.getHoldId() != null)) {
+            releaseReservedCapacity(reservation);
         }
 
+        if (reservation.isPending() || reservation.isConfirmed()) {
+            userTicketCounter.release(reservation.getUserId(), reservation.getEventId(), reservation.getQuantity());
+        }
         reservation.cancel();
         reservation = reservationRepository.save(reservation);
+        outboxPublisher.publish(ReservationEvents.RESERVATION_CANCELLED,
+                reservation.getReservationId(), new ReservationEvents.ReservationCancelled(
+                        reservation.getReservationId(), reservation.getUserId(), reservation.getEventId(),
+                        reservation.getQuantity(), reservation.getHoldId()));
 
         log.info("Cancelled reservation: {}", reservationId);
         return mapToResponse(reservation);
     }
 
-    private void validateUserLimits(Long userId, Long eventId, int requestedQuantity) {
-        int currentReservations = reservationRepository.sumQuantityByUserAndEvent(userId, eventId);
-        int totalAfterReservation = currentReservations + requestedQuantity;
-
-        if (totalAfterReservation > maxTicketsPerUserPerEvent) {
-            throw new IllegalArgumentException(
-                    String.format("User %d already has %d tickets for event %d. Maximum allowed: %d. Requested: %d",
-                            userId, currentReservations, eventId, maxTicketsPerUserPerEvent, requestedQuantity));
+    /**
+     * Marks pending reservations whose hold has lapsed as expired, in one statement. No call
+     * to Event Service is needed: it returns the capacity of expired holds by itself.
+     */
+    @Scheduled(fixedDelayString = "${reservation.expiry-interval-ms:30000}")
+    @Transactional
+    public void expirePendingReservations() {
+        long expired = reservationRepository.expirePendingReservations(LocalDateTime.now());
+        if (expired > 0) {
+            userTicketCounter.clearAtLimit();
+            log.info("Expired {} pending reservations", expired);
         }
     }
 
-    private void checkEventAvailability(Long eventId, int quantity) {
-        Integer availableCapacity = getAvailableCapacitySafely(eventId);
+    private void publishCreated(Reservation reservation) {
+        outboxPublisher.publish(ReservationEvents.RESERVATION_CREATED,
+                reservation.getReservationId(), new ReservationEvents.ReservationCreated(
+                        reservation.getReservationId(), reservation.getUserId(), reservation.getEventId(),
+                        reservation.getQuantity(), reservation.getTotalPrice(), reservation.getHoldId(),
+                        reservation.getExpiresAt()));
+    }
 
-        if (availableCapacity < quantity) {
-            throw new IllegalStateException(
-                    String.format("Insufficient capacity for event %d. Available: %d, Requested: %d",
-                            eventId, availableCapacity, quantity));
+    // Counts the tickets against the user's limit; rolled back with the reservation if it fails later
+    private void validateUserLimits(Long userId, Long eventId, int requestedQuantity) {
+        if (requestedQuantity > 0) {
+            userTicketCounter.acquire(userId, eventId, requestedQuantity);
+        } else {
+            userTicketCounter.release(userId, eventId, -requestedQuantity);
         }
     }
 
@@ -343,6 +656,30 @@ public class ReservationService {
         }
     }
 
+    // Items for a list of reservations come from one projection query instead of one lazy load each
+    public List<ReservationResponse> mapToResponses(List<Reservation> reservations) {
+        if (reservations.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = reservations.stream().map(Reservation::getId).collect(Collectors.toList());
+        Map<Long, List<ReservationItemResponse>> itemsByReservation = reservationItemRepository
+                .findRowsByReservationIds(ids).stream()
+                .collect(Collectors.groupingBy(ReservationItemRow::reservationId, Collectors.mapping(
+                        row -> ReservationItemResponse.builder()
+                                .id(row.id())
+                                .ticketType(row.ticketType())
+                                .quantity(row.quantity())
+                                .unitPrice(row.unitPrice())
+                                .createdAt(row.createdAt())
+                                .build(),
+                        Collectors.toList())));
+
+        return reservations.stream()
+                .map(reservation -> mapToResponse(reservation,
+                        itemsByReservation.getOrDefault(reservation.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
     private ReservationResponse mapToResponse(Reservation reservation) {
         List<ReservationItemResponse> items = reservation.getItems().stream()
                 .map(item -> ReservationItemResponse.builder()
@@ -353,7 +690,10 @@ public class ReservationService {
                         .createdAt(item.getCreatedAt())
                         .build())
                 .collect(Collectors.toList());
+        return mapToResponse(reservation, items);
+    }
 
+    private ReservationResponse mapToResponse(Reservation reservation, List<ReservationItemResponse> items) {
         return ReservationResponse.builder()
                 .id(reservation.getId())
                 .reservationId(reservation.getReservationId())
@@ -363,6 +703,8 @@ public class ReservationService {
                 .totalPrice(reservation.getTotalPrice())
                 .status(reservation.getStatus())
                 .idempotencyKey(reservation.getIdempotencyKey())
+                .holdId(reservation.getHoldId())
+                .expiresAt(reservation.getExpiresAt())
                 .createdAt(reservation.getCreatedAt())
                 .updatedAt(reservation.getUpdatedAt())
                 .items(items)
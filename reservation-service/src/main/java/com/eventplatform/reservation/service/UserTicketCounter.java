@@ -0,0 +1,99 @@
+package com.eventplatform.reservation.service;
+
+import com.eventplatform.reservation.repository.UserTicketCountRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Enforces the per-user, per-event ticket limit on the user_ticket_counts table. Changes join
+ * the caller's transaction so the counter commits or rolls back with the reservation.
+ *
+ * Users who just hit the limit are remembered for a short while, so a client retrying at the
+ * limit is turned away without touching the database. Releases on this instance clear that
+ * entry immediately; on other instances it lapses after the TTL.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserTicketCounter {
+
+    private static final int MAX_CACHED_AT_LIMIT = 10_000;
+
+    private final UserTicketCountRepository userTicketCountRepository;
+
+    @Value("${reservation.max-tickets-per-user-per-event:4}")
+    private int maxTicketsPerUserPerEvent;
+
+    @Value("${reservation.ticket-counter.at-limit-ttl-ms:5000}")
+    private long atLimitTtlMs;
+
+    // (userId, eventId) -> time until which the pair is known to be at the limit
+    private final ConcurrentMap<String, Long> atLimitUntil = new ConcurrentHashMap<>();
+
+    /**
+     * Adds quantity to the user's active tickets for the event, or throws if that would take
+     * them over the limit.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void acquire(Long userId, Long eventId, int quantity) {
+        if (quantity <= 0) {
+            return;
+        }
+        String key = key(userId, eventId);
+        Long until = atLimitUntil.get(key);
+        if (until != null && until > System.currentTimeMillis()) {
+            throw limitExceeded(userId, eventId, quantity);
+        }
+
+        int updated = userTicketCountRepository.incrementIfWithinLimit(userId, eventId, quantity,
+                maxTicketsPerUserPerEvent, LocalDateTime.now());
+        if (updated == 0) {
+            rememberAtLimit(key);
+            throw limitExceeded(userId, eventId, quantity);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(Long userId, Long eventId, int quantity) {
+        if (quantity <= 0) {
+            return;
+        }
+        userTicketCountRepository.decrement(userId, eventId, quantity, LocalDateTime.now());
+        atLimitUntil.remove(key(userId, eventId));
+    }
+
+    /**
+     * Forgets cached at-limit entries for pairs whose tickets were released in bulk.
+     */
+    public void clearAtLimit() {
+        atLimitUntil.clear();
+    }
+
+    private void rememberAtLimit(String key) {
+        long now = System.currentTimeMillis();
+        if (atLimitUntil.size() >= MAX_CACHED_AT_LIMIT) {
+            atLimitUntil.values().removeIf(until -> until <= now);
+        }
+        if (atLimitUntil.size() < MAX_CACHED_AT_LIMIT) {
+            atLimitUntil.put(key, now + atLimitTtlMs);
+        }
+    }
+
+    private IllegalArgumentException limitExceeded(Long userId, Long eventId, int quantity) {
+        return new IllegalArgumentException(
+                String.format("User %d cannot hold more than %d tickets for event %d. Requested: %d",
+                        userId, maxTicketsPerUserPerEvent, eventId, quantity));
+    }
+
+    private static String key(Long userId, Long eventId) {
+        return userId + ":" + eventId;
+    }
+}
@@ -0,0 +1,6 @@
+-- Pending reservations are backed by a time-bounded capacity hold in event-service
+ALTER TABLE reservations ADD COLUMN IF NOT EXISTS hold_id VARCHAR(64);
+ALTER TABLE reservations ADD COLUMN IF NOT EXISTS expires_at TIMESTAMP;
+
+-- The expiry job only ever looks at pending reservations
+CREATE INDEX IF NOT EXISTS idx_reservations_pending_expires_at ON reservations(expires_at) WHERE status = 'PENDING';
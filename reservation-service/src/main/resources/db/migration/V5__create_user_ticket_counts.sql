@@ -0,0 +1,37 @@
+-- Active (PENDING + CONFIRMED) tickets per user and event, replacing the SUM in the limit check
+CREATE TABLE IF NOT EXISTS user_ticket_counts (
+    user_id BIGINT NOT NULL,
+    event_id BIGINT NOT NULL,
+    active_quantity INTEGER NOT NULL DEFAULT 0 CHECK (active_quantity >= 0),
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (user_id, event_id)
+);
+
+-- Seed from existing reservations. A table Hibernate created earlier may hold counters that
+-- started at 0 on deploy, so every row is recomputed rather than only the missing ones.
+INSERT INTO user_ticket_counts (user_id, event_id, active_quantity, updated_at)
+SELECT user_id, event_id, SUM(quantity), CURRENT_TIMESTAMP
+FROM reservations
+WHERE status IN ('PENDING', 'CONFIRMED')
+GROUP BY user_id, event_id
+ON CONFLICT (user_id, event_id) DO UPDATE
+    SET active_quantity = EXCLUDED.active_quantity, updated_at = EXCLUDED.updated_at;
+
+UPDATE user_ticket_counts c
+SET active_quantity = 0, updated_at = CURRENT_TIMESTAMP
+WHERE NOT EXISTS (
+    SELECT 1 FROM reservations r
+    WHERE r.user_id = c.user_id AND r.event_id = c.event_id AND r.status IN ('PENDING', 'CONFIRMED')
+);
+
+-- Hibernate-created tables lack the check
+DO $$
+BEGIN
+    IF NOT EXISTS (
+        SELECT 1 FROM pg_constraint
+        WHERE conrelid = 'user_ticket_counts'::regclass AND contype = 'c'
+    ) THEN
+        ALTER TABLE user_ticket_counts
+            ADD CONSTRAINT user_ticket_counts_active_quantity_check CHECK (active_quantity >= 0);
+    END IF;
+END $$;
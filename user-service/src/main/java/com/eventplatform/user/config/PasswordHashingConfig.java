@@ -0,0 +1,33 @@
+package com.eventplatform.user.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Dedicated pool for password hashing. Each hash burns tens of milliseconds of CPU, so the
+ * pool is sized to a share of the cores and its queue is bounded: a login storm gets 503s
+ * instead of starving every other endpoint of CPU and request threads. It stays on platform
+ * threads when virtual threads are on: hashing never blocks, and the pool size is what keeps
+ * it to its share of the CPU.
+ */
+@Configuration
+public class PasswordHashingConfig {
+
+    public static final String HASHING_EXECUTOR = "passwordHashingExecutor";
+
+    @Bean(name = HASHING_EXECUTOR)
+    public ThreadPoolTaskExecutor passwordHashingExecutor(
+            @Value("${password-hashing.executor.threads:0}") int threads,
+            @Value("${password-hashing.executor.queue-capacity:64}") int queueCapacity) {
+        // 0 means half the available cores, leaving the rest for request handling
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        return executor;
+    }
+}
@@ -1,15 +1,20 @@
 package com.eventplatform.user.controller;
 
+import com.eventplatform.common.dto.ScrollResponse;
+import com.eventplatform.common.util.NdjsonUtil;
 import com.eventplatform.user.dto.UpdateUserRequest;
 import com.eventplatform.user.dto.UserResponse;
 import com.eventplatform.user.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Map;
 
 @Slf4j
@@ -19,19 +24,33 @@ import java.util.Map;
 public class UserController {
 
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/ping")
     public ResponseEntity<Map<String, String>> ping() {
         return ResponseEntity.ok(Map.of("service", "user-service", "status", "ok"));
     }
 
+    // Keyset-paginated listing; follow nextCursor for the next page
     @GetMapping
-    public ResponseEntity<List<UserResponse>> getAllUsers() {
-        log.info("Get all users request");
-        List<UserResponse> response = userService.getAllUsers();
+    public ResponseEntity<ScrollResponse<UserResponse>> getAllUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        log.info("Get all users request, cursor {} size {}", cursor, size);
+        ScrollResponse<UserResponse> response = userService.scrollUsers(cursor, size);
         return ResponseEntity.ok(response);
     }
 
+    // Full export as newline-delimited JSON, written row by row as it is read
+    @GetMapping(value = "/export", produces = NdjsonUtil.MEDIA_TYPE)
+    public void exportUsers(HttpServletResponse response) throws IOException {
+        log.info("Export users request");
+        response.setContentType(NdjsonUtil.MEDIA_TYPE);
+        OutputStream out = response.getOutputStream();
+        userService.exportUsers(NdjsonUtil.lineWriter(objectMapper, out));
+        out.flush();
+    }
+
     @GetMapping("/me")
     public ResponseEntity<UserResponse> getCurrentUser(@RequestHeader("X-User-Id") Long userId) {
         log.info("Get current user request for userId: {}", userId);
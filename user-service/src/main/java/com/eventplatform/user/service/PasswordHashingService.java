@@ -0,0 +1,47 @@
+package com.eventplatform.user.service;
+
+import com.eventplatform.user.exception.GlobalExceptionHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing on the bounded hashing pool. When the pool and its queue are full,
+ * callers get a {@link GlobalExceptionHandler.ServiceBusyException} (503) straight away.
+ */
+@Service
+@RequiredArgsConstructor
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final Executor passwordHashingExecutor;
+
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public CompletableFuture<Boolean> matches(String rawPassword, String passwordHash) {
+        return submit(() -> passwordEncoder.matches(rawPassword, passwordHash));
+    }
+
+    /**
+     * True when the stored hash was made with another algorithm or a weaker work factor.
+     * Only inspects the hash, so it is cheap enough for the request thread.
+     */
+    public boolean needsRehash(String passwordHash) {
+        return passwordEncoder.upgradeEncoding(passwordHash);
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, passwordHashingExecutor);
+        } catch (RejectedExecutionException e) {
+            throw new GlobalExceptionHandler.ServiceBusyException("Too many sign-in requests, please retry shortly");
+        }
+    }
+}
@@ -1,79 +1,104 @@
 package com.eventplatform.user.service;
 
+import com.eventplatform.common.dto.ScrollResponse;
+import com.eventplatform.common.util.CursorUtil;
 import com.eventplatform.user.dto.*;
 import com.eventplatform.user.entity.User;
 import com.eventplatform.user.exception.GlobalExceptionHandler;
 import com.eventplatform.user.repository.UserRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtService jwtService;
+    private final EntityManager entityManager;
 
-    @Transactional
-    public AuthResponse register(RegisterRequest request) {
+    /**
+     * Hashes the password on the bounded hashing pool; the user row is saved once the hash is ready.
+     */
+    public CompletableFuture<AuthResponse> register(RegisterRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new IllegalArgumentException("Email already exists");
         }
 
-        User user = new User();
-        user.setEmail(request.getEmail());
-        user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
-        user.setFirstName(request.getFirstName());
-        user.setLastName(request.getLastName());
-        user.setStatus("ACTIVE");
-        user.setRole(User.Role.ROLE_USER);
-        user = userRepository.save(user);
-
-        Set<String> roles = Set.of(user.getRole().name());
-
-        // TEMP: Use simple token for stability
-        String token = "jwt-token-" + user.getId() + "-" + System.currentTimeMillis();
-
-        return AuthResponse.builder()
-                .token(token)
-                .userId(user.getId())
-                .email(user.getEmail())
-                .firstName(user.getFirstName())
-                .lastName(user.getLastName())
-                .roles(roles)
-                .build();
+        return passwordHashingService.encode(request.getPassword())
+                .thenApply(passwordHash -> {
+                    User user = new User();
+                    user.setEmail(request.getEmail());
+                    user.setPasswordHash(passwordHash);
+                    user.setFirstName(request.getFirstName());
+                    user.setLastName(request.getLastName());
+                    user.setStatus("ACTIVE");
+                    user.setRole(User.Role.ROLE_USER);
+                    return toAuthResponse(userRepository.save(user));
+                });
     }
 
-    @Transactional(readOnly = true)
-    public AuthResponse login(LoginRequest request) {
+    /**
+     * Verifies the password on the bounded hashing pool. Hashes made with an older algorithm
+     * or work factor are replaced in the background after a successful login.
+     */
+    public CompletableFuture<AuthResponse> login(LoginRequest request) {
         User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new com.eventplatform.user.exception.GlobalExceptionHandler.UnauthorizedException(
-                        "Invalid email or password"));
-
-        if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
-            throw new com.eventplatform.user.exception.GlobalExceptionHandler.UnauthorizedException(
-                    "Invalid email or password");
-        }
+                .orElseThrow(() -> new GlobalExceptionHandler.UnauthorizedException("Invalid email or password"));
+        String storedHash = user.getPasswordHash();
+
+        return passwordHashingService.matches(request.getPassword(), storedHash)
+                .thenApply(matches -> {
+                    if (!matches) {
+                        throw new GlobalExceptionHandler.UnauthorizedException("Invalid email or password");
+                    }
+                    if (!"ACTIVE".equals(user.getStatus())) {
+                        throw new IllegalArgumentException("User account is not active");
+                    }
+                    if (passwordHashingService.needsRehash(storedHash)) {
+                        rehash(user.getId(), storedHash, request.getPassword());
+                    }
+                    return toAuthResponse(user);
+                });
+    }
 
-        if (!"ACTIVE".equals(user.getStatus())) {
-            throw new IllegalArgumentException("User account is not active");
+    private void rehash(Long userId, String oldHash, String rawPassword) {
+        try {
+            passwordHashingService.encode(rawPassword)
+                    .thenAccept(newHash -> {
+                        if (userRepository.updatePasswordHash(userId, oldHash, newHash) == 1) {
+                            log.info("Upgraded password hash for user {}", userId);
+                        }
+                    })
+                    .exceptionally(e -> {
+                        log.warn("Password rehash failed for user {}: {}", userId, e.getMessage());
+                        return null;
+                    });
+        } catch (GlobalExceptionHandler.ServiceBusyException e) {
+            // Best effort: the next login retries the upgrade
+            log.debug("Skipping password rehash for user {}, hashing pool is saturated", userId);
         }
+    }
 
+    private AuthResponse toAuthResponse(User user) {
         Set<String> roles = Set.of(user.getRole().name());
-
-        // TEMP: Use simple token to test service stability
-        String token = "jwt-token-" + user.getId() + "-" + System.currentTimeMillis();
-
         return AuthResponse.builder()
-                .token(token)
+                .token(jwtService.generateToken(user.getId(), user.getEmail(), roles))
                 .userId(user.getId())
                 .email(user.getEmail())
                 .firstName(user.getFirstName())
@@ -103,18 +128,49 @@ public class UserService {
         return getUserById(userId);
     }
 
+    /**
+     * Keyset-paginated listing of all users in id order. Only one page of rows and DTOs
+     * is held at a time; follow nextCursor for the next page.
+     */
+    @Transactional(readOnly = true)
+    public ScrollResponse<UserResponse> scrollUsers(String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        // Fetch one extra row to learn whether another page exists without a count query
+        List<User> users = userRepository.findPageAfter(CursorUtil.decodeId(cursor),
+                PageRequest.ofSize(size + 1));
+        return ScrollResponse.of(users, size, this::mapToResponses, user -> CursorUtil.encodeId(user.getId()));
+    }
+
+    /**
+     * Streams every user to the sink in id order. Rows are read through a JDBC cursor and
+     * detached once written, so memory use does not grow with the table.
+     */
     @Transactional(readOnly = true)
-    public java.util.List<UserResponse> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(user -> UserResponse.builder()
-                        .id(user.getId())
-                        .email(user.getEmail())
-                        .firstName(user.getFirstName())
-                        .lastName(user.getLastName())
-                        .status(user.getStatus())
-                        .roles(Set.of(user.getRole().name()))
-                        .build())
-                .collect(Collectors.toList());
+    public void exportUsers(Consumer<UserResponse> sink) {
+        try (Stream<User> users = userRepository.streamAll()) {
+            users.forEach(user -> {
+                sink.accept(mapToResponse(user));
+                entityManager.detach(user);
+            });
+        }
+    }
+
+    public List<UserResponse> mapToResponses(List<User> users) {
+        return users.stream().map(this::mapToResponse).collect(Collectors.toList());
+    }
+
+    private UserResponse mapToResponse(User user) {
+        return UserResponse.builder()
+                .id(user.getId())
+                .email(user.getEmail())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .status(user.getStatus())
+                .roles(Set.of(user.getRole().name()))
+                .build();
     }
 
     @Transactional